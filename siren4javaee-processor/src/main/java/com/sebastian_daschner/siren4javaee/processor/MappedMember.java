@@ -0,0 +1,98 @@
+/*
+ * Copyright (C) 2016 Sebastian Daschner, sebastian-daschner.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sebastian_daschner.siren4javaee.processor;
+
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.type.TypeMirror;
+import java.util.List;
+
+/**
+ * A property or link of a mapped type, which is read from a field or getter and written to a field or setter.
+ *
+ * @author Sebastian Daschner
+ */
+final class MappedMember {
+
+    private final Element element;
+    private final String name;
+    private final List<String> rels;
+    private final TypeMirror type;
+    private final ValueType valueType;
+    private ExecutableElement setter;
+
+    private MappedMember(final Element element, final String name, final List<String> rels, final TypeMirror type, final ValueType valueType) {
+        this.element = element;
+        this.name = name;
+        this.rels = rels;
+        this.type = type;
+        this.valueType = valueType;
+    }
+
+    static MappedMember property(final Element element, final String name, final TypeMirror type, final ValueType valueType) {
+        return new MappedMember(element, name, null, type, valueType);
+    }
+
+    static MappedMember link(final Element element, final List<String> rels, final TypeMirror type) {
+        return new MappedMember(element, null, rels, type, ValueType.URI);
+    }
+
+    Element getElement() {
+        return element;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    List<String> getRels() {
+        return rels;
+    }
+
+    TypeMirror getType() {
+        return type;
+    }
+
+    ValueType getValueType() {
+        return valueType;
+    }
+
+    boolean isField() {
+        return element.getKind() == ElementKind.FIELD;
+    }
+
+    void setSetter(final ExecutableElement setter) {
+        this.setter = setter;
+    }
+
+    /**
+     * Returns the expression which reads the value from the {@code pojo}.
+     */
+    String read(final String pojo) {
+        return pojo + '.' + element.getSimpleName() + (isField() ? "" : "()");
+    }
+
+    /**
+     * Returns the statement which writes the {@code value} to the {@code pojo}.
+     */
+    String write(final String pojo, final String value) {
+        if (isField())
+            return pojo + '.' + element.getSimpleName() + " = " + value + ';';
+        return pojo + '.' + setter.getSimpleName() + '(' + value + ");";
+    }
+
+}
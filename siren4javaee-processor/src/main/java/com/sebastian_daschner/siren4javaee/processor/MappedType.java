@@ -0,0 +1,72 @@
+/*
+ * Copyright (C) 2016 Sebastian Daschner, sebastian-daschner.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sebastian_daschner.siren4javaee.processor;
+
+import javax.lang.model.element.TypeElement;
+import java.util.List;
+
+/**
+ * A type annotated with {@code @SirenEntity} and its mapped members, in the order in which they are written.
+ *
+ * @author Sebastian Daschner
+ */
+final class MappedType {
+
+    private final TypeElement element;
+    private final List<String> classes;
+    private final String title;
+    private final List<MappedMember> properties;
+    private final List<MappedMember> links;
+    private final boolean bindable;
+
+    MappedType(final TypeElement element, final List<String> classes, final String title, final List<MappedMember> properties,
+               final List<MappedMember> links, final boolean bindable) {
+        this.element = element;
+        this.classes = classes;
+        this.title = title;
+        this.properties = properties;
+        this.links = links;
+        this.bindable = bindable;
+    }
+
+    TypeElement getElement() {
+        return element;
+    }
+
+    List<String> getClasses() {
+        return classes;
+    }
+
+    String getTitle() {
+        return title;
+    }
+
+    List<MappedMember> getProperties() {
+        return properties;
+    }
+
+    List<MappedMember> getLinks() {
+        return links;
+    }
+
+    /**
+     * Returns whether the type can be instantiated and all members can be written, i.e. whether a binder is generated.
+     */
+    boolean isBindable() {
+        return bindable;
+    }
+
+}
@@ -0,0 +1,350 @@
+/*
+ * Copyright (C) 2016 Sebastian Daschner, sebastian-daschner.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sebastian_daschner.siren4javaee.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Generates a writer and a binder class for each type annotated with {@code @SirenEntity}, at build time.
+ * The writer {@code <Type>SirenWriter.write(pojo)} maps the POJO to an {@code EntityBuilder},
+ * the binder {@code <Type>SirenBinder.bind(entity)} maps an {@code Entity} to a new POJO.
+ * The generated code accesses the mapped fields and getters directly, without reflection; they therefore must not be private.
+ * A binder is only generated if the type has a non-private no-arg constructor and all members are writable,
+ * i.e. non-final fields or getters with corresponding setters.
+ * <p>
+ * The processor is only needed at build time, the generated code depends on the siren4javaee library.
+ *
+ * @author Sebastian Daschner
+ */
+@SupportedAnnotationTypes(SirenProcessor.SIREN_ENTITY)
+public class SirenProcessor extends AbstractProcessor {
+
+    static final String SIREN_ENTITY = "com.sebastian_daschner.siren4javaee.SirenEntity";
+    static final String SIREN_PROPERTY = "com.sebastian_daschner.siren4javaee.SirenProperty";
+    static final String SIREN_LINK = "com.sebastian_daschner.siren4javaee.SirenLink";
+
+    private Elements elements;
+    private Types types;
+    private Messager messager;
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnv) {
+        elements = processingEnv.getElementUtils();
+        types = processingEnv.getTypeUtils();
+        messager = processingEnv.getMessager();
+
+        for (final TypeElement annotation : annotations) {
+            for (final TypeElement type : ElementFilter.typesIn(roundEnv.getElementsAnnotatedWith(annotation))) {
+                final MappedType mappedType = map(type);
+                if (mappedType != null)
+                    generate(mappedType);
+            }
+        }
+        return true;
+    }
+
+    private MappedType map(final TypeElement type) {
+        if (type.getKind() != ElementKind.CLASS || !isAccessible(type)) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "@SirenEntity types must be non-private classes", type);
+            return null;
+        }
+
+        final AnnotationMirror entity = annotation(type, SIREN_ENTITY);
+        final List<String> classes = strings(value(entity, "classes"));
+        final String title = (String) value(entity, "title").getValue();
+
+        final List<MappedMember> properties = new ArrayList<>();
+        final List<MappedMember> links = new ArrayList<>();
+        final Set<String> names = new HashSet<>();
+        boolean valid = true;
+
+        for (final TypeElement current : hierarchy(type)) {
+            final List<MappedMember> classProperties = new ArrayList<>();
+            final List<MappedMember> classLinks = new ArrayList<>();
+
+            for (final Element member : current.getEnclosedElements()) {
+                if (member.getKind() != ElementKind.FIELD && member.getKind() != ElementKind.METHOD || member.getModifiers().contains(Modifier.STATIC))
+                    continue;
+
+                final AnnotationMirror property = annotation(member, SIREN_PROPERTY);
+                final AnnotationMirror link = annotation(member, SIREN_LINK);
+                if (property == null && link == null)
+                    continue;
+
+                if (!isReadable(member, type)) {
+                    valid = false;
+                    continue;
+                }
+
+                final TypeMirror memberType = member.getKind() == ElementKind.FIELD ? member.asType() : ((ExecutableElement) member).getReturnType();
+
+                if (property != null) {
+                    final String annotatedName = (String) value(property, "name").getValue();
+                    final String name = annotatedName.isEmpty() ? propertyName(member) : annotatedName;
+                    final ValueType valueType = valueType(memberType);
+                    if (valueType == null || valueType == ValueType.URI) {
+                        messager.printMessage(Diagnostic.Kind.ERROR, "Unsupported property type " + memberType + " of property " + name, member);
+                        valid = false;
+                    } else if (!names.add(name)) {
+                        messager.printMessage(Diagnostic.Kind.ERROR, "Property " + name + " is declared more than once in " + type, member);
+                        valid = false;
+                    } else {
+                        classProperties.add(MappedMember.property(member, name, memberType, valueType));
+                    }
+                }
+
+                if (link != null) {
+                    final List<String> rels = strings(value(link, "rel"));
+                    if (valueType(memberType) != ValueType.URI) {
+                        messager.printMessage(Diagnostic.Kind.ERROR, "Link " + member + " must be of type java.net.URI", member);
+                        valid = false;
+                    } else if (rels.isEmpty()) {
+                        messager.printMessage(Diagnostic.Kind.ERROR, "At least one rel must be declared for link " + member, member);
+                        valid = false;
+                    } else {
+                        classLinks.add(MappedMember.link(member, rels, memberType));
+                    }
+                }
+            }
+
+            // same order as the runtime EntityMapper
+            classProperties.sort(Comparator.comparing(MappedMember::getName));
+            classLinks.sort(Comparator.comparing(l -> String.join(",", l.getRels())));
+            properties.addAll(classProperties);
+            links.addAll(classLinks);
+        }
+
+        if (!valid)
+            return null;
+
+        final boolean bindable = isBindable(type, properties, links);
+        return new MappedType(type, classes, title.isEmpty() ? null : title, properties, links, bindable);
+    }
+
+    private void generate(final MappedType type) {
+        final SourceGenerator generator = new SourceGenerator(type, elements.getPackageOf(type.getElement()));
+        write(generator.className(SourceGenerator.WRITER_SUFFIX), generator.writer(), type.getElement());
+        if (type.isBindable())
+            write(generator.className(SourceGenerator.BINDER_SUFFIX), generator.binder(), type.getElement());
+    }
+
+    private void write(final String className, final String source, final TypeElement type) {
+        try {
+            final JavaFileObject file = processingEnv.getFiler().createSourceFile(className, type);
+            try (Writer writer = file.openWriter()) {
+                writer.write(source);
+            }
+        } catch (IOException e) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "Could not generate " + className + ": " + e.getMessage(), type);
+        }
+    }
+
+    private List<TypeElement> hierarchy(final TypeElement type) {
+        final List<TypeElement> hierarchy = new ArrayList<>();
+        for (TypeElement current = type; current != null && !current.getQualifiedName().contentEquals(Object.class.getName()); ) {
+            hierarchy.add(0, current);
+            final TypeMirror superclass = current.getSuperclass();
+            current = superclass.getKind() == TypeKind.DECLARED ? (TypeElement) types.asElement(superclass) : null;
+        }
+        return hierarchy;
+    }
+
+    private boolean isReadable(final Element member, final TypeElement type) {
+        if (!isAccessible(member, type)) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "Mapped member " + member + " must be accessible from the package of " + type, member);
+            return false;
+        }
+        if (member.getKind() == ElementKind.METHOD && !((ExecutableElement) member).getParameters().isEmpty()) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "Mapped method " + member + " must not have parameters", member);
+            return false;
+        }
+        return true;
+    }
+
+    private boolean isBindable(final TypeElement type, final List<MappedMember> properties, final List<MappedMember> links) {
+        if (type.getModifiers().contains(Modifier.ABSTRACT) || type.getNestingKind().isNested() && !type.getModifiers().contains(Modifier.STATIC))
+            return note(type, "the type can't be instantiated");
+
+        final boolean constructor = ElementFilter.constructorsIn(type.getEnclosedElements()).stream()
+                .anyMatch(c -> c.getParameters().isEmpty() && isAccessible(c, type));
+        if (!constructor)
+            return note(type, "the type has no accessible no-arg constructor");
+
+        final List<MappedMember> members = new ArrayList<>(properties);
+        members.addAll(links);
+        for (final MappedMember member : members) {
+            if (member.isField()) {
+                if (member.getElement().getModifiers().contains(Modifier.FINAL))
+                    return note(type, "the field " + member.getElement() + " is final");
+                continue;
+            }
+            final ExecutableElement setter = setter(type, (ExecutableElement) member.getElement(), member.getType());
+            if (setter == null)
+                return note(type, "there is no accessible setter for " + member.getElement());
+            member.setSetter(setter);
+        }
+        return true;
+    }
+
+    private boolean note(final TypeElement type, final String reason) {
+        messager.printMessage(Diagnostic.Kind.NOTE, "No binder generated for " + type + ", " + reason, type);
+        return false;
+    }
+
+    private ExecutableElement setter(final TypeElement type, final ExecutableElement getter, final TypeMirror valueType) {
+        final String name = "set" + capitalize(stripPrefix(getter.getSimpleName().toString()));
+        return ElementFilter.methodsIn(elements.getAllMembers(type)).stream()
+                .filter(m -> m.getSimpleName().contentEquals(name) && !m.getModifiers().contains(Modifier.STATIC))
+                .filter(m -> m.getParameters().size() == 1 && types.isSameType(m.getParameters().get(0).asType(), valueType))
+                .filter(m -> isAccessible(m, type))
+                .findFirst().orElse(null);
+    }
+
+    /**
+     * Returns whether the generated code, which resides in the package of the {@code type}, can access the {@code member}.
+     */
+    private boolean isAccessible(final Element member, final TypeElement type) {
+        final Set<Modifier> modifiers = member.getModifiers();
+        if (modifiers.contains(Modifier.PUBLIC))
+            return true;
+        return !modifiers.contains(Modifier.PRIVATE) && elements.getPackageOf(member).equals(elements.getPackageOf(type));
+    }
+
+    private static boolean isAccessible(final TypeElement type) {
+        for (Element current = type; current instanceof TypeElement; current = current.getEnclosingElement()) {
+            if (current.getModifiers().contains(Modifier.PRIVATE))
+                return false;
+        }
+        return true;
+    }
+
+    private ValueType valueType(final TypeMirror type) {
+        switch (type.getKind()) {
+            case INT:
+                return ValueType.INT;
+            case LONG:
+                return ValueType.LONG;
+            case DOUBLE:
+                return ValueType.DOUBLE;
+            case BOOLEAN:
+                return ValueType.BOOLEAN;
+            case DECLARED:
+                final TypeElement element = (TypeElement) ((DeclaredType) type).asElement();
+                if (element.getKind() == ElementKind.ENUM)
+                    return ValueType.ENUM;
+                switch (element.getQualifiedName().toString()) {
+                    case "java.lang.Integer":
+                        return ValueType.INTEGER_WRAPPER;
+                    case "java.lang.Long":
+                        return ValueType.LONG_WRAPPER;
+                    case "java.lang.Double":
+                        return ValueType.DOUBLE_WRAPPER;
+                    case "java.lang.Boolean":
+                        return ValueType.BOOLEAN_WRAPPER;
+                    case "java.lang.String":
+                        return ValueType.STRING;
+                    case "java.math.BigDecimal":
+                        return ValueType.BIG_DECIMAL;
+                    case "java.math.BigInteger":
+                        return ValueType.BIG_INTEGER;
+                    case "java.net.URI":
+                        return ValueType.URI;
+                    default:
+                        return null;
+                }
+            default:
+                return null;
+        }
+    }
+
+    private static AnnotationMirror annotation(final Element element, final String name) {
+        for (final AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            if (((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().contentEquals(name))
+                return mirror;
+        }
+        return null;
+    }
+
+    private AnnotationValue value(final AnnotationMirror annotation, final String name) {
+        for (final Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : elements.getElementValuesWithDefaults(annotation).entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals(name))
+                return entry.getValue();
+        }
+        throw new IllegalStateException("Could not find annotation value " + name + " of " + annotation);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<String> strings(final AnnotationValue value) {
+        return ((List<? extends AnnotationValue>) value.getValue()).stream()
+                .map(v -> (String) v.getValue())
+                .collect(Collectors.toList());
+    }
+
+    private static String propertyName(final Element member) {
+        final String name = member.getSimpleName().toString();
+        if (member.getKind() != ElementKind.METHOD)
+            return name;
+        final String stripped = stripPrefix(name);
+        return stripped.equals(name) ? name : Character.toLowerCase(stripped.charAt(0)) + stripped.substring(1);
+    }
+
+    private static String stripPrefix(final String name) {
+        if (name.startsWith("get") && name.length() > 3 && Character.isUpperCase(name.charAt(3)))
+            return name.substring(3);
+        if (name.startsWith("is") && name.length() > 2 && Character.isUpperCase(name.charAt(2)))
+            return name.substring(2);
+        return name;
+    }
+
+    private static String capitalize(final String name) {
+        return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+    }
+
+}
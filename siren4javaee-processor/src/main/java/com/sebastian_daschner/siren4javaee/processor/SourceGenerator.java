@@ -0,0 +1,221 @@
+/*
+ * Copyright (C) 2016 Sebastian Daschner, sebastian-daschner.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sebastian_daschner.siren4javaee.processor;
+
+import javax.lang.model.element.Element;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+
+/**
+ * Generates the source code of the writer and binder classes of a {@link MappedType}.
+ * The generated classes reside in the package of the mapped type and access its members directly.
+ *
+ * @author Sebastian Daschner
+ */
+final class SourceGenerator {
+
+    static final String WRITER_SUFFIX = "SirenWriter";
+    static final String BINDER_SUFFIX = "SirenBinder";
+
+    private static final String LIBRARY_PACKAGE = "com.sebastian_daschner.siren4javaee";
+
+    private final MappedType type;
+    private final String packageName;
+    private final String typeName;
+
+    SourceGenerator(final MappedType type, final PackageElement packageElement) {
+        this.type = type;
+        this.packageName = packageElement.isUnnamed() ? null : packageElement.getQualifiedName().toString();
+        this.typeName = type.getElement().getQualifiedName().toString();
+    }
+
+    /**
+     * Returns the qualified name of the generated class with the given {@code suffix}, e.g. {@code com.example.Outer_BookSirenWriter}.
+     */
+    String className(final String suffix) {
+        return (packageName == null ? "" : packageName + '.') + simpleName(suffix);
+    }
+
+    private String simpleName(final String suffix) {
+        final StringBuilder name = new StringBuilder(type.getElement().getSimpleName());
+        for (Element enclosing = type.getElement().getEnclosingElement(); enclosing instanceof TypeElement; enclosing = enclosing.getEnclosingElement())
+            name.insert(0, enclosing.getSimpleName() + "_");
+        return name.append(suffix).toString();
+    }
+
+    String writer() {
+        final StringBuilder source = header(WRITER_SUFFIX, "Writes {@link " + typeName + "} objects to Siren entities.");
+
+        source.append("    public static ").append(LIBRARY_PACKAGE).append(".EntityBuilder write(final ").append(typeName).append(" pojo) {\n")
+                .append("        return write(pojo, ").append(LIBRARY_PACKAGE).append(".Siren.createEntityBuilder());\n")
+                .append("    }\n\n");
+
+        source.append("    public static ").append(LIBRARY_PACKAGE).append(".EntityBuilder write(final ").append(typeName)
+                .append(" pojo, final ").append(LIBRARY_PACKAGE).append(".EntityBuilder builder) {\n");
+
+        for (final String entityClass : type.getClasses())
+            source.append("        builder.addClass(").append(literal(entityClass)).append(");\n");
+        if (type.getTitle() != null)
+            source.append("        builder.setTitle(").append(literal(type.getTitle())).append(");\n");
+
+        int index = 0;
+        for (final MappedMember property : type.getProperties()) {
+            final ValueType valueType = property.getValueType();
+            if (valueType.isPrimitive()) {
+                source.append("        builder.addProperty(").append(literal(property.getName())).append(", ")
+                        .append(property.read("pojo")).append(");\n");
+                continue;
+            }
+            final String value = "v" + index++;
+            source.append("        final ").append(property.getType()).append(' ').append(value).append(" = ").append(property.read("pojo")).append(";\n")
+                    .append("        if (").append(value).append(" != null)\n")
+                    .append("            builder.addProperty(").append(literal(property.getName())).append(", ")
+                    .append(valueType.propertyValue(value)).append(");\n");
+        }
+
+        for (final MappedMember link : type.getLinks()) {
+            final String value = "v" + index++;
+            source.append("        final java.net.URI ").append(value).append(" = ").append(link.read("pojo")).append(";\n")
+                    .append("        if (").append(value).append(" != null)\n")
+                    .append("            builder.addLink(").append(value);
+            for (final String rel : link.getRels())
+                source.append(", ").append(literal(rel));
+            source.append(");\n");
+        }
+
+        source.append("        return builder;\n")
+                .append("    }\n\n")
+                .append("}\n");
+        return source.toString();
+    }
+
+    String binder() {
+        final StringBuilder source = header(BINDER_SUFFIX, "Binds Siren entities to new {@link " + typeName + "} objects.");
+
+        source.append("    public static ").append(typeName).append(" bind(final ").append(LIBRARY_PACKAGE).append(".Entity entity) {\n")
+                .append("        final ").append(typeName).append(" pojo = new ").append(typeName).append("();\n");
+
+        int index = 0;
+        for (final MappedMember property : type.getProperties()) {
+            final ValueType valueType = property.getValueType();
+            final String name = literal(property.getName());
+            final String value = "v" + index++;
+
+            switch (valueType) {
+                case LONG:
+                case DOUBLE:
+                case BOOLEAN:
+                    source.append("        ").append(property.write("pojo", valueType.readPrimitive("entity", name, property.read("pojo")))).append('\n');
+                    break;
+                case INT:
+                case INTEGER_WRAPPER:
+                    // values out of the int range are not set, like values of unexpected types
+                    source.append("        if (entity.hasLong(").append(name).append(")) {\n")
+                            .append("            final long ").append(value).append(" = entity.getLong(").append(name).append(");\n")
+                            .append("            if (").append(value).append(" == (int) ").append(value).append(")\n")
+                            .append("                ").append(property.write("pojo", "(int) " + value)).append('\n')
+                            .append("        }\n");
+                    break;
+                case LONG_WRAPPER:
+                    bindIf(source, "if", "entity.hasLong(" + name + ")", property, "entity.getLong(" + name + ")");
+                    break;
+                case DOUBLE_WRAPPER:
+                    bindIf(source, "if", "entity.hasNumber(" + name + ")", property, "entity.getDouble(" + name + ")");
+                    break;
+                case BOOLEAN_WRAPPER:
+                    bindIf(source, "if", "entity.hasBoolean(" + name + ")", property, "entity.getBoolean(" + name + ")");
+                    break;
+                case BIG_DECIMAL:
+                    // decimal numbers are read as doubles, i.e. with at most 17 significant digits
+                    bindIf(source, "if", "entity.hasLong(" + name + ")", property, "java.math.BigDecimal.valueOf(entity.getLong(" + name + "))");
+                    bindIf(source, "else if", "entity.hasNumber(" + name + ")", property, "java.math.BigDecimal.valueOf(entity.getDouble(" + name + "))");
+                    break;
+                case BIG_INTEGER:
+                    bindIf(source, "if", "entity.hasLong(" + name + ")", property, "java.math.BigInteger.valueOf(entity.getLong(" + name + "))");
+                    bindIf(source, "else if", "entity.hasNumber(" + name + ")", property,
+                            "java.math.BigDecimal.valueOf(entity.getDouble(" + name + ")).toBigInteger()");
+                    break;
+                case STRING:
+                    source.append("        final String ").append(value).append(" = entity.getString(").append(name).append(");\n");
+                    bindIf(source, "if", value + " != null", property, value);
+                    break;
+                case ENUM:
+                    // unknown constants are not set, so that servers can add constants without breaking clients
+                    source.append("        final String ").append(value).append(" = entity.getString(").append(name).append(");\n")
+                            .append("        ").append(property.getType()).append(' ').append(value).append("e = null;\n")
+                            .append("        if (").append(value).append(" != null) {\n")
+                            .append("            try {\n")
+                            .append("                ").append(value).append("e = ").append(property.getType()).append(".valueOf(").append(value).append(");\n")
+                            .append("            } catch (IllegalArgumentException e) {\n")
+                            .append("                // unknown constant\n")
+                            .append("            }\n")
+                            .append("        }\n");
+                    bindIf(source, "if", value + "e != null", property, value + "e");
+                    break;
+                default:
+                    throw new IllegalStateException("Not a property type: " + valueType);
+            }
+        }
+
+        for (final MappedMember link : type.getLinks()) {
+            final String value = "v" + index++;
+            source.append("        final java.net.URI ").append(value).append(" = entity.getLink(").append(literal(link.getRels().get(0))).append(");\n");
+            bindIf(source, "if", value + " != null", link, value);
+        }
+
+        source.append("        return pojo;\n")
+                .append("    }\n\n")
+                .append("}\n");
+        return source.toString();
+    }
+
+    /**
+     * Appends the {@code if} or {@code else if} statement which writes the {@code value} to the {@code member} if the {@code condition} holds.
+     * The typed accessors of the entity are used, which read the compact property store without boxing.
+     */
+    private static void bindIf(final StringBuilder source, final String statement, final String condition, final MappedMember member, final String value) {
+        source.append("        ").append(statement).append(" (").append(condition).append(")\n")
+                .append("            ").append(member.write("pojo", value)).append('\n');
+    }
+
+    private StringBuilder header(final String suffix, final String comment) {
+        final StringBuilder source = new StringBuilder();
+        if (packageName != null)
+            source.append("package ").append(packageName).append(";\n\n");
+        return source.append("/**\n")
+                .append(" * ").append(comment).append('\n')
+                .append(" * Generated by ").append(SirenProcessor.class.getName()).append(", do not edit.\n")
+                .append(" */\n")
+                .append("public final class ").append(simpleName(suffix)).append(" {\n\n")
+                .append("    private ").append(simpleName(suffix)).append("() {\n")
+                .append("        throw new UnsupportedOperationException();\n")
+                .append("    }\n\n");
+    }
+
+    static String literal(final String value) {
+        final StringBuilder literal = new StringBuilder("\"");
+        for (final char c : value.toCharArray()) {
+            if (c == '"' || c == '\\')
+                literal.append('\\').append(c);
+            else if (c < 0x20 || c > 0x7e)
+                literal.append(String.format("\\u%04x", (int) c));
+            else
+                literal.append(c);
+        }
+        return literal.append('"').toString();
+    }
+
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright (C) 2016 Sebastian Daschner, sebastian-daschner.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sebastian_daschner.siren4javaee.processor;
+
+/**
+ * The supported types of mapped properties and links.
+ * Primitive values are written and bound via the typed accessors of the builder and entity, without boxing.
+ *
+ * @author Sebastian Daschner
+ */
+enum ValueType {
+
+    INT(true), LONG(true), DOUBLE(true), BOOLEAN(true),
+    INTEGER_WRAPPER(false), LONG_WRAPPER(false), DOUBLE_WRAPPER(false), BOOLEAN_WRAPPER(false),
+    STRING(false), BIG_DECIMAL(false), BIG_INTEGER(false), ENUM(false), URI(false);
+
+    private final boolean primitive;
+
+    ValueType(final boolean primitive) {
+        this.primitive = primitive;
+    }
+
+    boolean isPrimitive() {
+        return primitive;
+    }
+
+    /**
+     * Returns the expression which is passed to {@code EntityBuilder#addProperty} for the non-null {@code value}.
+     */
+    String propertyValue(final String value) {
+        switch (this) {
+            case INTEGER_WRAPPER:
+                return value + ".intValue()";
+            case LONG_WRAPPER:
+                return value + ".longValue()";
+            case DOUBLE_WRAPPER:
+                return value + ".doubleValue()";
+            case BOOLEAN_WRAPPER:
+                return value + ".booleanValue()";
+            case ENUM:
+                return value + ".name()";
+            default:
+                return value;
+        }
+    }
+
+    /**
+     * Returns the expression which reads the {@code long}, {@code double} or {@code boolean} property {@code name} from the {@code entity},
+     * or the {@code current} value.
+     * {@code int} properties are range-checked by the binder instead.
+     */
+    String readPrimitive(final String entity, final String name, final String current) {
+        switch (this) {
+            case LONG:
+                return entity + ".getLong(" + name + ", " + current + ")";
+            case DOUBLE:
+                return entity + ".getDouble(" + name + ", " + current + ")";
+            case BOOLEAN:
+                return entity + ".getBoolean(" + name + ", " + current + ")";
+            default:
+                throw new IllegalStateException("Not readable with a default value: " + this);
+        }
+    }
+
+}
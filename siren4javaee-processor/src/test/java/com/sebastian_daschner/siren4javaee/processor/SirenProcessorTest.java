@@ -0,0 +1,244 @@
+/*
+ * Copyright (C) 2016 Sebastian Daschner, sebastian-daschner.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sebastian_daschner.siren4javaee.processor;
+
+import com.sebastian_daschner.siren4javaee.Entity;
+import com.sebastian_daschner.siren4javaee.EntityBuilder;
+import com.sebastian_daschner.siren4javaee.Siren;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+public class SirenProcessorTest {
+
+    private static final String BOOK = "package com.example;\n" +
+            "import com.sebastian_daschner.siren4javaee.*;\n" +
+            "import java.math.BigDecimal;\n" +
+            "import java.net.URI;\n" +
+            "@SirenEntity(classes = \"book\", title = \"Book\")\n" +
+            "public class Book {\n" +
+            "    public enum Availability {\n" +
+            "        IN_STOCK, SOLD_OUT;\n" +
+            "        @Override public String toString() { return name().toLowerCase(); }\n" +
+            "    }\n" +
+            "    @SirenProperty String name;\n" +
+            "    @SirenProperty int pages;\n" +
+            "    @SirenProperty(name = \"in-stock\") boolean available;\n" +
+            "    @SirenProperty BigDecimal price;\n" +
+            "    @SirenProperty Long sold;\n" +
+            "    @SirenProperty Integer edition;\n" +
+            "    @SirenProperty Double rating;\n" +
+            "    private Availability availability;\n" +
+            "    @SirenLink(rel = {\"self\", \"item\"}) URI uri;\n" +
+            "    @SirenProperty public Availability getAvailability() { return availability; }\n" +
+            "    public void setAvailability(Availability availability) { this.availability = availability; }\n" +
+            "}\n";
+
+    private File output;
+
+    @Before
+    public void setUp() throws IOException {
+        output = Files.createTempDirectory("siren-processor").toFile();
+    }
+
+    @Test
+    public void testWriter() throws Exception {
+        final ClassLoader loader = compile(source("com.example.Book", BOOK));
+
+        final Object book = loader.loadClass("com.example.Book").getConstructor().newInstance();
+        set(book, "name", "Java");
+        set(book, "pages", 350);
+        set(book, "available", true);
+        set(book, "price", new java.math.BigDecimal("29.99"));
+        set(book, "uri", URI.create("https://api.example.com/books/1"));
+        final Class<?> availability = loader.loadClass("com.example.Book$Availability");
+        book.getClass().getMethod("setAvailability", availability).invoke(book, availability.getEnumConstants()[1]);
+
+        final Method write = loader.loadClass("com.example.BookSirenWriter").getMethod("write", book.getClass());
+        final String actual = ((EntityBuilder) write.invoke(null, book)).build().toString();
+
+        final String expected = "{\"class\":[\"book\"]," +
+                "\"title\":\"Book\"," +
+                "\"properties\":{" +
+                "\"availability\":\"SOLD_OUT\"," +
+                "\"in-stock\":true," +
+                "\"name\":\"Java\"," +
+                "\"pages\":350," +
+                "\"price\":29.99}," +
+                "\"links\":[{\"rel\":[\"self\",\"item\"],\"href\":\"https://api.example.com/books/1\"}]}";
+        assertThat(actual, is(expected));
+    }
+
+    @Test
+    public void testBinder() throws Exception {
+        final ClassLoader loader = compile(source("com.example.Book", BOOK));
+
+        final Entity entity = Siren.createEntityReader().read(Siren.createEntityBuilder()
+                .addProperty("name", "Java")
+                .addProperty("pages", 350)
+                .addProperty("price", 29.99)
+                .addProperty("sold", 1000)
+                .addProperty("edition", 2)
+                .addProperty("rating", 4)
+                .addProperty("availability", "SOLD_OUT")
+                .addLink(URI.create("https://api.example.com/books/1"), "self")
+                .build());
+
+        final Class<?> bookType = loader.loadClass("com.example.Book");
+        final Object book = loader.loadClass("com.example.BookSirenBinder").getMethod("bind", Entity.class).invoke(null, entity);
+
+        assertThat(get(book, "name"), is("Java"));
+        assertThat(get(book, "pages"), is(350));
+        assertThat(get(book, "available"), is(false));
+        assertThat(get(book, "price"), is(new java.math.BigDecimal("29.99")));
+        assertThat(get(book, "sold"), is(1000L));
+        assertThat(get(book, "edition"), is(2));
+        assertThat(get(book, "rating"), is(4.0));
+        assertThat(((Enum<?>) bookType.getMethod("getAvailability").invoke(book)).name(), is("SOLD_OUT"));
+        assertThat(get(book, "uri"), is(URI.create("https://api.example.com/books/1")));
+    }
+
+    @Test
+    public void testBinderUnexpectedValues() throws Exception {
+        final ClassLoader loader = compile(source("com.example.Book", BOOK));
+
+        final Entity entity = Siren.createEntityReader().read(Siren.createEntityBuilder()
+                .addProperty("pages", 1L << 40)
+                .addProperty("price", "29.99")
+                .addProperty("sold", 10.5)
+                .addProperty("edition", Integer.MIN_VALUE - 1L)
+                .addProperty("rating", true)
+                .addProperty("availability", "OUT_OF_PRINT")
+                .build());
+
+        final Class<?> bookType = loader.loadClass("com.example.Book");
+        final Object book = loader.loadClass("com.example.BookSirenBinder").getMethod("bind", Entity.class).invoke(null, entity);
+
+        assertThat(get(book, "pages"), is(0));
+        assertThat(get(book, "price"), is(nullValue()));
+        assertThat(get(book, "sold"), is(nullValue()));
+        assertThat(get(book, "edition"), is(nullValue()));
+        assertThat(get(book, "rating"), is(nullValue()));
+        assertThat(bookType.getMethod("getAvailability").invoke(book), is(nullValue()));
+    }
+
+    @Test
+    public void testNoBinderForImmutableType() throws Exception {
+        final ClassLoader loader = compile(source("com.example.Author", "package com.example;\n" +
+                "@com.sebastian_daschner.siren4javaee.SirenEntity\n" +
+                "public class Author {\n" +
+                "    @com.sebastian_daschner.siren4javaee.SirenProperty final String name = \"Duke\";\n" +
+                "}\n"));
+
+        loader.loadClass("com.example.AuthorSirenWriter");
+        try {
+            loader.loadClass("com.example.AuthorSirenBinder");
+            fail("expected exception not occurred");
+        } catch (ClassNotFoundException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testPrivateMember() throws IOException {
+        try {
+            compile(source("com.example.Author", "package com.example;\n" +
+                    "@com.sebastian_daschner.siren4javaee.SirenEntity\n" +
+                    "public class Author {\n" +
+                    "    @com.sebastian_daschner.siren4javaee.SirenProperty private String name;\n" +
+                    "}\n"));
+            fail("expected exception not occurred");
+        } catch (IllegalStateException e) {
+            assertThat(e.getMessage().contains("must be accessible"), is(true));
+        }
+    }
+
+    @Test
+    public void testUnsupportedType() throws IOException {
+        try {
+            compile(source("com.example.Author", "package com.example;\n" +
+                    "@com.sebastian_daschner.siren4javaee.SirenEntity\n" +
+                    "public class Author {\n" +
+                    "    @com.sebastian_daschner.siren4javaee.SirenProperty Object name;\n" +
+                    "}\n"));
+            fail("expected exception not occurred");
+        } catch (IllegalStateException e) {
+            assertThat(e.getMessage().contains("Unsupported property type"), is(true));
+        }
+    }
+
+    private ClassLoader compile(final JavaFileObject source) throws IOException {
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        final DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        final List<String> options = Arrays.asList("-d", output.getPath(), "-s", output.getPath(),
+                "-classpath", System.getProperty("java.class.path"));
+
+        final JavaCompiler.CompilationTask task = compiler.getTask(null, null, diagnostics, options, null, Collections.singletonList(source));
+        task.setProcessors(Collections.singletonList(new SirenProcessor()));
+
+        if (!task.call()) {
+            final StringBuilder errors = new StringBuilder();
+            for (final Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics())
+                errors.append(diagnostic.getMessage(null)).append('\n');
+            throw new IllegalStateException(errors.toString());
+        }
+        return new URLClassLoader(new URL[]{output.toURI().toURL()}, getClass().getClassLoader());
+    }
+
+    private static JavaFileObject source(final String className, final String content) {
+        return new SimpleJavaFileObject(URI.create("string:///" + className.replace('.', '/') + ".java"), JavaFileObject.Kind.SOURCE) {
+            @Override
+            public CharSequence getCharContent(final boolean ignoreEncodingErrors) {
+                return content;
+            }
+        };
+    }
+
+    private static void set(final Object object, final String field, final Object value) throws ReflectiveOperationException {
+        final Field declaredField = object.getClass().getDeclaredField(field);
+        declaredField.setAccessible(true);
+        declaredField.set(object, value);
+    }
+
+    private static Object get(final Object object, final String field) throws ReflectiveOperationException {
+        final Field declaredField = object.getClass().getDeclaredField(field);
+        declaredField.setAccessible(true);
+        return declaredField.get(object);
+    }
+
+}
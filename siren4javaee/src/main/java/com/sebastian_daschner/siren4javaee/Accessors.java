@@ -0,0 +1,317 @@
+/*
+ * Copyright (C) 2016 Sebastian Daschner, sebastian-daschner.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sebastian_daschner.siren4javaee;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaConversionException;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.ObjDoubleConsumer;
+import java.util.function.ObjIntConsumer;
+import java.util.function.ObjLongConsumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Binds constructors, fields, getters and setters of POJOs to functional interfaces once, for repeated access without reflection.
+ * Public methods and constructors of public classes are bound via {@link LambdaMetafactory}, which is as fast as a hand-written lambda.
+ * Fields and all other members are accessed via {@link MethodHandle}s which are captured by a lambda; as these handles are no constants
+ * the calls are not optimized as well, for hot paths public getters and setters or the generated classes of the annotation processor are faster.
+ * Primitive values are passed with their exact types, without boxing.
+ *
+ * @author Sebastian Daschner
+ */
+final class Accessors {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private Accessors() {
+        throw new UnsupportedOperationException();
+    }
+
+    static ToIntFunction<Object> intGetter(final Member member) {
+        final ToIntFunction<Object> function = metafactory(member, ToIntFunction.class, "applyAsInt", int.class);
+        if (function != null)
+            return function;
+
+        final MethodHandle handle = getter(member, int.class);
+        return pojo -> {
+            try {
+                return (int) handle.invokeExact(pojo);
+            } catch (Throwable t) {
+                throw rethrow(t);
+            }
+        };
+    }
+
+    static ToLongFunction<Object> longGetter(final Member member) {
+        final ToLongFunction<Object> function = metafactory(member, ToLongFunction.class, "applyAsLong", long.class);
+        if (function != null)
+            return function;
+
+        final MethodHandle handle = getter(member, long.class);
+        return pojo -> {
+            try {
+                return (long) handle.invokeExact(pojo);
+            } catch (Throwable t) {
+                throw rethrow(t);
+            }
+        };
+    }
+
+    static ToDoubleFunction<Object> doubleGetter(final Member member) {
+        final ToDoubleFunction<Object> function = metafactory(member, ToDoubleFunction.class, "applyAsDouble", double.class);
+        if (function != null)
+            return function;
+
+        final MethodHandle handle = getter(member, double.class);
+        return pojo -> {
+            try {
+                return (double) handle.invokeExact(pojo);
+            } catch (Throwable t) {
+                throw rethrow(t);
+            }
+        };
+    }
+
+    static Predicate<Object> booleanGetter(final Member member) {
+        final Predicate<Object> function = metafactory(member, Predicate.class, "test", boolean.class);
+        if (function != null)
+            return function;
+
+        final MethodHandle handle = getter(member, boolean.class);
+        return pojo -> {
+            try {
+                return (boolean) handle.invokeExact(pojo);
+            } catch (Throwable t) {
+                throw rethrow(t);
+            }
+        };
+    }
+
+    static Function<Object, Object> objectGetter(final Member member) {
+        final Function<Object, Object> function = metafactory(member, Function.class, "apply", Object.class);
+        if (function != null)
+            return function;
+
+        final MethodHandle handle = getter(member, Object.class);
+        return pojo -> {
+            try {
+                return handle.invokeExact(pojo);
+            } catch (Throwable t) {
+                throw rethrow(t);
+            }
+        };
+    }
+
+    static ObjIntConsumer<Object> intSetter(final Member member) {
+        final ObjIntConsumer<Object> function = metafactory(member, ObjIntConsumer.class, "accept", void.class, Object.class, int.class);
+        if (function != null)
+            return function;
+
+        final MethodHandle handle = setter(member, int.class);
+        return (pojo, value) -> {
+            try {
+                handle.invokeExact(pojo, value);
+            } catch (Throwable t) {
+                throw rethrow(t);
+            }
+        };
+    }
+
+    static ObjLongConsumer<Object> longSetter(final Member member) {
+        final ObjLongConsumer<Object> function = metafactory(member, ObjLongConsumer.class, "accept", void.class, Object.class, long.class);
+        if (function != null)
+            return function;
+
+        final MethodHandle handle = setter(member, long.class);
+        return (pojo, value) -> {
+            try {
+                handle.invokeExact(pojo, value);
+            } catch (Throwable t) {
+                throw rethrow(t);
+            }
+        };
+    }
+
+    static ObjDoubleConsumer<Object> doubleSetter(final Member member) {
+        final ObjDoubleConsumer<Object> function = metafactory(member, ObjDoubleConsumer.class, "accept", void.class, Object.class, double.class);
+        if (function != null)
+            return function;
+
+        final MethodHandle handle = setter(member, double.class);
+        return (pojo, value) -> {
+            try {
+                handle.invokeExact(pojo, value);
+            } catch (Throwable t) {
+                throw rethrow(t);
+            }
+        };
+    }
+
+    /**
+     * Binds the setter to a {@link BiConsumer}; {@code boolean} values are passed as {@link Boolean}s.
+     */
+    static BiConsumer<Object, Object> objectSetter(final Member member) {
+        final BiConsumer<Object, Object> function = metafactory(member, BiConsumer.class, "accept", void.class, Object.class, Object.class);
+        if (function != null)
+            return function;
+
+        final MethodHandle handle = setter(member, Object.class);
+        return (pojo, value) -> {
+            try {
+                handle.invokeExact(pojo, value);
+            } catch (Throwable t) {
+                throw rethrow(t);
+            }
+        };
+    }
+
+    static Supplier<Object> constructor(final Constructor<?> constructor) {
+        final Supplier<Object> function = metafactory(constructor, Supplier.class, "get", Object.class);
+        if (function != null)
+            return function;
+
+        final MethodHandle handle;
+        try {
+            constructor.setAccessible(true);
+            handle = LOOKUP.unreflectConstructor(constructor).asType(MethodType.methodType(Object.class));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            throw new IllegalArgumentException("Could not access " + constructor, e);
+        }
+        return () -> {
+            try {
+                return handle.invokeExact();
+            } catch (Throwable t) {
+                throw rethrow(t);
+            }
+        };
+    }
+
+    /**
+     * Returns the type of the field or the return type of the getter.
+     */
+    static Class<?> type(final Member member) {
+        return member instanceof Field ? ((Field) member).getType() : ((Method) member).getReturnType();
+    }
+
+    /**
+     * Creates a lambda for public methods and constructors of public classes that are visible from this library, otherwise returns {@code null}.
+     */
+    private static <T> T metafactory(final Member member, final Class<? super T> functionalInterface, final String name,
+                                     final Class<?> returnType, final Class<?>... parameterTypes) {
+        if (member instanceof Field || !isAccessible(member))
+            return null;
+
+        final CallSite site;
+        try {
+            final MethodHandle handle = member instanceof Method ? LOOKUP.unreflect((Method) member) : LOOKUP.unreflectConstructor((Constructor<?>) member);
+
+            // getters take the POJO, setters the POJO and the value, constructors nothing
+            final MethodType samType = MethodType.methodType(returnType, parameterTypes.length == 0 && member instanceof Method
+                    ? new Class<?>[]{Object.class} : parameterTypes);
+
+            // primitive values which are passed as objects are unboxed by the lambda
+            MethodType instantiatedType = handle.type();
+            for (int i = 0; i < samType.parameterCount(); i++) {
+                if (samType.parameterType(i) == Object.class)
+                    instantiatedType = instantiatedType.changeParameterType(i, instantiatedType.wrap().parameterType(i));
+            }
+
+            site = LambdaMetafactory.metafactory(LOOKUP, name, MethodType.methodType(functionalInterface),
+                    samType, handle, instantiatedType);
+        } catch (LambdaConversionException | IllegalAccessException e) {
+            // the member can't be bound as lambda, e.g. due to the runtime or class loader, the method handle fallback is used instead
+            return null;
+        }
+
+        try {
+            return (T) site.getTarget().invoke();
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    private static boolean isAccessible(final Member member) {
+        final Class<?> declaringClass = member.getDeclaringClass();
+        if (!Modifier.isPublic(member.getModifiers()) || !Modifier.isPublic(declaringClass.getModifiers()))
+            return false;
+
+        // the generated lambda class has to resolve the declaring class from this class loader
+        try {
+            return Class.forName(declaringClass.getName(), false, Accessors.class.getClassLoader()) == declaringClass;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    private static MethodHandle setter(final Member member, final Class<?> valueType) {
+        try {
+            final MethodHandle handle;
+            if (member instanceof Field) {
+                final Field field = (Field) member;
+                field.setAccessible(true);
+                handle = LOOKUP.unreflectSetter(field);
+            } else {
+                final Method method = (Method) member;
+                method.setAccessible(true);
+                handle = LOOKUP.unreflect(method);
+            }
+            return handle.asType(MethodType.methodType(void.class, Object.class, valueType));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            throw new IllegalArgumentException("Could not access " + member, e);
+        }
+    }
+
+    private static MethodHandle getter(final Member member, final Class<?> returnType) {
+        try {
+            final MethodHandle handle;
+            if (member instanceof Field) {
+                final Field field = (Field) member;
+                field.setAccessible(true);
+                handle = LOOKUP.unreflectGetter(field);
+            } else {
+                final Method method = (Method) member;
+                method.setAccessible(true);
+                handle = LOOKUP.unreflect(method);
+            }
+            return handle.asType(MethodType.methodType(returnType, Object.class));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            throw new IllegalArgumentException("Could not access " + member, e);
+        }
+    }
+
+    private static RuntimeException rethrow(final Throwable throwable) {
+        if (throwable instanceof RuntimeException)
+            return (RuntimeException) throwable;
+        if (throwable instanceof Error)
+            throw (Error) throwable;
+        return new RuntimeException(throwable);
+    }
+
+}
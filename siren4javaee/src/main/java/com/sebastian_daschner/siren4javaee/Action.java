@@ -2,10 +2,11 @@ package com.sebastian_daschner.siren4javaee;
 
 import javax.ws.rs.core.MediaType;
 import java.net.URI;
-import java.util.ArrayList;
 import java.util.List;
 
-import static java.util.Collections.unmodifiableList;
+import static com.sebastian_daschner.siren4javaee.CompactCollections.add;
+import static com.sebastian_daschner.siren4javaee.CompactCollections.compactList;
+import static java.util.Collections.emptyList;
 
 /**
  * Represents a Siren entity action.
@@ -17,7 +18,7 @@ import static java.util.Collections.unmodifiableList;
  */
 public class Action extends SirenObject {
 
-    private final List<Field> fields = new ArrayList<>();
+    private List<Field> fields = emptyList();
     private String name;
     private String method;
     private URI href;
@@ -27,7 +28,7 @@ public class Action extends SirenObject {
     }
 
     public List<Field> getFields() {
-        return unmodifiableList(fields);
+        return fields;
     }
 
     public String getName() {
@@ -46,6 +47,12 @@ public class Action extends SirenObject {
         return type;
     }
 
+    @Override
+    void compact() {
+        super.compact();
+        fields = compactList(fields);
+    }
+
     @Override
     public boolean equals(final Object o) {
         if (this == o) return true;
@@ -107,7 +114,7 @@ public class Action extends SirenObject {
         }
 
         Builder addField(final Field field) {
-            object().fields.add(field);
+            object().fields = add(object().fields, field);
             return this;
         }
 
@@ -132,6 +139,7 @@ public class Action extends SirenObject {
         }
 
         protected Action build() {
+            action.compact();
             return action;
         }
 
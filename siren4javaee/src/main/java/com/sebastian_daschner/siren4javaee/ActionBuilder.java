@@ -15,12 +15,13 @@
  */
 package com.sebastian_daschner.siren4javaee;
 
-import javax.json.Json;
-import javax.json.JsonArrayBuilder;
 import javax.json.JsonObject;
 import javax.json.JsonObjectBuilder;
+import javax.json.stream.JsonGenerator;
 import javax.ws.rs.core.MediaType;
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Builder pattern functionality to programmatically create action objects in Siren responses.
@@ -30,25 +31,28 @@ import java.net.URI;
  *
  * @author Sebastian Daschner
  */
-public class ActionBuilder {
+public class ActionBuilder implements SirenWritable {
 
-    private JsonArrayBuilder fieldsBuilder;
-    private JsonArrayBuilder classesBuilder;
+    private List<SirenWritable> fields;
+    private List<String> classes;
 
     private String name;
     private String title;
     private String method;
-    private URI href;
+    private String href;
     private String type;
 
-    ActionBuilder() {
+    private final SirenFactory factory;
+
+    ActionBuilder(final SirenFactory factory) {
         // prevent other instances than Siren factory methods
+        this.factory = factory;
     }
 
     public ActionBuilder addClass(final String entityClass) {
-        if (classesBuilder == null)
-            classesBuilder = Json.createArrayBuilder();
-        classesBuilder.add(entityClass);
+        if (classes == null)
+            classes = new ArrayList<>();
+        classes.add(entityClass);
         return this;
     }
 
@@ -71,7 +75,15 @@ public class ActionBuilder {
     }
 
     public ActionBuilder setHref(final URI href) {
-        this.href = href;
+        this.href = href == null ? null : href.toString();
+        return this;
+    }
+
+    /**
+     * Sets the href to the {@code template} expanded with the {@code values}, see {@link UriTemplate#expand(Object...)}.
+     */
+    public ActionBuilder setHref(final UriTemplate template, final Object... values) {
+        this.href = template.expand(values);
         return this;
     }
 
@@ -89,32 +101,42 @@ public class ActionBuilder {
     }
 
     /**
-     * Shortcut to calling {@code actionBuilder.addField(Siren.createFieldBuilder().setName(name).setType(fieldType))}.
+     * Shortcut to calling {@code actionBuilder.addField(factory.createFieldBuilder().setName(name).setType(fieldType))}.
      */
     public ActionBuilder addField(final String name, final FieldType type) {
-        addField(Siren.createFieldBuilder().setName(name).setType(type));
+        addField(factory.createFieldBuilder().setName(name).setType(type));
         return this;
     }
 
     public ActionBuilder addField(final FieldBuilder builder) {
-        if (fieldsBuilder == null)
-            fieldsBuilder = Json.createArrayBuilder();
-        fieldsBuilder.add(builder.build());
-        return this;
+        return addFieldObject(SirenWritable.of(builder.build()));
     }
 
     public ActionBuilder addField(final JsonObject field) {
-        if (fieldsBuilder == null)
-            fieldsBuilder = Json.createArrayBuilder();
-        fieldsBuilder.add(field);
+        return addFieldObject(SirenWritable.of(field));
+    }
+
+    private ActionBuilder addFieldObject(final SirenWritable field) {
+        if (fields == null)
+            fields = new ArrayList<>();
+        fields.add(field);
         return this;
     }
 
+    /**
+     * Builds the action including its fields into an immutable {@link SirenFragment} that can be added to many entities.
+     * Later modifications of this builder do not affect the fragment.
+     */
+    public SirenFragment freeze() {
+        return new SirenFragment(build());
+    }
+
+    @Override
     public JsonObject build() {
-        final JsonObjectBuilder objectBuilder = Json.createObjectBuilder();
+        final JsonObjectBuilder objectBuilder = factory.builderFactory().createObjectBuilder();
 
-        if (classesBuilder != null)
-            objectBuilder.add("class", classesBuilder.build());
+        if (classes != null)
+            objectBuilder.add("class", SirenJson.buildStrings(factory.builderFactory(), classes));
 
         if (name != null)
             objectBuilder.add("name", name);
@@ -123,13 +145,36 @@ public class ActionBuilder {
         if (method != null)
             objectBuilder.add("method", method);
         if (href != null)
-            objectBuilder.add("href", href.toString());
+            objectBuilder.add("href", href);
         if (type != null)
             objectBuilder.add("type", type);
-        if (fieldsBuilder != null)
-            objectBuilder.add("fields", fieldsBuilder.build());
+        if (fields != null)
+            objectBuilder.add("fields", SirenJson.buildObjects(factory.builderFactory(), fields));
 
         return objectBuilder.build();
     }
 
+    @Override
+    public void writeTo(final JsonGenerator generator) {
+        generator.writeStartObject();
+
+        if (classes != null)
+            SirenJson.writeStrings(generator, "class", classes);
+
+        if (name != null)
+            generator.write("name", name);
+        if (title != null)
+            generator.write("title", title);
+        if (method != null)
+            generator.write("method", method);
+        if (href != null)
+            generator.write("href", href);
+        if (type != null)
+            generator.write("type", type);
+        if (fields != null)
+            SirenJson.writeObjects(generator, "fields", fields);
+
+        generator.writeEnd();
+    }
+
 }
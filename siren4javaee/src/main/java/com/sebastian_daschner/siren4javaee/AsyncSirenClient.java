@@ -0,0 +1,252 @@
+/*
+ * Copyright (C) 2016 Sebastian Daschner, sebastian-daschner.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sebastian_daschner.siren4javaee;
+
+import javax.json.JsonObject;
+import javax.ws.rs.client.AsyncInvoker;
+import javax.ws.rs.client.Client;
+import javax.ws.rs.client.InvocationCallback;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Predicate;
+
+/**
+ * Client that reads Siren entities and performs actions asynchronously, without blocking the calling threads.
+ * The requests are invoked via the JAX-RS {@link AsyncInvoker} of the configured {@link Client},
+ * the returned stages are completed by the threads of the JAX-RS client implementation.
+ * Errors, including missing links or actions, complete the stages exceptionally.
+ * <b>Example:</b>
+ * <pre>
+ * AsyncSirenClient client = Siren.createAsyncClient(ClientBuilder.newClient());
+ * client.retrieveEntityAsync(uri)
+ *     .thenCompose(entity -&gt; client.followLinkAsync(entity, "books"))
+ *     .thenAccept(books -&gt; ...);
+ * </pre>
+ *
+ * @author Sebastian Daschner
+ */
+public class AsyncSirenClient {
+
+    private static final int DEFAULT_CONCURRENCY = 16;
+    private static final int DEFAULT_PER_HOST_CONCURRENCY = 8;
+
+    private final SirenFactory factory;
+    private final Client client;
+    private final EntityReader entityReader;
+    private final SingleFlight<String, Entity> retrievals = new SingleFlight<>();
+
+    AsyncSirenClient(final SirenFactory factory, final Client client) {
+        // prevent other instances than Siren factory methods
+        this.factory = factory;
+        this.client = client;
+        entityReader = factory.createEntityReader();
+    }
+
+    /**
+     * Gets a Siren entity following the {@code uri}.
+     * Concurrent calls for the same {@code uri} share a single request and the read entity.
+     */
+    public CompletionStage<Entity> retrieveEntityAsync(final URI uri) {
+        return retrievals.executeAsync(SirenClient.requestKey(uri), () -> {
+            final CompletableFuture<Entity> future = new CompletableFuture<>();
+            client.target(uri).request(MediaType.APPLICATION_JSON_TYPE).async().get(new EntityCallback(future));
+            return future;
+        });
+    }
+
+    /**
+     * Gets a Siren entity by following the link of the given {@code entity} that contains the given {@code rel}.
+     *
+     * @see #retrieveEntityAsync(URI)
+     */
+    public CompletionStage<Entity> followLinkAsync(final Entity entity, final String rel) {
+        final URI uri = entity.getLink(rel);
+        if (uri == null)
+            return failed(new RuntimeException("Could not find link with rel " + rel + " in entity links"));
+        return retrieveEntityAsync(uri);
+    }
+
+    /**
+     * Follows the link with the given {@code rel} of every sub entity of the {@code entity} that matches the {@code filter},
+     * with at most 16 concurrent requests and 8 per host.
+     *
+     * @see #followAllAsync(Entity, Predicate, String, int, int)
+     */
+    public CompletionStage<List<Entity>> followAllAsync(final Entity entity, final Predicate<SubEntity> filter, final String rel) {
+        return followAllAsync(entity, filter, rel, DEFAULT_CONCURRENCY, DEFAULT_PER_HOST_CONCURRENCY);
+    }
+
+    /**
+     * Follows the link with the given {@code rel} of every sub entity of the {@code entity} that matches the {@code filter}.
+     * Embedded links which contain the {@code rel} themselves are followed via their {@code href}.
+     * At most {@code concurrency} requests are in-flight at the same time, at most {@code perHost} of them to the same host.
+     * The retrieved entities are returned in the order of the sub entities.
+     * The stage is completed exceptionally on the first error, or if a sub entity contains no such link.
+     */
+    public CompletionStage<List<Entity>> followAllAsync(final Entity entity, final Predicate<SubEntity> filter, final String rel,
+                                                        final int concurrency, final int perHost) {
+        final List<URI> uris = new ArrayList<>();
+        for (final SubEntity subEntity : entity.getEntities()) {
+            if (!filter.test(subEntity))
+                continue;
+            final URI link = subEntity.getLink(rel);
+            final URI uri = link == null && subEntity.getRels().contains(rel) ? subEntity.getHref() : link;
+            if (uri == null)
+                return failed(new RuntimeException("Could not find link with rel " + rel + " in sub entity links"));
+            uris.add(uri);
+        }
+
+        return new FanOut(uris, this::retrieveEntityAsync, concurrency, perHost).start();
+    }
+
+    /**
+     * Follows the links like {@link #followAllAsync(Entity, Predicate, String)} and waits for the results.
+     */
+    public List<Entity> followAll(final Entity entity, final Predicate<SubEntity> filter, final String rel) {
+        return followAll(entity, filter, rel, DEFAULT_CONCURRENCY, DEFAULT_PER_HOST_CONCURRENCY);
+    }
+
+    /**
+     * Follows the links like {@link #followAllAsync(Entity, Predicate, String, int, int)} and waits for the results.
+     * Only the calling thread blocks, the requests are performed asynchronously.
+     */
+    public List<Entity> followAll(final Entity entity, final Predicate<SubEntity> filter, final String rel,
+                                  final int concurrency, final int perHost) {
+        try {
+            return followAllAsync(entity, filter, rel, concurrency, perHost).toCompletableFuture().join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException)
+                throw (RuntimeException) e.getCause();
+            throw e;
+        }
+    }
+
+    /**
+     * Performs the action contained in the {@code entity} with the given {@code action} name.
+     * No properties are provided.
+     *
+     * @see #performActionAsync(Entity, String, JsonObject)
+     */
+    public CompletionStage<Response> performActionAsync(final Entity entity, final String action) {
+        return performActionAsync(entity, action, null);
+    }
+
+    /**
+     * Performs the action contained in the {@code entity} with the given {@code action} name and field information contained in {@code properties}.
+     */
+    public CompletionStage<Response> performActionAsync(final Entity entity, final String action, final JsonObject properties) {
+        final Action entityAction = entity.getAction(action);
+        if (entityAction == null)
+            return failed(new RuntimeException("Could not find action with name " + action + " in entity"));
+
+        return performActionAsync(entityAction, properties);
+    }
+
+    /**
+     * Performs the given action.
+     * No properties are provided.
+     *
+     * @see #performActionAsync(Action, JsonObject)
+     */
+    public CompletionStage<Response> performActionAsync(final Action action) {
+        return performActionAsync(action, null);
+    }
+
+    /**
+     * Performs the given action with field information contained in {@code properties}.
+     * The stage is completed exceptionally if the HTTP status is not successful.
+     */
+    public CompletionStage<Response> performActionAsync(final Action action, final JsonObject properties) {
+        final CompletableFuture<Response> future = new CompletableFuture<>();
+        try {
+            final javax.ws.rs.client.Entity<JsonObject> entity = SirenClient.buildActionEntity(factory, action, properties);
+            final AsyncInvoker invoker = client.target(action.getHref()).request(MediaType.WILDCARD_TYPE).async();
+
+            if (entity == null)
+                invoker.method(action.getMethod(), new ResponseCallback(future));
+            else
+                invoker.method(action.getMethod(), entity, new ResponseCallback(future));
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    private static <T> CompletionStage<T> failed(final Throwable throwable) {
+        final CompletableFuture<T> future = new CompletableFuture<>();
+        future.completeExceptionally(throwable);
+        return future;
+    }
+
+    /**
+     * Reads the response stream into an entity; the callback types are declared explicitly, since JAX-RS implementations derive
+     * the response type from the generic type of the callback.
+     */
+    private class EntityCallback implements InvocationCallback<Response> {
+
+        private final CompletableFuture<Entity> future;
+
+        private EntityCallback(final CompletableFuture<Entity> future) {
+            this.future = future;
+        }
+
+        @Override
+        public void completed(final Response response) {
+            try {
+                future.complete(SirenClient.readEntity(entityReader, response));
+            } catch (RuntimeException e) {
+                future.completeExceptionally(e);
+            }
+        }
+
+        @Override
+        public void failed(final Throwable throwable) {
+            future.completeExceptionally(throwable);
+        }
+
+    }
+
+    private static class ResponseCallback implements InvocationCallback<Response> {
+
+        private final CompletableFuture<Response> future;
+
+        private ResponseCallback(final CompletableFuture<Response> future) {
+            this.future = future;
+        }
+
+        @Override
+        public void completed(final Response response) {
+            try {
+                future.complete(SirenClient.checkStatus(response));
+            } catch (RuntimeException e) {
+                future.completeExceptionally(e);
+            }
+        }
+
+        @Override
+        public void failed(final Throwable throwable) {
+            future.completeExceptionally(throwable);
+        }
+
+    }
+
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright (C) 2016 Sebastian Daschner, sebastian-daschner.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sebastian_daschner.siren4javaee;
+
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Response;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+
+/**
+ * A cached, already read entity together with its validators and freshness, as defined by HTTP caching semantics.
+ * Instances are immutable.
+ *
+ * @author Sebastian Daschner
+ */
+final class CacheEntry {
+
+    private final Entity entity;
+    private final String etag;
+    private final String lastModified;
+    private final long lifetime;
+    private final long expires;
+
+    CacheEntry(final Entity entity, final String etag, final String lastModified, final long lifetime, final long expires) {
+        this.entity = entity;
+        this.etag = etag;
+        this.lastModified = lastModified;
+        this.lifetime = lifetime;
+        this.expires = expires;
+    }
+
+    /**
+     * Creates an entry from the headers of a successful response, or returns {@code null} if the response must not be cached.
+     * Responses without explicit freshness information are stored as stale, if they contain validators.
+     *
+     * @param now The current time in milliseconds
+     */
+    static CacheEntry of(final Entity entity, final Response response, final long now) {
+        final String cacheControl = response.getHeaderString(HttpHeaders.CACHE_CONTROL);
+        if (hasDirective(cacheControl, "no-store") || "*".equals(response.getHeaderString(HttpHeaders.VARY)))
+            return null;
+
+        final String etag = response.getHeaderString(HttpHeaders.ETAG);
+        final String lastModified = response.getHeaderString(HttpHeaders.LAST_MODIFIED);
+        final long lifetime = Math.max(0, lifetime(response, cacheControl, now));
+        final long expires = expires(response, lifetime, now);
+
+        if (expires <= now && etag == null && lastModified == null)
+            return null;
+        return new CacheEntry(entity, etag, lastModified, lifetime, expires);
+    }
+
+    /**
+     * Returns the entry updated with the headers of a {@code 304 Not Modified} response to a revalidation.
+     * If the response contains no explicit freshness information, the freshness lifetime of the stored response is kept
+     * (RFC 7234, section 4.3.4).
+     */
+    CacheEntry revalidated(final Response response, final long now) {
+        final String etag = response.getHeaderString(HttpHeaders.ETAG);
+        final String lastModified = response.getHeaderString(HttpHeaders.LAST_MODIFIED);
+        final long updated = lifetime(response, response.getHeaderString(HttpHeaders.CACHE_CONTROL), now);
+        final long lifetime = updated < 0 ? this.lifetime : updated;
+        return new CacheEntry(entity, etag != null ? etag : this.etag, lastModified != null ? lastModified : this.lastModified,
+                lifetime, expires(response, lifetime, now));
+    }
+
+    Entity getEntity() {
+        return entity;
+    }
+
+    String getEtag() {
+        return etag;
+    }
+
+    String getLastModified() {
+        return lastModified;
+    }
+
+    long getLifetime() {
+        return lifetime;
+    }
+
+    long getExpires() {
+        return expires;
+    }
+
+    boolean isFresh(final long now) {
+        return now < expires;
+    }
+
+    boolean hasValidators() {
+        return etag != null || lastModified != null;
+    }
+
+    /**
+     * Returns the freshness lifetime in milliseconds, or {@code -1} if the response contains no explicit freshness information.
+     * {@code max-age} takes precedence over {@code Expires}, which is relative to the {@code Date} of the response.
+     */
+    private static long lifetime(final Response response, final String cacheControl, final long now) {
+        if (hasDirective(cacheControl, "no-cache"))
+            return 0;
+
+        final long maxAge = directiveValue(cacheControl, "max-age");
+        if (maxAge >= 0)
+            return maxAge * 1000;
+
+        final String expires = response.getHeaderString(HttpHeaders.EXPIRES);
+        if (expires == null)
+            return -1;
+        final long expiresTime = parseDate(expires);
+        // invalid dates represent a time in the past
+        if (expiresTime < 0)
+            return 0;
+        final long date = parseDate(response.getHeaderString(HttpHeaders.DATE));
+        return Math.max(0, expiresTime - (date < 0 ? now : date));
+    }
+
+    /**
+     * Returns the time until which the response is fresh, i.e. the {@code lifetime} reduced by the {@code Age} of the response.
+     */
+    private static long expires(final Response response, final long lifetime, final long now) {
+        final long age = Math.max(0, parseSeconds(response.getHeaderString("Age")));
+        return now + Math.max(0, lifetime - age * 1000);
+    }
+
+    private static long parseDate(final String value) {
+        if (value == null)
+            return -1;
+        try {
+            return ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+        } catch (DateTimeParseException e) {
+            return -1;
+        }
+    }
+
+    private static boolean hasDirective(final String cacheControl, final String directive) {
+        if (cacheControl == null)
+            return false;
+        for (final String part : cacheControl.split(",")) {
+            final String name = part.trim().toLowerCase(Locale.ENGLISH);
+            if (name.equals(directive) || name.startsWith(directive + '='))
+                return true;
+        }
+        return false;
+    }
+
+    private static long directiveValue(final String cacheControl, final String directive) {
+        if (cacheControl == null)
+            return -1;
+        for (final String part : cacheControl.split(",")) {
+            final String trimmed = part.trim();
+            if (trimmed.regionMatches(true, 0, directive + '=', 0, directive.length() + 1))
+                return parseSeconds(trimmed.substring(directive.length() + 1).replace("\"", ""));
+        }
+        return -1;
+    }
+
+    private static long parseSeconds(final String value) {
+        if (value == null)
+            return -1;
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+}
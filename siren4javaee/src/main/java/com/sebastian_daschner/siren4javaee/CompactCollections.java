@@ -0,0 +1,159 @@
+/*
+ * Copyright (C) 2016 Sebastian Daschner, sebastian-daschner.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sebastian_daschner.siren4javaee;
+
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Shared functionality to store the contents of the immutable Siren model objects compactly.
+ * The objects are filled with growable collections while they are built and compacted at {@code build()},
+ * empty collections are shared singletons, small ones are stored in arrays trimmed to size.
+ *
+ * @author Sebastian Daschner
+ */
+final class CompactCollections {
+
+    /**
+     * Sets up to this size are stored as arrays, which are searched linearly.
+     */
+    static final int MAX_ARRAY_SET_SIZE = 4;
+
+    private CompactCollections() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Adds the {@code element} to the {@code list}, which is replaced by a growable list if it has been compacted.
+     */
+    static <T> List<T> add(final List<T> list, final T element) {
+        final List<T> growable = list instanceof ArrayList ? list : new ArrayList<>(list);
+        growable.add(element);
+        return growable;
+    }
+
+    /**
+     * Adds the {@code element} to the {@code set}, which is replaced by a growable set if it has been compacted.
+     */
+    static <T> Set<T> add(final Set<T> set, final T element) {
+        final Set<T> growable = set instanceof LinkedHashSet ? set : new LinkedHashSet<>(set);
+        growable.add(element);
+        return growable;
+    }
+
+    static <T> List<T> compactList(final Collection<T> list) {
+        switch (list.size()) {
+            case 0:
+                return Collections.emptyList();
+            case 1:
+                return Collections.singletonList(list.iterator().next());
+            default:
+                // the array only contains the elements of the list, it's never exposed as T[]
+                @SuppressWarnings("unchecked")
+                final T[] elements = (T[]) list.toArray();
+                return Collections.unmodifiableList(Arrays.asList(elements));
+        }
+    }
+
+    static <T> Set<T> compactSet(final Collection<T> set) {
+        switch (set.size()) {
+            case 0:
+                return Collections.emptySet();
+            case 1:
+                return Collections.singleton(set.iterator().next());
+            default:
+                if (set.size() <= MAX_ARRAY_SET_SIZE)
+                    return new ArraySet<>(set.toArray());
+                return Collections.unmodifiableSet(new HashSet<>(set));
+        }
+    }
+
+    static <K, V> Map<K, V> compactMap(final Map<K, V> map) {
+        switch (map.size()) {
+            case 0:
+                return Collections.emptyMap();
+            case 1:
+                final Map.Entry<K, V> entry = map.entrySet().iterator().next();
+                return Collections.singletonMap(entry.getKey(), entry.getValue());
+            default:
+                return Collections.unmodifiableMap(new HashMap<>(map));
+        }
+    }
+
+    /**
+     * Immutable set of distinct elements stored in an array, in insertion order.
+     */
+    private static final class ArraySet<T> extends AbstractSet<T> {
+
+        private final Object[] elements;
+
+        private ArraySet(final Object[] elements) {
+            this.elements = elements;
+        }
+
+        @Override
+        public boolean contains(final Object o) {
+            for (final Object element : elements) {
+                if (Objects.equals(element, o))
+                    return true;
+            }
+            return false;
+        }
+
+        @Override
+        public Iterator<T> iterator() {
+            return new Iterator<T>() {
+
+                private int index;
+
+                @Override
+                public boolean hasNext() {
+                    return index < elements.length;
+                }
+
+                @Override
+                public T next() {
+                    if (index >= elements.length)
+                        throw new NoSuchElementException();
+                    // the array only contains the elements of the source collection
+                    @SuppressWarnings("unchecked")
+                    final T element = (T) elements[index++];
+                    return element;
+                }
+
+            };
+        }
+
+        @Override
+        public int size() {
+            return elements.length;
+        }
+
+    }
+
+}
@@ -0,0 +1,456 @@
+package com.sebastian_daschner.siren4javaee;
+
+import javax.json.JsonArray;
+import javax.json.JsonObject;
+import javax.json.JsonValue;
+import java.io.Serializable;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static com.sebastian_daschner.siren4javaee.CompactCollections.add;
+import static com.sebastian_daschner.siren4javaee.CompactCollections.compactList;
+import static com.sebastian_daschner.siren4javaee.CompactCollections.compactMap;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.emptyMap;
+
+/**
+ * Represents a Siren entity.
+ * This is created by the {@link com.sebastian_daschner.siren4javaee.EntityReader} or the {@link com.sebastian_daschner.siren4javaee.SirenClient}
+ * functionality, respectively.
+ * Instances are immutable.
+ *
+ * @author Sebastian Daschner
+ */
+public class Entity extends SirenObject {
+
+    private List<SubEntity> entities = emptyList();
+    private List<Action> actions = emptyList();
+    private List<Link> links = emptyList();
+    private PropertyStore properties = PropertyStore.EMPTY;
+
+    // indexes are created once, lookups don't allocate
+    private Map<String, List<Link>> linksByRel = emptyMap();
+    private Map<String, Action> actionsByName = emptyMap();
+
+    private static final int PROPERTIES = 1;
+    private static final int ENTITIES = 2;
+    private static final int LINKS = 4;
+    private static final int ACTIONS = 8;
+    private static final int ALL_SECTIONS = PROPERTIES | ENTITIES | LINKS | ACTIONS;
+
+    // only set for lazily read entities, released when all sections have been decoded
+    private Source source;
+    private volatile int decodedSections = ALL_SECTIONS;
+
+    protected Entity() {
+    }
+
+    /**
+     * Returns the href of the first link with the given {@code rel} or {@code null}.
+     */
+    public URI getLink(final String rel) {
+        final List<Link> links = getLinks(rel);
+        return links.isEmpty() ? null : links.get(0).getHref();
+    }
+
+    /**
+     * Returns all links with the given {@code rel}, in the order of the entity, or an empty list.
+     */
+    public List<Link> getLinks(final String rel) {
+        decode(LINKS);
+        return linksByRel.getOrDefault(rel, emptyList());
+    }
+
+    /**
+     * Returns the first action with the given {@code name} or {@code null}.
+     */
+    public Action getAction(final String name) {
+        decode(ACTIONS);
+        return actionsByName.get(name);
+    }
+
+    public List<SubEntity> getEntities() {
+        decode(ENTITIES);
+        return entities;
+    }
+
+    public List<Action> getActions() {
+        decode(ACTIONS);
+        return actions;
+    }
+
+    public List<Link> getLinks() {
+        decode(LINKS);
+        return links;
+    }
+
+    /**
+     * Returns the properties of the entity. The values are either {@link String}s, {@link Boolean}s, {@link Long}s or {@link Double}s.
+     * Nested objects and arrays are contained as {@code null} values, they are accessible via {@link #getJsonObject(String)}
+     * and {@link #getJsonArray(String)}.
+     */
+    public Map<String, Serializable> getProperties() {
+        decode(PROPERTIES);
+        return properties.asMap();
+    }
+
+    /**
+     * Returns the integral number property with the given {@code name}.
+     *
+     * @throws RuntimeException If the entity contains no such property.
+     */
+    public long getLong(final String name) {
+        decode(PROPERTIES);
+        final int index = properties.indexOf(name);
+        if (properties.kind(index) != PropertyStore.LONG)
+            throw new RuntimeException("Could not find integral number property " + name + " in entity");
+        return properties.longValue(index);
+    }
+
+    /**
+     * Returns the integral number property with the given {@code name} or the {@code defaultValue}.
+     */
+    public long getLong(final String name, final long defaultValue) {
+        decode(PROPERTIES);
+        final int index = properties.indexOf(name);
+        return properties.kind(index) == PropertyStore.LONG ? properties.longValue(index) : defaultValue;
+    }
+
+    /**
+     * Returns the number property with the given {@code name}.
+     *
+     * @throws RuntimeException If the entity contains no such property.
+     */
+    public double getDouble(final String name) {
+        decode(PROPERTIES);
+        final int index = properties.indexOf(name);
+        if (!isNumber(properties.kind(index)))
+            throw new RuntimeException("Could not find number property " + name + " in entity");
+        return properties.doubleValue(index);
+    }
+
+    /**
+     * Returns the number property with the given {@code name} or the {@code defaultValue}.
+     */
+    public double getDouble(final String name, final double defaultValue) {
+        decode(PROPERTIES);
+        final int index = properties.indexOf(name);
+        return isNumber(properties.kind(index)) ? properties.doubleValue(index) : defaultValue;
+    }
+
+    private static boolean isNumber(final byte kind) {
+        return kind == PropertyStore.LONG || kind == PropertyStore.DOUBLE;
+    }
+
+    /**
+     * Returns the boolean property with the given {@code name}.
+     *
+     * @throws RuntimeException If the entity contains no such property.
+     */
+    public boolean getBoolean(final String name) {
+        decode(PROPERTIES);
+        final int index = properties.indexOf(name);
+        if (properties.kind(index) != PropertyStore.BOOLEAN)
+            throw new RuntimeException("Could not find boolean property " + name + " in entity");
+        return properties.booleanValue(index);
+    }
+
+    /**
+     * Returns the boolean property with the given {@code name} or the {@code defaultValue}.
+     */
+    public boolean getBoolean(final String name, final boolean defaultValue) {
+        decode(PROPERTIES);
+        final int index = properties.indexOf(name);
+        return properties.kind(index) == PropertyStore.BOOLEAN ? properties.booleanValue(index) : defaultValue;
+    }
+
+    /**
+     * Returns whether the entity contains an integral number property with the given {@code name}.
+     */
+    public boolean hasLong(final String name) {
+        decode(PROPERTIES);
+        return properties.kind(properties.indexOf(name)) == PropertyStore.LONG;
+    }
+
+    /**
+     * Returns whether the entity contains a number property with the given {@code name}.
+     */
+    public boolean hasNumber(final String name) {
+        decode(PROPERTIES);
+        return isNumber(properties.kind(properties.indexOf(name)));
+    }
+
+    /**
+     * Returns whether the entity contains a boolean property with the given {@code name}.
+     */
+    public boolean hasBoolean(final String name) {
+        decode(PROPERTIES);
+        return properties.kind(properties.indexOf(name)) == PropertyStore.BOOLEAN;
+    }
+
+    /**
+     * Returns the string property with the given {@code name} or {@code null}.
+     */
+    public String getString(final String name) {
+        decode(PROPERTIES);
+        final int index = properties.indexOf(name);
+        return properties.kind(index) == PropertyStore.STRING ? properties.stringValue(index) : null;
+    }
+
+    /**
+     * Returns the nested object property with the given {@code name} or {@code null}.
+     * The returned object is an immutable view of the read JSON, which is not copied.
+     */
+    public JsonObject getJsonObject(final String name) {
+        final JsonValue value = getNestedValue(name);
+        return value instanceof JsonObject ? (JsonObject) value : null;
+    }
+
+    /**
+     * Returns the nested array property with the given {@code name} or {@code null}.
+     * The returned array is an immutable view of the read JSON, which is not copied.
+     */
+    public JsonArray getJsonArray(final String name) {
+        final JsonValue value = getNestedValue(name);
+        return value instanceof JsonArray ? (JsonArray) value : null;
+    }
+
+    private JsonValue getNestedValue(final String name) {
+        decode(PROPERTIES);
+        final int index = properties.indexOf(name);
+        return properties.kind(index) == PropertyStore.JSON ? properties.jsonValue(index) : null;
+    }
+
+    /**
+     * Binds the properties and links of this entity to a new instance of the {@code type}, declared by {@link SirenProperty}
+     * and {@link SirenLink} on fields or getters with corresponding setters.
+     * The constructor and setters of each type are bound once and cached.
+     * Properties which are missing, of unexpected types, out of the range of {@code int} properties or unknown enum constants are not set.
+     * Decimal numbers are read as {@code double}s, i.e. {@link java.math.BigDecimal} properties contain at most 17 significant digits.
+     *
+     * @throws IllegalArgumentException If the binding of the type is invalid.
+     */
+    public <T> T bind(final Class<T> type) {
+        return type.cast(PojoBinding.of(type).bind(this));
+    }
+
+    /**
+     * Returns the decoded properties including nested values.
+     */
+    PropertyStore properties() {
+        decode(PROPERTIES);
+        return properties;
+    }
+
+    /**
+     * Decodes the given section of a lazily read entity, at most once.
+     */
+    private void decode(final int section) {
+        if ((decodedSections & section) != 0)
+            return;
+
+        synchronized (this) {
+            final int decoded = decodedSections;
+            if ((decoded & section) != 0)
+                return;
+
+            // decoded completely before assigned, a failed decoding is repeated on next access
+            if (source != null) {
+                switch (section) {
+                    case PROPERTIES:
+                        final PropertyStore.Builder decodedProperties = new PropertyStore.Builder();
+                        source.readProperties(decodedProperties);
+                        properties = decodedProperties.build();
+                        break;
+                    case ENTITIES:
+                        final List<SubEntity> decodedEntities = new ArrayList<>();
+                        source.readEntities(decodedEntities::add);
+                        entities = compactList(decodedEntities);
+                        break;
+                    case LINKS:
+                        final List<Link> decodedLinks = new ArrayList<>();
+                        source.readLinks(decodedLinks::add);
+                        links = compactList(decodedLinks);
+                        index(LINKS);
+                        break;
+                    case ACTIONS:
+                        final List<Action> decodedActions = new ArrayList<>();
+                        source.readActions(decodedActions::add);
+                        actions = compactList(decodedActions);
+                        index(ACTIONS);
+                        break;
+                }
+            }
+
+            if ((decoded | section) == ALL_SECTIONS)
+                source = null;
+            // the volatile write publishes the decoded contents
+            decodedSections = decoded | section;
+        }
+    }
+
+    /**
+     * Indexes the links by rel or the actions by name, respectively.
+     */
+    private void index(final int section) {
+        if (section == LINKS && !links.isEmpty()) {
+            final Map<String, List<Link>> index = new HashMap<>();
+            for (final Link link : links) {
+                for (final String rel : link.getRels())
+                    index.computeIfAbsent(rel, r -> new ArrayList<>(1)).add(link);
+            }
+            index.replaceAll((rel, matches) -> compactList(matches));
+            linksByRel = compactMap(index);
+        } else if (section == ACTIONS && !actions.isEmpty()) {
+            final Map<String, Action> index = new HashMap<>();
+            for (final Action action : actions)
+                index.putIfAbsent(action.getName(), action);
+            actionsByName = compactMap(index);
+        }
+    }
+
+    @Override
+    void compact() {
+        super.compact();
+        entities = compactList(entities);
+        actions = compactList(actions);
+        links = compactList(links);
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        if (!super.equals(o)) return false;
+
+        final Entity entity = (Entity) o;
+
+        if (!getEntities().equals(entity.getEntities())) return false;
+        if (!getActions().equals(entity.getActions())) return false;
+        if (!getLinks().equals(entity.getLinks())) return false;
+        return properties().equals(entity.properties());
+    }
+
+    @Override
+    public int hashCode() {
+        int result = super.hashCode();
+        result = 31 * result + getEntities().hashCode();
+        result = 31 * result + getActions().hashCode();
+        result = 31 * result + getLinks().hashCode();
+        result = 31 * result + properties().hashCode();
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "Entity{" +
+                "entities=" + getEntities() +
+                ", actions=" + getActions() +
+                ", links=" + getLinks() +
+                ", properties=" + properties() +
+                ", classes=" + getClasses() +
+                ", title=" + getTitle() +
+                '}';
+    }
+
+    /**
+     * Source of a lazily read entity.
+     * Every section is decoded at most once, synchronized by the entity.
+     */
+    interface Source {
+
+        void readProperties(PropertyStore.Builder builder);
+
+        void readEntities(Consumer<SubEntity> consumer);
+
+        void readLinks(Consumer<Link> consumer);
+
+        void readActions(Consumer<Action> consumer);
+
+    }
+
+    /**
+     * Creates new {@link Entity}s.
+     * Only used by {@link EntityReader}.
+     */
+    static <T extends Builder<T>> Builder<T> newBuilder() {
+        return new Builder<>();
+    }
+
+    /**
+     * Builder pattern to create new {@link Entity}s.
+     * Only used by {@link EntityReader}.
+     */
+    static class Builder<T extends Builder<T>> extends SirenObject.Builder<Entity, T> {
+
+        private Entity entity;
+        private PropertyStore.Builder properties;
+
+        @Override
+        protected Entity object() {
+            // initialize lazily
+            if (entity == null)
+                entity = new Entity();
+            return entity;
+        }
+
+        T addEntity(final SubEntity entity) {
+            object().entities = add(object().entities, entity);
+            return (T) this;
+        }
+
+        T addAction(final Action action) {
+            object().actions = add(object().actions, action);
+            return (T) this;
+        }
+
+        T addLink(final Link link) {
+            object().links = add(object().links, link);
+            return (T) this;
+        }
+
+        T addProperty(final String key, final Serializable value) {
+            if (properties == null)
+                properties = new PropertyStore.Builder();
+            properties.add(key, value);
+            return (T) this;
+        }
+
+        @SuppressWarnings("unchecked")
+        T setProperties(final PropertyStore properties) {
+            this.properties = null;
+            object().properties = properties;
+            return (T) this;
+        }
+
+        /**
+         * Sets the source from which the properties, sub entities, links and actions are decoded on first access.
+         */
+        @SuppressWarnings("unchecked")
+        T setSource(final Source source) {
+            final Entity entity = object();
+            entity.source = source;
+            entity.decodedSections = 0;
+            return (T) this;
+        }
+
+        protected Entity build() {
+            final Entity entity = object();
+            if (properties != null)
+                entity.properties = properties.build();
+            entity.compact();
+            // lazily read sections are indexed when decoded
+            if ((entity.decodedSections & LINKS) != 0)
+                entity.index(LINKS);
+            if ((entity.decodedSections & ACTIONS) != 0)
+                entity.index(ACTIONS);
+            return entity;
+        }
+
+    }
+
+}
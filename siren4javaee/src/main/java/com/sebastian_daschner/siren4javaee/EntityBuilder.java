@@ -0,0 +1,358 @@
+/*
+ * Copyright (C) 2016 Sebastian Daschner, sebastian-daschner.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sebastian_daschner.siren4javaee;
+
+import javax.json.JsonObject;
+import javax.json.JsonObjectBuilder;
+import javax.json.stream.JsonGenerator;
+import javax.ws.rs.core.Link;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.StreamingOutput;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Builder pattern functionality to programmatically create Siren response entities.
+ * The {@link EntityBuilder} is be created by calling {@link Siren#createEntityBuilder()},
+ * modified by the available methods in this class and finally built to a {@link JsonObject} by calling {@link #build}
+ * or written to a {@link JsonGenerator} by calling {@link #writeTo(JsonGenerator)}.
+ * <p>
+ * Added builders are copied on add, later changes to them don't affect this entity.
+ * Lazily added sub entities are only evaluated while the entity is built or written.
+ *
+ * @author Sebastian Daschner
+ */
+public class EntityBuilder implements SirenWritable {
+
+    private List<String> classes;
+    private Map<String, Object> properties;
+    private List<SirenWritable> links;
+    private List<String> rels;
+    private List<SirenWritableSource> subEntities;
+    private List<SirenWritable> actions;
+
+    private String title;
+    private String type;
+    private String href;
+
+    private final SirenFactory factory;
+
+    EntityBuilder(final SirenFactory factory) {
+        // prevent other instances than Siren factory methods
+        this.factory = factory;
+    }
+
+    /**
+     * Returns a shallow copy of the current state, the contained links, actions and sub entities are not modified after being added.
+     */
+    EntityBuilder copy() {
+        final EntityBuilder copy = new EntityBuilder(factory);
+        copy.classes = classes == null ? null : new ArrayList<>(classes);
+        copy.properties = properties == null ? null : new LinkedHashMap<>(properties);
+        copy.links = links == null ? null : new ArrayList<>(links);
+        copy.rels = rels == null ? null : new ArrayList<>(rels);
+        copy.subEntities = subEntities == null ? null : new ArrayList<>(subEntities);
+        copy.actions = actions == null ? null : new ArrayList<>(actions);
+        copy.title = title;
+        copy.type = type;
+        copy.href = href;
+        return copy;
+    }
+
+    public EntityBuilder addClass(final String entityClass) {
+        if (classes == null)
+            classes = new ArrayList<>();
+        classes.add(entityClass);
+        return this;
+    }
+
+    public EntityBuilder addProperty(final String name, BigDecimal value) {
+        return addPropertyValue(name, value);
+    }
+
+    public EntityBuilder addProperty(final String name, final BigInteger value) {
+        return addPropertyValue(name, value);
+    }
+
+    public EntityBuilder addProperty(final String name, final int value) {
+        return addPropertyValue(name, value);
+    }
+
+    public EntityBuilder addProperty(final String name, final long value) {
+        return addPropertyValue(name, value);
+    }
+
+    public EntityBuilder addProperty(final String name, final boolean value) {
+        return addPropertyValue(name, value);
+    }
+
+    public EntityBuilder addProperty(final String name, final double value) {
+        return addPropertyValue(name, value);
+    }
+
+    public EntityBuilder addProperty(final String name, final String value) {
+        return addPropertyValue(name, value);
+    }
+
+    private EntityBuilder addPropertyValue(final String name, final Object value) {
+        Objects.requireNonNull(name);
+        Objects.requireNonNull(value);
+        if (properties == null)
+            properties = new LinkedHashMap<>();
+        properties.put(name, value);
+        return this;
+    }
+
+    public EntityBuilder addEntity(final EntityBuilder subBuilder) {
+        return addSubEntity(subBuilder.copy());
+    }
+
+    /**
+     * Adds a sub entity rendered from an {@link EntityTemplate}.
+     */
+    public EntityBuilder addEntity(final EntityTemplate.Renderer subEntity) {
+        return addSubEntity(subEntity);
+    }
+
+    public EntityBuilder addEntity(final JsonObject subEntity) {
+        return addSubEntity(SirenWritable.of(subEntity));
+    }
+
+    /**
+     * Adds a sub entity for every item of the {@code items} stream, created by the {@code mapper}, in the order of the stream.
+     * The stream is evaluated lazily, the items are only pulled and mapped one after another while the entity is built or written,
+     * e.g. via {@link #toStreamingOutput()}. The stream is closed afterwards and therefore the entity can only be built or written once.
+     */
+    public <T> EntityBuilder addEntities(final Stream<T> items, final Function<T, EntityBuilder> mapper) {
+        return addSubEntity(new LazySubEntities<>(items.iterator(), items, mapper));
+    }
+
+    /**
+     * Adds a sub entity for every item of the {@code items} iterator, created by the {@code mapper}, e.g. for database cursors.
+     * The iterator is evaluated lazily, the items are only pulled and mapped one after another while the entity is built or written,
+     * e.g. via {@link #toStreamingOutput()}. If the iterator is {@link AutoCloseable} it is closed afterwards.
+     * The entity can only be built or written once.
+     */
+    public <T> EntityBuilder addEntities(final Iterator<T> items, final Function<T, EntityBuilder> mapper) {
+        return addSubEntity(new LazySubEntities<>(items, items instanceof AutoCloseable ? (AutoCloseable) items : null, mapper));
+    }
+
+    /**
+     * Adds a sub entity for every item of the {@code items} stream, created by the {@code mapper}, in the order of the stream.
+     * The stream is evaluated lazily like in {@link #addEntities(Stream, Function)}, the sub entities are created and built
+     * in chunks on the {@code pool}, e.g. for large collections, and joined in order.
+     * Only a few chunks per thread are built ahead, when written via {@link #toStreamingOutput()} each chunk is written
+     * as soon as it and all previous chunks are built.
+     * The {@code mapper} therefore has to be thread-safe. The stream is closed afterwards and the entity can only be built or written once.
+     */
+    public <T> EntityBuilder addEntities(final Stream<T> items, final Function<T, EntityBuilder> mapper, final ForkJoinPool pool) {
+        return addSubEntity(new LazySubEntities<>(items.iterator(), items, mapper, pool));
+    }
+
+    private EntityBuilder addSubEntity(final SirenWritableSource subEntity) {
+        if (subEntities == null)
+            subEntities = new ArrayList<>();
+        subEntities.add(subEntity);
+        return this;
+    }
+
+    public EntityBuilder addLink(final LinkBuilder builder) {
+        return addLinkObject(builder.freeze());
+    }
+
+    /**
+     * Adds a link that has been frozen by {@link LinkBuilder#freeze()}.
+     */
+    public EntityBuilder addLink(final SirenFragment link) {
+        return addLinkObject(link);
+    }
+
+    public EntityBuilder addLink(final JsonObject link) {
+        return addLinkObject(SirenWritable.of(link));
+    }
+
+    public EntityBuilder addLink(final URI uri, final String rel) {
+        return addLinkObject(factory.createLinkBuilder().addRel(rel).setHref(uri));
+    }
+
+    public EntityBuilder addLink(final URI uri, final String... rel) {
+        final LinkBuilder linkBuilder = factory.createLinkBuilder().setHref(uri);
+        for (final String r : rel)
+            linkBuilder.addRel(r);
+        return addLinkObject(linkBuilder);
+    }
+
+    /**
+     * Adds a link with the {@code template} expanded with the {@code values}, see {@link UriTemplate#expand(Object...)}.
+     */
+    public EntityBuilder addLink(final UriTemplate template, final String rel, final Object... values) {
+        return addLinkObject(factory.createLinkBuilder().addRel(rel).setHref(template, values));
+    }
+
+    public EntityBuilder addLink(final Link link) {
+        final LinkBuilder linkBuilder = factory.createLinkBuilder().setHref(link.getUri());
+        link.getRels().forEach(linkBuilder::addRel);
+        return addLinkObject(linkBuilder);
+    }
+
+    private EntityBuilder addLinkObject(final SirenWritable link) {
+        if (links == null)
+            links = new ArrayList<>();
+        links.add(link);
+        return this;
+    }
+
+    public EntityBuilder addAction(final ActionBuilder builder) {
+        return addActionObject(builder.freeze());
+    }
+
+    /**
+     * Adds an action that has been frozen by {@link ActionBuilder#freeze()}.
+     */
+    public EntityBuilder addAction(final SirenFragment action) {
+        return addActionObject(action);
+    }
+
+    public EntityBuilder addAction(final JsonObject action) {
+        return addActionObject(SirenWritable.of(action));
+    }
+
+    private EntityBuilder addActionObject(final SirenWritable action) {
+        if (actions == null)
+            actions = new ArrayList<>();
+        actions.add(action);
+        return this;
+    }
+
+    public EntityBuilder setTitle(final String title) {
+        this.title = title;
+        return this;
+    }
+
+    public EntityBuilder addSubEntityRel(final String rel) {
+        if (rels == null)
+            rels = new ArrayList<>();
+        rels.add(rel);
+        return this;
+    }
+
+    public EntityBuilder setSubEntityType(final String type) {
+        this.type = type;
+        return this;
+    }
+
+    public EntityBuilder setSubEntityType(final MediaType type) {
+        this.type = type.toString();
+        return this;
+    }
+
+    public EntityBuilder setSubEntityHref(final URI href) {
+        this.href = href == null ? null : href.toString();
+        return this;
+    }
+
+    /**
+     * Sets the sub entity href to the {@code template} expanded with the {@code values}, see {@link UriTemplate#expand(Object...)}.
+     */
+    public EntityBuilder setSubEntityHref(final UriTemplate template, final Object... values) {
+        this.href = template.expand(values);
+        return this;
+    }
+
+    /**
+     * Returns a {@link StreamingOutput} which writes this entity to the response, e.g. to return lazily evaluated collections from JAX-RS resources.
+     * Lazy sub entity sources are only pulled while the response is written.
+     */
+    public StreamingOutput toStreamingOutput() {
+        return output -> {
+            final JsonGenerator generator = factory.generatorFactory().createGenerator(output);
+            writeTo(generator);
+            // the output stream is closed by the JAX-RS runtime
+            generator.flush();
+        };
+    }
+
+    @Override
+    public JsonObject build() {
+        final JsonObjectBuilder objectBuilder = factory.builderFactory().createObjectBuilder();
+
+        if (classes != null)
+            objectBuilder.add("class", SirenJson.buildStrings(factory.builderFactory(), classes));
+
+        if (title != null)
+            objectBuilder.add("title", title);
+        if (rels != null)
+            objectBuilder.add("rel", SirenJson.buildStrings(factory.builderFactory(), rels));
+        if (type != null)
+            objectBuilder.add("type", type);
+        if (href != null)
+            objectBuilder.add("href", href);
+
+        if (properties != null)
+            objectBuilder.add("properties", SirenJson.buildProperties(factory.builderFactory(), properties));
+        if (subEntities != null)
+            objectBuilder.add("entities", SirenJson.buildObjects(factory.builderFactory(), subEntities));
+        if (links != null)
+            objectBuilder.add("links", SirenJson.buildObjects(factory.builderFactory(), links));
+        if (actions != null)
+            objectBuilder.add("actions", SirenJson.buildObjects(factory.builderFactory(), actions));
+
+        return objectBuilder.build();
+    }
+
+    /**
+     * Writes the entity directly to the {@code generator}, without building intermediate JSONP objects.
+     * The entity is written as the next value in the current context of the generator, e.g. as root value or array element.
+     */
+    @Override
+    public void writeTo(final JsonGenerator generator) {
+        generator.writeStartObject();
+
+        if (classes != null)
+            SirenJson.writeStrings(generator, "class", classes);
+
+        if (title != null)
+            generator.write("title", title);
+        if (rels != null)
+            SirenJson.writeStrings(generator, "rel", rels);
+        if (type != null)
+            generator.write("type", type);
+        if (href != null)
+            generator.write("href", href);
+
+        if (properties != null)
+            SirenJson.writeProperties(generator, properties);
+        if (subEntities != null)
+            SirenJson.writeObjects(generator, "entities", subEntities);
+        if (links != null)
+            SirenJson.writeObjects(generator, "links", links);
+        if (actions != null)
+            SirenJson.writeObjects(generator, "actions", actions);
+
+        generator.writeEnd();
+    }
+
+}
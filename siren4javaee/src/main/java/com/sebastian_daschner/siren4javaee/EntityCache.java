@@ -0,0 +1,270 @@
+/*
+ * Copyright (C) 2016 Sebastian Daschner, sebastian-daschner.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sebastian_daschner.siren4javaee;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+/**
+ * An in-memory cache of retrieved entities for {@link SirenClient}s, which follows HTTP caching semantics.
+ * Entities are cached per URI as long as they are fresh according to {@code Cache-Control: max-age} or {@code Expires}.
+ * Stale entities are revalidated with {@code If-None-Match} or {@code If-Modified-Since};
+ * on {@code 304 Not Modified} the cached entity is returned without transferring and reading the response again.
+ * Responses with {@code no-store} are not cached, responses with {@code no-cache} are always revalidated.
+ * The cache is bounded, the least recently used entries are evicted first.
+ * <p>
+ * Persistent caches additionally store the entities with validators in an append-only file, which is reloaded on creation.
+ * The reloaded entities are stale, the first requests after a restart therefore are conditional requests.
+ * Persistent caches have to be closed.
+ * <p>
+ * Instances are thread-safe and can be shared by several clients.
+ * <b>Example:</b>
+ * <pre>
+ * EntityCache cache = EntityCache.withMaximumSize(1000);
+ * SirenClient client = Siren.createClient(ClientBuilder.newClient(), cache);
+ * </pre>
+ *
+ * @author Sebastian Daschner
+ */
+public class EntityCache implements Closeable {
+
+    /**
+     * The file is compacted when it contains this many times more records than live entries.
+     */
+    private static final int COMPACTION_FACTOR = 4;
+    private static final int MIN_COMPACTION_RECORDS = 64;
+
+    private final int maximumSize;
+    private final LongSupplier clock;
+    private final Map<String, CacheEntry> entries;
+    private final EntityCacheFile file;
+    /**
+     * Guards the file and orders its records like the modifications of the entries.
+     * It's acquired before the lock of the entries, which is only held for the map operations,
+     * so that lookups don't wait for file writes or compactions.
+     */
+    private final Object fileLock = new Object();
+
+    EntityCache(final int maximumSize, final LongSupplier clock) {
+        this(maximumSize, clock, null);
+    }
+
+    EntityCache(final int maximumSize, final LongSupplier clock, final EntityCacheFile file) {
+        // prevent other instances than factory methods
+        if (maximumSize <= 0)
+            throw new IllegalArgumentException("The maximum size must be positive");
+        this.maximumSize = maximumSize;
+        this.clock = clock;
+        this.file = file;
+        entries = new LruMap(maximumSize);
+
+        if (file != null) {
+            try {
+                entries.putAll(file.open());
+            } catch (IOException e) {
+                throw new RuntimeException("Could not open entity cache file", e);
+            }
+        }
+    }
+
+    /**
+     * Creates a cache which holds at most {@code maximumSize} entities.
+     */
+    public static EntityCache withMaximumSize(final int maximumSize) {
+        return new EntityCache(maximumSize, System::currentTimeMillis);
+    }
+
+    /**
+     * Creates a cache which holds at most {@code maximumSize} entities and persists them in the {@code file}.
+     * Previously persisted entities are loaded as stale entities.
+     *
+     * @throws RuntimeException If the file could not be opened.
+     */
+    public static EntityCache persistent(final int maximumSize, final Path file) {
+        return new EntityCache(maximumSize, System::currentTimeMillis, new EntityCacheFile(file, Siren.defaultFactory()));
+    }
+
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * Returns the number of cached entities, including stale ones.
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Removes the cached entity of the {@code uri}, e.g. after performing an action which modifies it.
+     */
+    public void invalidate(final URI uri) {
+        remove(uri.toString());
+    }
+
+    public void clear() {
+        synchronized (fileLock) {
+            synchronized (this) {
+                entries.clear();
+            }
+            compact();
+        }
+    }
+
+    /**
+     * Closes the file of a persistent cache, after compacting it. The cache must not be used afterwards.
+     */
+    @Override
+    public void close() {
+        if (file == null)
+            return;
+        synchronized (fileLock) {
+            compact();
+            try {
+                file.close();
+            } catch (IOException e) {
+                throw new RuntimeException("Could not close entity cache file", e);
+            }
+        }
+    }
+
+    synchronized CacheEntry get(final String key) {
+        return entries.get(key);
+    }
+
+    void put(final String key, final CacheEntry entry) {
+        if (file == null) {
+            synchronized (this) {
+                entries.put(key, entry);
+            }
+            return;
+        }
+
+        synchronized (fileLock) {
+            final CacheEntry previous;
+            synchronized (this) {
+                previous = entries.put(key, entry);
+            }
+            if (!isModified(previous, entry))
+                return;
+
+            try {
+                if (entry.hasValidators())
+                    file.append(key, entry);
+                else if (previous != null && previous.hasValidators())
+                    file.appendRemoval(key);
+            } catch (IOException e) {
+                throw new RuntimeException("Could not write entity cache file", e);
+            }
+            compactIfNeeded();
+        }
+    }
+
+    void remove(final String key) {
+        if (file == null) {
+            synchronized (this) {
+                entries.remove(key);
+            }
+            return;
+        }
+
+        synchronized (fileLock) {
+            final CacheEntry previous;
+            synchronized (this) {
+                previous = entries.remove(key);
+            }
+            if (previous == null || !previous.hasValidators())
+                return;
+
+            try {
+                file.appendRemoval(key);
+            } catch (IOException e) {
+                throw new RuntimeException("Could not write entity cache file", e);
+            }
+            compactIfNeeded();
+        }
+    }
+
+    long now() {
+        return clock.getAsLong();
+    }
+
+    /**
+     * Only entities or validators which changed are persisted, not renewed freshness.
+     */
+    private static boolean isModified(final CacheEntry previous, final CacheEntry entry) {
+        return previous == null || previous.getEntity() != entry.getEntity()
+                || !Objects.equals(previous.getEtag(), entry.getEtag())
+                || !Objects.equals(previous.getLastModified(), entry.getLastModified());
+    }
+
+    /**
+     * Has to be called while holding the file lock.
+     */
+    private void compactIfNeeded() {
+        if (file.getRecords() > COMPACTION_FACTOR * Math.max(size(), MIN_COMPACTION_RECORDS))
+            compact();
+    }
+
+    /**
+     * Writes a snapshot of the entries, which is taken while holding the lock of the entries.
+     * Has to be called while holding the file lock.
+     */
+    private void compact() {
+        if (file == null)
+            return;
+        final Map<String, CacheEntry> snapshot;
+        synchronized (this) {
+            snapshot = entries.entrySet().stream()
+                    .filter(e -> e.getValue().hasValidators())
+                    .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, (a, b) -> b, LinkedHashMap::new));
+        }
+        try {
+            file.compact(snapshot);
+        } catch (IOException e) {
+            throw new RuntimeException("Could not compact entity cache file", e);
+        }
+    }
+
+    /**
+     * Map in access order, which evicts the least recently used entry when the maximum size is exceeded.
+     */
+    private static class LruMap extends LinkedHashMap<String, CacheEntry> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int maximumSize;
+
+        private LruMap(final int maximumSize) {
+            super(16, 0.75f, true);
+            this.maximumSize = maximumSize;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<String, CacheEntry> eldest) {
+            return size() > maximumSize;
+        }
+
+    }
+
+}
@@ -0,0 +1,242 @@
+/*
+ * Copyright (C) 2016 Sebastian Daschner, sebastian-daschner.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sebastian_daschner.siren4javaee;
+
+import javax.json.stream.JsonGenerator;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * The append-only file of a persistent {@link EntityCache}.
+ * Every stored entity or removal is appended as a checksummed record, the latest record of a URI wins.
+ * Incomplete or corrupt records at the end, e.g. after a crash, are discarded when the file is opened.
+ * The file is compacted by rewriting the live entries to a new file, which atomically replaces the old one.
+ * Instances are not thread-safe, they are guarded by the cache.
+ *
+ * @author Sebastian Daschner
+ */
+final class EntityCacheFile implements Closeable {
+
+    // the last two bytes are the format version
+    private static final int MAGIC = 0x5343_0003;
+    private static final byte PUT = 1;
+    private static final byte REMOVE = 2;
+
+    private final Path path;
+    private final SirenFactory factory;
+    private final EntityReader entityReader;
+    private FileChannel channel;
+    private int records;
+
+    EntityCacheFile(final Path path, final SirenFactory factory) {
+        this.path = path;
+        this.factory = factory;
+        entityReader = factory.createEntityReader();
+    }
+
+    /**
+     * Opens the file and returns the latest entries of all URIs, in the order of their last modification.
+     * The entries are loaded as stale, in order to be revalidated before they are used.
+     * New or empty files are initialized, other files are left untouched unless they are entity cache files.
+     *
+     * @throws IOException If the file is not an entity cache file, e.g. of another format version.
+     */
+    Map<String, CacheEntry> open() throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        final Map<String, CacheEntry> entries = new LinkedHashMap<>();
+        if (channel.size() == 0) {
+            channel.write(ByteBuffer.allocate(Integer.BYTES).putInt(0, MAGIC), 0);
+            channel.position(Integer.BYTES);
+            return entries;
+        }
+        if (channel.size() < Integer.BYTES || !readMagic()) {
+            channel.close();
+            throw new IOException("Could not open " + path + ", not an entity cache file");
+        }
+
+        long position = Integer.BYTES;
+        byte[] record;
+        while ((record = readRecord(position)) != null) {
+            try {
+                readEntry(record, entries);
+            } catch (RuntimeException e) {
+                // skip entities which can't be read anymore
+            }
+            position += Integer.BYTES + record.length + Long.BYTES;
+            records++;
+        }
+
+        // discard incomplete or corrupt records at the end
+        channel.truncate(position);
+        channel.position(position);
+        return entries;
+    }
+
+    int getRecords() {
+        return records;
+    }
+
+    void append(final String key, final CacheEntry entry) throws IOException {
+        write(channel, entryRecord(key, entry));
+        records++;
+    }
+
+    void appendRemoval(final String key) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final DataOutputStream output = new DataOutputStream(bytes);
+        output.writeByte(REMOVE);
+        writeString(output, key);
+        write(channel, bytes.toByteArray());
+        records++;
+    }
+
+    /**
+     * Replaces the file with a new one that only contains the given entries.
+     */
+    void compact(final Map<String, CacheEntry> entries) throws IOException {
+        final Path compacted = path.resolveSibling(path.getFileName() + ".compact");
+        int compactedRecords = 0;
+        try (FileChannel target = FileChannel.open(compacted, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            target.write(ByteBuffer.allocate(Integer.BYTES).putInt(0, MAGIC));
+            for (final Map.Entry<String, CacheEntry> entry : entries.entrySet()) {
+                write(target, entryRecord(entry.getKey(), entry.getValue()));
+                compactedRecords++;
+            }
+            target.force(true);
+        }
+
+        channel.close();
+        Files.move(compacted, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        channel.position(channel.size());
+        records = compactedRecords;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (channel != null)
+            channel.close();
+    }
+
+    private boolean readMagic() throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES);
+        channel.read(buffer, 0);
+        return buffer.getInt(0) == MAGIC;
+    }
+
+    /**
+     * Returns the record at the {@code position} or {@code null} if there is no complete and valid record.
+     */
+    private byte[] readRecord(final long position) throws IOException {
+        final ByteBuffer length = ByteBuffer.allocate(Integer.BYTES);
+        if (channel.read(length, position) < Integer.BYTES)
+            return null;
+
+        final int size = length.getInt(0);
+        if (size <= 0 || position + Integer.BYTES + size + Long.BYTES > channel.size())
+            return null;
+
+        final ByteBuffer record = ByteBuffer.allocate(size + Long.BYTES);
+        channel.read(record, position + Integer.BYTES);
+        final byte[] bytes = new byte[size];
+        record.position(0);
+        record.get(bytes);
+
+        return record.getLong(size) == checksum(bytes) ? bytes : null;
+    }
+
+    private void readEntry(final byte[] record, final Map<String, CacheEntry> entries) throws IOException {
+        final DataInputStream input = new DataInputStream(new ByteArrayInputStream(record));
+        final byte type = input.readByte();
+        final String key = readString(input);
+        entries.remove(key);
+        if (type == REMOVE)
+            return;
+
+        final String etag = input.readBoolean() ? readString(input) : null;
+        final String lastModified = input.readBoolean() ? readString(input) : null;
+        final long lifetime = input.readLong();
+        final Entity entity = entityReader.read(input);
+        entries.put(key, new CacheEntry(entity, etag, lastModified, lifetime, 0L));
+    }
+
+    private byte[] entryRecord(final String key, final CacheEntry entry) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream(1024);
+        final DataOutputStream output = new DataOutputStream(bytes);
+        output.writeByte(PUT);
+        writeString(output, key);
+        writeOptional(output, entry.getEtag());
+        writeOptional(output, entry.getLastModified());
+        output.writeLong(entry.getLifetime());
+        output.flush();
+
+        try (JsonGenerator generator = factory.generatorFactory().createGenerator(bytes)) {
+            EntitySerializer.writeEntity(generator, entry.getEntity());
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void writeOptional(final DataOutputStream output, final String value) throws IOException {
+        output.writeBoolean(value != null);
+        if (value != null)
+            writeString(output, value);
+    }
+
+    /**
+     * Writes the length-prefixed UTF-8 bytes, unlike {@link DataOutputStream#writeUTF(String)} not limited to 64 KB.
+     */
+    private static void writeString(final DataOutputStream output, final String value) throws IOException {
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    private static String readString(final DataInputStream input) throws IOException {
+        final byte[] bytes = new byte[input.readInt()];
+        input.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void write(final FileChannel channel, final byte[] record) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES + record.length + Long.BYTES);
+        buffer.putInt(record.length).put(record).putLong(checksum(record));
+        buffer.flip();
+        while (buffer.hasRemaining())
+            channel.write(buffer);
+    }
+
+    private static long checksum(final byte[] bytes) {
+        final CRC32 crc = new CRC32();
+        crc.update(bytes, 0, bytes.length);
+        return crc.getValue();
+    }
+
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (C) 2016 Sebastian Daschner, sebastian-daschner.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sebastian_daschner.siren4javaee;
+
+/**
+ * Maps POJOs which are annotated with {@link SirenEntity}, {@link SirenProperty} and {@link SirenLink} to Siren entities.
+ * The mapping of each class is created once, with all accessors bound, and shared by all mappers.
+ * Public getters of public classes are bound as fast as hand-written lambdas, while annotated fields and non-public methods
+ * are accessed via slower method handles.
+ * The {@link EntityMapper} is created by calling {@link Siren#createEntityMapper()}.
+ * Instances are thread-safe.
+ * <b>Example:</b>
+ * <pre>
+ * {@literal @}SirenEntity(classes = "book")
+ * public class Book {
+ *     private String name;
+ *     private URI uri;
+ *
+ *     {@literal @}SirenProperty
+ *     public String getName() { ... }
+ *
+ *     {@literal @}SirenLink(rel = "self")
+ *     public URI getUri() { ... }
+ *     ...
+ * }
+ *
+ * EntityBuilder entity = Siren.createEntityMapper().map(book)
+ *     .addAction(...);
+ * </pre>
+ *
+ * @author Sebastian Daschner
+ */
+public class EntityMapper {
+
+    private final SirenFactory factory;
+
+    EntityMapper(final SirenFactory factory) {
+        // prevent other instances than Siren factory methods
+        this.factory = factory;
+    }
+
+    /**
+     * Maps the {@code pojo} to a new {@link EntityBuilder}, which can be further modified, e.g. by adding actions.
+     *
+     * @throws IllegalArgumentException If the mapping of the class is invalid.
+     */
+    public EntityBuilder map(final Object pojo) {
+        return map(pojo, factory.createEntityBuilder());
+    }
+
+    /**
+     * Adds the classes, title, properties and links of the {@code pojo} to the {@code builder}.
+     *
+     * @throws IllegalArgumentException If the mapping of the class is invalid.
+     */
+    public EntityBuilder map(final Object pojo, final EntityBuilder builder) {
+        PojoMapping.of(pojo.getClass()).writeTo(pojo, builder);
+        return builder;
+    }
+
+}
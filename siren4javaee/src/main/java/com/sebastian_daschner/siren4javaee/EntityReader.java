@@ -0,0 +1,784 @@
+package com.sebastian_daschner.siren4javaee;
+
+import javax.json.*;
+import javax.json.stream.JsonParser;
+import javax.json.stream.JsonParsingException;
+import javax.ws.rs.HttpMethod;
+import javax.ws.rs.core.MediaType;
+import java.io.InputStream;
+import java.io.Reader;
+import java.net.URI;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Reads Siren entities from JSONP {@link JsonObject}s or directly from JSON streams.
+ *
+ * @author Sebastian Daschner
+ */
+public class EntityReader {
+
+    private static final ReadOptions BINDING_OPTIONS = ReadOptions.of(ReadOptions.Section.PROPERTIES, ReadOptions.Section.LINKS);
+
+    private final SirenFactory factory;
+    private final SymbolTable symbols = new SymbolTable();
+
+    EntityReader(final SirenFactory factory) {
+        // prevent other instances than Siren factory methods
+        this.factory = factory;
+    }
+
+    /**
+     * Reads the {@code object} into an {@link Entity}.
+     *
+     * @throws RuntimeException If required information is not contained in the JSON.
+     */
+    public Entity read(final JsonObject object) {
+        return read(object, ReadOptions.all());
+    }
+
+    /**
+     * Reads the sections of the {@code object} which are included in the {@code options} into an {@link Entity}.
+     *
+     * @throws RuntimeException If required information is not contained in the JSON.
+     */
+    public Entity read(final JsonObject object, final ReadOptions options) {
+        final Entity.Builder<?> builder = Entity.newBuilder().setTitle(object.getString("title", null));
+
+        readEntityStructures(object, builder, options);
+
+        return builder.build();
+    }
+
+    /**
+     * Reads the {@code object} into an {@link Entity} which decodes its properties, sub entities, links and actions
+     * from the {@code object} not until they are accessed for the first time.
+     * Sub entities are read lazily as well.
+     * Entities which are only used for navigation therefore only decode the sections they use.
+     * <p>
+     * Classes and titles are read immediately.
+     * Errors in the other sections are thrown when the section is accessed.
+     */
+    public Entity readLazily(final JsonObject object) {
+        final Entity.Builder<?> builder = Entity.newBuilder().setTitle(object.getString("title", null));
+
+        readClasses(object.getJsonArray("class"), builder);
+        builder.setSource(new JsonObjectSource(object));
+
+        return builder.build();
+    }
+
+    /**
+     * Reads the JSON contained in the {@code inputStream} into an {@link Entity} in a single pass, without creating an intermediate {@link JsonObject}.
+     * The character encoding is detected automatically. The stream is closed afterwards.
+     *
+     * @throws RuntimeException If required information is not contained in the JSON.
+     */
+    public Entity read(final InputStream inputStream) {
+        return read(inputStream, ReadOptions.all());
+    }
+
+    /**
+     * Reads the sections of the JSON contained in the {@code inputStream} which are included in the {@code options} into an {@link Entity}.
+     * All other sections are skipped by the parser, without creating any objects.
+     * The character encoding is detected automatically. The stream is closed afterwards.
+     *
+     * @throws RuntimeException If required information is not contained in the JSON.
+     */
+    public Entity read(final InputStream inputStream, final ReadOptions options) {
+        try (final JsonParser parser = factory.parserFactory().createParser(inputStream)) {
+            return read(parser, options);
+        }
+    }
+
+    /**
+     * Reads the JSON contained in the {@code reader} into an {@link Entity} in a single pass, without creating an intermediate {@link JsonObject}.
+     * The reader is closed afterwards.
+     *
+     * @throws RuntimeException If required information is not contained in the JSON.
+     */
+    public Entity read(final Reader reader) {
+        return read(reader, ReadOptions.all());
+    }
+
+    /**
+     * Reads the sections of the JSON contained in the {@code reader} which are included in the {@code options} into an {@link Entity}.
+     * All other sections are skipped by the parser, without creating any objects.
+     * The reader is closed afterwards.
+     *
+     * @throws RuntimeException If required information is not contained in the JSON.
+     */
+    public Entity read(final Reader reader, final ReadOptions options) {
+        try (final JsonParser parser = factory.parserFactory().createParser(reader)) {
+            return read(parser, options);
+        }
+    }
+
+    /**
+     * Reads the JSON contained in the {@code inputStream} and binds it to a new instance of the {@code type}, see {@link Entity#bind(Class)}.
+     * Only the properties and links are read, all other sections are skipped by the parser.
+     * The stream is closed afterwards.
+     *
+     * @throws RuntimeException If required information is not contained in the JSON.
+     * @throws IllegalArgumentException If the binding of the type is invalid.
+     */
+    public <T> T read(final InputStream inputStream, final Class<T> type) {
+        return read(inputStream, BINDING_OPTIONS).bind(type);
+    }
+
+    /**
+     * Reads the JSON contained in the {@code reader} and binds it to a new instance of the {@code type}, see {@link Entity#bind(Class)}.
+     * Only the properties and links are read, all other sections are skipped by the parser.
+     * The reader is closed afterwards.
+     *
+     * @throws RuntimeException If required information is not contained in the JSON.
+     * @throws IllegalArgumentException If the binding of the type is invalid.
+     */
+    public <T> T read(final Reader reader, final Class<T> type) {
+        return read(reader, BINDING_OPTIONS).bind(type);
+    }
+
+    /**
+     * Reads the {@code object} and binds it to a new instance of the {@code type}, see {@link Entity#bind(Class)}.
+     *
+     * @throws RuntimeException If required information is not contained in the JSON.
+     * @throws IllegalArgumentException If the binding of the type is invalid.
+     */
+    public <T> T read(final JsonObject object, final Class<T> type) {
+        return read(object, BINDING_OPTIONS).bind(type);
+    }
+
+    private Entity read(final JsonParser parser, final ReadOptions options) {
+        expect(parser, JsonParser.Event.START_OBJECT);
+        final Entity.Builder<?> builder = Entity.newBuilder();
+
+        readEntityStructures(parser, builder, null, options);
+
+        return builder.build();
+    }
+
+    private void readEntityStructures(final JsonObject object, final Entity.Builder<?> builder, final ReadOptions options) {
+        readClasses(object.getJsonArray("class"), builder);
+        if (options.includes(ReadOptions.Section.PROPERTIES))
+            builder.setProperties(readProperties(object.getJsonObject("properties")));
+        if (options.includes(ReadOptions.Section.ENTITIES))
+            readSubEntities(object.getJsonArray("entities"), builder::addEntity, options);
+        if (options.includes(ReadOptions.Section.LINKS))
+            readLinks(object.getJsonArray("links"), builder::addLink);
+        if (options.includes(ReadOptions.Section.ACTIONS))
+            readActions(object.getJsonArray("actions"), builder::addAction);
+    }
+
+    private void readClasses(final JsonArray jsonClasses, final SirenObject.Builder<?, ?> builder) {
+        if (jsonClasses == null)
+            return;
+
+        jsonClasses.getValuesAs(JsonString.class).stream().map(JsonString::getString).map(symbols::string).forEach(builder::addClass);
+    }
+
+    private PropertyStore readProperties(final JsonObject jsonProperties) {
+        final PropertyStore.Builder builder = new PropertyStore.Builder();
+        readProperties(jsonProperties, builder);
+        return builder.build();
+    }
+
+    private void readProperties(final JsonObject jsonProperties, final PropertyStore.Builder builder) {
+        if (jsonProperties == null)
+            return;
+
+        jsonProperties.forEach((k, v) -> readValue(symbols.string(k), v, builder));
+    }
+
+    private void readValue(final String name, final JsonValue value, final PropertyStore.Builder builder) {
+        switch (value.getValueType()) {
+            case STRING:
+                builder.addString(name, ((JsonString) value).getString());
+                break;
+            case NUMBER:
+                final JsonNumber number = (JsonNumber) value;
+                if (number.isIntegral())
+                    builder.addLong(name, number.longValue());
+                else
+                    builder.addDouble(name, number.doubleValue());
+                break;
+            case TRUE:
+                builder.addBoolean(name, true);
+                break;
+            case FALSE:
+                builder.addBoolean(name, false);
+                break;
+            case OBJECT:
+            case ARRAY:
+                builder.addJson(name, value);
+                break;
+            default:
+                builder.addNull(name);
+        }
+    }
+
+    /**
+     * Reads the sub entities, lazily if no {@code options} are provided.
+     */
+    private void readSubEntities(final JsonArray jsonEntities, final Consumer<SubEntity> consumer, final ReadOptions options) {
+        if (jsonEntities == null)
+            return;
+
+        final List<JsonObject> objects = jsonEntities.getValuesAs(JsonObject.class);
+        if (options != null && options.isParallel(objects.size()))
+            ParallelMapper.map(options.getPool(), objects, o -> readSubEntity(o, options)).forEach(consumer);
+        else
+            objects.stream().map(o -> readSubEntity(o, options)).forEach(consumer);
+    }
+
+    private SubEntity readSubEntity(final JsonObject object, final ReadOptions options) {
+        final SubEntity.Builder subBuilder = SubEntity.newBuilder()
+                .setTitle(object.getString("title", null))
+                .setHref(getHref(object));
+
+        if (object.containsKey("type"))
+            subBuilder.setType(symbols.mediaType(object.getString("type")));
+
+        if (object.containsKey("rel"))
+            object.getJsonArray("rel").getValuesAs(JsonString.class).stream().map(JsonString::getString).map(symbols::string).forEach(subBuilder::addRel);
+
+        if (options == null) {
+            readClasses(object.getJsonArray("class"), subBuilder);
+            subBuilder.setSource(new JsonObjectSource(object));
+        } else {
+            readEntityStructures(object, subBuilder, options);
+        }
+
+        return subBuilder.build();
+    }
+
+    private void readLinks(final JsonArray jsonLinks, final Consumer<Link> consumer) {
+        if (jsonLinks == null)
+            return;
+
+        jsonLinks.getValuesAs(JsonObject.class).stream().map(l -> {
+            final JsonArray rels = l.getJsonArray("rel");
+            if (rels == null || rels.isEmpty())
+                throw new RuntimeException("At least one rels must be set for link " + l);
+
+            final URI href = getHref(l);
+            Objects.requireNonNull(href, () -> "href must be set for link " + l);
+            final String title = l.getString("title", null);
+
+            final Link.Builder linkBuilder = Link.newBuilder().setHref(href).setTitle(title);
+
+            rels.getValuesAs(JsonString.class).stream().map(JsonString::getString).map(symbols::string).forEach(linkBuilder::addRel);
+            readClasses(l.getJsonArray("class"), linkBuilder);
+            if (l.containsKey("type"))
+                linkBuilder.setType(symbols.mediaType(l.getString("type")));
+
+            return linkBuilder.build();
+        }).forEach(consumer);
+    }
+
+    private void readActions(final JsonArray jsonActions, final Consumer<Action> consumer) {
+        if (jsonActions == null)
+            return;
+
+        jsonActions.getValuesAs(JsonObject.class).stream().map(a -> {
+            final String name = a.getString("name", null);
+            final String method = a.getString("method", null);
+            final String title = a.getString("title", null);
+            final URI href = getHref(a);
+            Objects.requireNonNull(name, () -> "name must be set for action " + a);
+            Objects.requireNonNull(href, () -> "href must be set for action " + a);
+
+            final Action.Builder actionBuilder = Action.newBuilder()
+                    .setTitle(title)
+                    .setName(name)
+                    .setMethod(method == null ? HttpMethod.GET : method)
+                    .setHref(href);
+
+            if (a.containsKey("type"))
+                actionBuilder.setType(symbols.mediaType(a.getString("type")));
+
+            readFields(a.getJsonArray("fields"), actionBuilder);
+            readClasses(a.getJsonArray("class"), actionBuilder);
+
+            return actionBuilder.build();
+        }).forEach(consumer);
+    }
+
+    private URI getHref(final JsonObject object) {
+        return object.containsKey("href") ? URI.create(object.getString("href", null)) : null;
+    }
+
+    private void readFields(final JsonArray jsonFields, final Action.Builder builder) {
+        if (jsonFields == null)
+            return;
+
+        jsonFields.getValuesAs(JsonObject.class).stream().map(f -> {
+            final String fieldName = f.getString("name", null);
+            Objects.requireNonNull(fieldName, () -> "name must be set for field " + f);
+
+            final FieldType type = FieldType.fromString(f.getString("type", null));
+
+            final Field.Builder fieldBuilder = Field.newBuilder()
+                    .setName(fieldName)
+                    .setType(type == null ? FieldType.TEXT : type)
+                    .setValue(f.getString("value", null))
+                    .setTitle(f.getString("title", null))
+                    .setRequired(f.getBoolean("required", false));
+
+            readClasses(f.getJsonArray("class"), fieldBuilder);
+
+            return fieldBuilder.build();
+        }).forEach(builder::addField);
+    }
+
+    /**
+     * Decodes the sections of a lazily read entity from its {@link JsonObject}.
+     */
+    private class JsonObjectSource implements Entity.Source {
+
+        private final JsonObject object;
+
+        private JsonObjectSource(final JsonObject object) {
+            this.object = object;
+        }
+
+        @Override
+        public void readProperties(final PropertyStore.Builder builder) {
+            EntityReader.this.readProperties(object.getJsonObject("properties"), builder);
+        }
+
+        @Override
+        public void readEntities(final Consumer<SubEntity> consumer) {
+            readSubEntities(object.getJsonArray("entities"), consumer, null);
+        }
+
+        @Override
+        public void readLinks(final Consumer<Link> consumer) {
+            EntityReader.this.readLinks(object.getJsonArray("links"), consumer);
+        }
+
+        @Override
+        public void readActions(final Consumer<Action> consumer) {
+            EntityReader.this.readActions(object.getJsonArray("actions"), consumer);
+        }
+
+    }
+
+    /**
+     * Reads the members of the current entity object until its end.
+     * The {@code subBuilder} is only provided for sub entities.
+     */
+    private void readEntityStructures(final JsonParser parser, final Entity.Builder<?> builder, final SubEntity.Builder subBuilder, final ReadOptions options) {
+        while (nextKey(parser)) {
+            switch (parser.getString()) {
+                case "class":
+                    readStrings(parser, builder::addClass);
+                    break;
+                case "title":
+                    builder.setTitle(readString(parser));
+                    break;
+                case "properties":
+                    if (options.includes(ReadOptions.Section.PROPERTIES))
+                        builder.setProperties(readProperties(parser));
+                    else
+                        skipValue(parser);
+                    break;
+                case "entities":
+                    if (options.includes(ReadOptions.Section.ENTITIES))
+                        readSubEntities(parser, builder, options);
+                    else
+                        skipValue(parser);
+                    break;
+                case "links":
+                    if (options.includes(ReadOptions.Section.LINKS))
+                        readLinks(parser, builder);
+                    else
+                        skipValue(parser);
+                    break;
+                case "actions":
+                    if (options.includes(ReadOptions.Section.ACTIONS))
+                        readActions(parser, builder);
+                    else
+                        skipValue(parser);
+                    break;
+                case "rel":
+                    if (subBuilder != null)
+                        readStrings(parser, subBuilder::addRel);
+                    else
+                        skipValue(parser);
+                    break;
+                case "href":
+                    if (subBuilder != null)
+                        subBuilder.setHref(readHref(parser));
+                    else
+                        skipValue(parser);
+                    break;
+                case "type":
+                    if (subBuilder != null)
+                        subBuilder.setType(readType(parser));
+                    else
+                        skipValue(parser);
+                    break;
+                default:
+                    skipValue(parser);
+            }
+        }
+    }
+
+    private PropertyStore readProperties(final JsonParser parser) {
+        final PropertyStore.Builder builder = new PropertyStore.Builder();
+        if (skipNull(parser, JsonParser.Event.START_OBJECT))
+            return builder.build();
+
+        while (nextKey(parser)) {
+            final String name = symbols.string(parser.getString());
+            readValue(parser, name, builder);
+        }
+        return builder.build();
+    }
+
+    private void readValue(final JsonParser parser, final String name, final PropertyStore.Builder builder) {
+        switch (parser.next()) {
+            case VALUE_STRING:
+                builder.addString(name, parser.getString());
+                break;
+            case VALUE_NUMBER:
+                if (parser.isIntegralNumber())
+                    builder.addLong(name, parser.getLong());
+                else
+                    builder.addDouble(name, parser.getBigDecimal().doubleValue());
+                break;
+            case VALUE_TRUE:
+                builder.addBoolean(name, true);
+                break;
+            case VALUE_FALSE:
+                builder.addBoolean(name, false);
+                break;
+            case START_OBJECT:
+                builder.addJson(name, readObject(parser));
+                break;
+            case START_ARRAY:
+                builder.addJson(name, readArray(parser));
+                break;
+            default:
+                builder.addNull(name);
+        }
+    }
+
+    /**
+     * Reads the current, nested object into an immutable {@link JsonObject}.
+     */
+    private JsonObject readObject(final JsonParser parser) {
+        final JsonObjectBuilder builder = factory.builderFactory().createObjectBuilder();
+        while (nextKey(parser)) {
+            final String key = parser.getString();
+            switch (parser.next()) {
+                case VALUE_STRING:
+                    builder.add(key, parser.getString());
+                    break;
+                case VALUE_NUMBER:
+                    builder.add(key, parser.getBigDecimal());
+                    break;
+                case VALUE_TRUE:
+                    builder.add(key, true);
+                    break;
+                case VALUE_FALSE:
+                    builder.add(key, false);
+                    break;
+                case START_OBJECT:
+                    builder.add(key, readObject(parser));
+                    break;
+                case START_ARRAY:
+                    builder.add(key, readArray(parser));
+                    break;
+                default:
+                    builder.addNull(key);
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Reads the current, nested array into an immutable {@link JsonArray}.
+     */
+    private JsonArray readArray(final JsonParser parser) {
+        final JsonArrayBuilder builder = factory.builderFactory().createArrayBuilder();
+        JsonParser.Event event;
+        while ((event = parser.next()) != JsonParser.Event.END_ARRAY) {
+            switch (event) {
+                case VALUE_STRING:
+                    builder.add(parser.getString());
+                    break;
+                case VALUE_NUMBER:
+                    builder.add(parser.getBigDecimal());
+                    break;
+                case VALUE_TRUE:
+                    builder.add(true);
+                    break;
+                case VALUE_FALSE:
+                    builder.add(false);
+                    break;
+                case START_OBJECT:
+                    builder.add(readObject(parser));
+                    break;
+                case START_ARRAY:
+                    builder.add(readArray(parser));
+                    break;
+                default:
+                    builder.addNull();
+            }
+        }
+        return builder.build();
+    }
+
+    private void readSubEntities(final JsonParser parser, final Entity.Builder<?> builder, final ReadOptions options) {
+        if (skipNull(parser, JsonParser.Event.START_ARRAY))
+            return;
+
+        while (nextElement(parser, JsonParser.Event.START_OBJECT)) {
+            final SubEntity.Builder subBuilder = SubEntity.newBuilder();
+            readEntityStructures(parser, subBuilder, subBuilder, options);
+            builder.addEntity(subBuilder.build());
+        }
+    }
+
+    private void readLinks(final JsonParser parser, final Entity.Builder<?> builder) {
+        if (skipNull(parser, JsonParser.Event.START_ARRAY))
+            return;
+
+        while (nextElement(parser, JsonParser.Event.START_OBJECT)) {
+            final Link.Builder linkBuilder = Link.newBuilder();
+            URI href = null;
+
+            while (nextKey(parser)) {
+                switch (parser.getString()) {
+                    case "rel":
+                        readStrings(parser, linkBuilder::addRel);
+                        break;
+                    case "href":
+                        href = readHref(parser);
+                        break;
+                    case "title":
+                        linkBuilder.setTitle(readString(parser));
+                        break;
+                    case "class":
+                        readStrings(parser, linkBuilder::addClass);
+                        break;
+                    case "type":
+                        linkBuilder.setType(readType(parser));
+                        break;
+                    default:
+                        skipValue(parser);
+                }
+            }
+
+            final Link link = linkBuilder.setHref(href).build();
+            if (link.getRels().isEmpty())
+                throw new RuntimeException("At least one rels must be set for link " + link);
+            Objects.requireNonNull(href, () -> "href must be set for link " + link);
+
+            builder.addLink(link);
+        }
+    }
+
+    private void readActions(final JsonParser parser, final Entity.Builder<?> builder) {
+        if (skipNull(parser, JsonParser.Event.START_ARRAY))
+            return;
+
+        while (nextElement(parser, JsonParser.Event.START_OBJECT)) {
+            final Action.Builder actionBuilder = Action.newBuilder();
+            String name = null;
+            String method = null;
+            URI href = null;
+
+            while (nextKey(parser)) {
+                switch (parser.getString()) {
+                    case "name":
+                        name = readString(parser);
+                        break;
+                    case "method":
+                        method = readString(parser);
+                        break;
+                    case "href":
+                        href = readHref(parser);
+                        break;
+                    case "title":
+                        actionBuilder.setTitle(readString(parser));
+                        break;
+                    case "type":
+                        actionBuilder.setType(readType(parser));
+                        break;
+                    case "fields":
+                        readFields(parser, actionBuilder);
+                        break;
+                    case "class":
+                        readStrings(parser, actionBuilder::addClass);
+                        break;
+                    default:
+                        skipValue(parser);
+                }
+            }
+
+            Objects.requireNonNull(name, "name must be set for action");
+            final String actionName = name;
+            Objects.requireNonNull(href, () -> "href must be set for action " + actionName);
+
+            builder.addAction(actionBuilder
+                    .setName(name)
+                    .setMethod(method == null ? HttpMethod.GET : method)
+                    .setHref(href)
+                    .build());
+        }
+    }
+
+    private void readFields(final JsonParser parser, final Action.Builder builder) {
+        if (skipNull(parser, JsonParser.Event.START_ARRAY))
+            return;
+
+        while (nextElement(parser, JsonParser.Event.START_OBJECT)) {
+            final Field.Builder fieldBuilder = Field.newBuilder();
+            String name = null;
+            FieldType type = null;
+
+            while (nextKey(parser)) {
+                switch (parser.getString()) {
+                    case "name":
+                        name = readString(parser);
+                        break;
+                    case "type":
+                        type = FieldType.fromString(readString(parser));
+                        break;
+                    case "value":
+                        fieldBuilder.setValue(readString(parser));
+                        break;
+                    case "title":
+                        fieldBuilder.setTitle(readString(parser));
+                        break;
+                    case "required":
+                        fieldBuilder.setRequired(readBoolean(parser));
+                        break;
+                    case "class":
+                        readStrings(parser, fieldBuilder::addClass);
+                        break;
+                    default:
+                        skipValue(parser);
+                }
+            }
+
+            Objects.requireNonNull(name, "name must be set for field");
+
+            builder.addField(fieldBuilder
+                    .setName(name)
+                    .setType(type == null ? FieldType.TEXT : type)
+                    .build());
+        }
+    }
+
+    private URI readHref(final JsonParser parser) {
+        final String href = readString(parser);
+        return href == null ? null : URI.create(href);
+    }
+
+    private MediaType readType(final JsonParser parser) {
+        final String type = readString(parser);
+        return type == null ? null : symbols.mediaType(type);
+    }
+
+    /**
+     * Reads the next value if it is a string, otherwise the value is skipped and {@code null} is returned.
+     */
+    private String readString(final JsonParser parser) {
+        final JsonParser.Event event = parser.next();
+        if (event == JsonParser.Event.VALUE_STRING)
+            return parser.getString();
+        if (event == JsonParser.Event.START_OBJECT || event == JsonParser.Event.START_ARRAY)
+            skipStructure(parser);
+        return null;
+    }
+
+    /**
+     * Reads the next value and returns whether it is {@code true}, other values are skipped.
+     */
+    private boolean readBoolean(final JsonParser parser) {
+        final JsonParser.Event event = parser.next();
+        if (event == JsonParser.Event.START_OBJECT || event == JsonParser.Event.START_ARRAY)
+            skipStructure(parser);
+        return event == JsonParser.Event.VALUE_TRUE;
+    }
+
+    private void readStrings(final JsonParser parser, final Consumer<String> consumer) {
+        if (skipNull(parser, JsonParser.Event.START_ARRAY))
+            return;
+
+        while (nextElement(parser, JsonParser.Event.VALUE_STRING))
+            consumer.accept(symbols.string(parser.getString()));
+    }
+
+    /**
+     * Moves to the next key of the current object and returns {@code false} if the end of the object has been reached.
+     */
+    private boolean nextKey(final JsonParser parser) {
+        return parser.next() == JsonParser.Event.KEY_NAME;
+    }
+
+    /**
+     * Moves to the next element of the current array and returns {@code false} if the end of the array has been reached.
+     *
+     * @throws JsonParsingException If the element is not of the expected type.
+     */
+    private boolean nextElement(final JsonParser parser, final JsonParser.Event expected) {
+        final JsonParser.Event event = parser.next();
+        if (event == JsonParser.Event.END_ARRAY)
+            return false;
+        if (event != expected)
+            throw new JsonParsingException("Expected " + expected + " but was " + event, parser.getLocation());
+        return true;
+    }
+
+    /**
+     * Moves to the next value which is either {@code null} or of the expected structure.
+     *
+     * @return {@code true} if the value is {@code null}
+     * @throws JsonParsingException If the value is neither {@code null} nor of the expected type.
+     */
+    private boolean skipNull(final JsonParser parser, final JsonParser.Event expected) {
+        final JsonParser.Event event = parser.next();
+        if (event == JsonParser.Event.VALUE_NULL)
+            return true;
+        if (event != expected)
+            throw new JsonParsingException("Expected " + expected + " but was " + event, parser.getLocation());
+        return false;
+    }
+
+    private void expect(final JsonParser parser, final JsonParser.Event expected) {
+        final JsonParser.Event event = parser.next();
+        if (event != expected)
+            throw new JsonParsingException("Expected " + expected + " but was " + event, parser.getLocation());
+    }
+
+    private void skipValue(final JsonParser parser) {
+        final JsonParser.Event event = parser.next();
+        if (event == JsonParser.Event.START_OBJECT || event == JsonParser.Event.START_ARRAY)
+            skipStructure(parser);
+    }
+
+    /**
+     * Skips the current object or array including all nested values.
+     */
+    private void skipStructure(final JsonParser parser) {
+        int depth = 1;
+        while (depth > 0) {
+            switch (parser.next()) {
+                case START_OBJECT:
+                case START_ARRAY:
+                    depth++;
+                    break;
+                case END_OBJECT:
+                case END_ARRAY:
+                    depth--;
+                    break;
+            }
+        }
+    }
+
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright (C) 2016 Sebastian Daschner, sebastian-daschner.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sebastian_daschner.siren4javaee;
+
+import javax.json.stream.JsonGenerator;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+/**
+ * Writes the read model {@link Entity}s back to Siren JSON using a {@link JsonGenerator}.
+ * The inverse of the {@link EntityReader}.
+ *
+ * @author Sebastian Daschner
+ */
+final class EntitySerializer {
+
+    private EntitySerializer() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Writes the {@code entity} as the next value in the current context of the generator.
+     */
+    static void writeEntity(final JsonGenerator generator, final Entity entity) {
+        generator.writeStartObject();
+
+        writeClasses(generator, entity);
+        if (entity.getTitle() != null)
+            generator.write("title", entity.getTitle());
+
+        if (entity instanceof SubEntity) {
+            final SubEntity subEntity = (SubEntity) entity;
+            if (!subEntity.getRels().isEmpty())
+                SirenJson.writeStrings(generator, "rel", subEntity.getRels());
+            if (subEntity.getType() != null)
+                generator.write("type", subEntity.getType().toString());
+            if (subEntity.getHref() != null)
+                generator.write("href", subEntity.getHref().toString());
+        }
+
+        final PropertyStore properties = entity.properties();
+        if (properties.size() > 0) {
+            generator.writeStartObject("properties");
+            properties.forEach((name, value) -> SirenJson.writeProperty(generator, name, value));
+            generator.writeEnd();
+        }
+
+        writeAll(generator, "entities", entity.getEntities(), EntitySerializer::writeEntity);
+        writeAll(generator, "links", entity.getLinks(), EntitySerializer::writeLink);
+        writeAll(generator, "actions", entity.getActions(), EntitySerializer::writeAction);
+
+        generator.writeEnd();
+    }
+
+    private static void writeLink(final JsonGenerator generator, final Link link) {
+        generator.writeStartObject();
+
+        writeClasses(generator, link);
+        if (link.getTitle() != null)
+            generator.write("title", link.getTitle());
+        SirenJson.writeStrings(generator, "rel", link.getRels());
+        generator.write("href", link.getHref().toString());
+        if (link.getType() != null)
+            generator.write("type", link.getType().toString());
+
+        generator.writeEnd();
+    }
+
+    private static void writeAction(final JsonGenerator generator, final Action action) {
+        generator.writeStartObject();
+
+        writeClasses(generator, action);
+        generator.write("name", action.getName());
+        if (action.getTitle() != null)
+            generator.write("title", action.getTitle());
+        if (action.getMethod() != null)
+            generator.write("method", action.getMethod());
+        generator.write("href", action.getHref().toString());
+        if (action.getType() != null)
+            generator.write("type", action.getType().toString());
+        writeAll(generator, "fields", action.getFields(), EntitySerializer::writeField);
+
+        generator.writeEnd();
+    }
+
+    private static void writeField(final JsonGenerator generator, final Field field) {
+        generator.writeStartObject();
+
+        writeClasses(generator, field);
+        generator.write("name", field.getName());
+        if (field.getType() != null)
+            generator.write("type", field.getType().toString());
+        if (field.getValue() != null)
+            generator.write("value", field.getValue());
+        if (field.getTitle() != null)
+            generator.write("title", field.getTitle());
+
+        generator.write("required", field.isRequired())
+                .writeEnd();
+    }
+
+    private static void writeClasses(final JsonGenerator generator, final SirenObject object) {
+        final Collection<String> classes = object.getClasses();
+        if (!classes.isEmpty())
+            SirenJson.writeStrings(generator, "class", classes);
+    }
+
+    private static <T> void writeAll(final JsonGenerator generator, final String name, final List<T> objects,
+                                     final BiConsumer<JsonGenerator, T> objectWriter) {
+        if (objects.isEmpty())
+            return;
+
+        generator.writeStartArray(name);
+        objects.forEach(o -> objectWriter.accept(generator, o));
+        generator.writeEnd();
+    }
+
+}
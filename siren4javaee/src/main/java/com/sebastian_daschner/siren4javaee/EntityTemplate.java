@@ -0,0 +1,315 @@
+/*
+ * Copyright (C) 2016 Sebastian Daschner, sebastian-daschner.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sebastian_daschner.siren4javaee;
+
+import javax.json.JsonArray;
+import javax.json.JsonArrayBuilder;
+import javax.json.JsonBuilderFactory;
+import javax.json.JsonObject;
+import javax.json.JsonObjectBuilder;
+import javax.json.stream.JsonGenerator;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.URI;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Precompiled Siren entity of a constant shape, created by {@link EntityTemplateBuilder#build()}.
+ * Classes, rels, constant links and actions are built once as immutable JSONP values;
+ * rendering an entity only fills the property and href slots.
+ * Instances are immutable and can be shared across threads.
+ * <b>Example:</b>
+ * <pre>
+ * static final EntityTemplate BOOK = Siren.createEntityTemplateBuilder()
+ *     .addClass("book")
+ *     .addProperty("isbn")
+ *     .addProperty("name")
+ *     .addLink("self")
+ *     .addAction(Siren.createActionBuilder().setName("add-to-cart")...)
+ *     .build();
+ *
+ * EntityTemplate.Renderer entity = BOOK.render()
+ *     .setProperty("isbn", book.getIsbn())
+ *     .setProperty("name", book.getName())
+ *     .setLink("self", bookUri)
+ *     .setActionHref("add-to-cart", cartUri);
+ * </pre>
+ * The renderer is either built to a {@link JsonObject}, written to a {@link JsonGenerator}
+ * or added to {@link EntityBuilder}s and {@link EntityWriter}s.
+ *
+ * @author Sebastian Daschner
+ */
+public final class EntityTemplate {
+
+    private final JsonBuilderFactory builderFactory;
+    private final JsonObject constants;
+    private final String[] propertyNames;
+    private final Map<String, Integer> propertyIndexes = new HashMap<>();
+    private final LinkPart[] links;
+    private final Map<String, Integer> linkSlotIndexes = new HashMap<>();
+    private final JsonObject[] actions;
+    private final Map<String, Integer> actionIndexes = new HashMap<>();
+
+    EntityTemplate(final JsonBuilderFactory builderFactory, final JsonObject constants, final String[] propertyNames,
+                   final LinkPart[] links, final JsonObject[] actions) {
+        this.builderFactory = builderFactory;
+        this.constants = constants;
+        this.propertyNames = propertyNames;
+        this.links = links;
+        this.actions = actions;
+
+        for (int i = 0; i < propertyNames.length; i++)
+            propertyIndexes.put(propertyNames[i], i);
+        for (int i = 0; i < links.length; i++) {
+            if (links[i].slotRel != null)
+                linkSlotIndexes.put(links[i].slotRel, i);
+        }
+        for (int i = 0; i < actions.length; i++) {
+            final String name = actions[i].getString("name", null);
+            if (name != null)
+                actionIndexes.put(name, i);
+        }
+    }
+
+    /**
+     * Creates a new {@link Renderer} to fill the slots of a single entity.
+     */
+    public Renderer render() {
+        return new Renderer();
+    }
+
+    private static int indexOf(final Map<String, Integer> indexes, final String key, final String description) {
+        final Integer index = indexes.get(key);
+        if (index == null)
+            throw new IllegalArgumentException(description + " " + key + " is not declared in the entity template");
+        return index;
+    }
+
+    /**
+     * Fills the slots of an {@link EntityTemplate} for a single entity.
+     * Property and link slots that are not filled are omitted.
+     */
+    public final class Renderer implements SirenWritable {
+
+        private final Object[] propertyValues = new Object[propertyNames.length];
+        private final URI[] linkHrefs = new URI[links.length];
+        private final URI[] actionHrefs = new URI[actions.length];
+        private URI href;
+
+        private Renderer() {
+        }
+
+        public Renderer setProperty(final String name, final BigDecimal value) {
+            return setPropertyValue(name, value);
+        }
+
+        public Renderer setProperty(final String name, final BigInteger value) {
+            return setPropertyValue(name, value);
+        }
+
+        public Renderer setProperty(final String name, final int value) {
+            return setPropertyValue(name, value);
+        }
+
+        public Renderer setProperty(final String name, final long value) {
+            return setPropertyValue(name, value);
+        }
+
+        public Renderer setProperty(final String name, final boolean value) {
+            return setPropertyValue(name, value);
+        }
+
+        public Renderer setProperty(final String name, final double value) {
+            return setPropertyValue(name, value);
+        }
+
+        public Renderer setProperty(final String name, final String value) {
+            return setPropertyValue(name, value);
+        }
+
+        private Renderer setPropertyValue(final String name, final Object value) {
+            propertyValues[indexOf(propertyIndexes, name, "Property")] = value;
+            return this;
+        }
+
+        /**
+         * Sets the href of the link which was declared with {@link EntityTemplateBuilder#addLink(String)}.
+         */
+        public Renderer setLink(final String rel, final URI href) {
+            linkHrefs[indexOf(linkSlotIndexes, rel, "Link with rel")] = href;
+            return this;
+        }
+
+        /**
+         * Overrides the href of the constant action with the given {@code name}.
+         */
+        public Renderer setActionHref(final String name, final URI href) {
+            actionHrefs[indexOf(actionIndexes, name, "Action with name")] = href;
+            return this;
+        }
+
+        public Renderer setSubEntityHref(final URI href) {
+            this.href = href;
+            return this;
+        }
+
+        @Override
+        public JsonObject build() {
+            final JsonObjectBuilder objectBuilder = builderFactory.createObjectBuilder();
+            constants.forEach(objectBuilder::add);
+
+            if (href != null)
+                objectBuilder.add("href", href.toString());
+
+            final Map<String, Object> properties = properties();
+            if (!properties.isEmpty())
+                objectBuilder.add("properties", SirenJson.buildProperties(builderFactory, properties));
+
+            if (links.length > 0) {
+                final JsonArrayBuilder linksBuilder = builderFactory.createArrayBuilder();
+                for (int i = 0; i < links.length; i++) {
+                    if (links[i].constant != null)
+                        linksBuilder.add(links[i].constant);
+                    else if (linkHrefs[i] != null)
+                        linksBuilder.add(builderFactory.createObjectBuilder().add("rel", links[i].rels).add("href", linkHrefs[i].toString()));
+                }
+                objectBuilder.add("links", linksBuilder);
+            }
+
+            if (actions.length > 0) {
+                final JsonArrayBuilder actionsBuilder = builderFactory.createArrayBuilder();
+                for (int i = 0; i < actions.length; i++)
+                    actionsBuilder.add(actionHrefs[i] == null ? actions[i] : overrideHref(actions[i], actionHrefs[i]));
+                objectBuilder.add("actions", actionsBuilder);
+            }
+
+            return objectBuilder.build();
+        }
+
+        @Override
+        public void writeTo(final JsonGenerator generator) {
+            generator.writeStartObject();
+            constants.forEach(generator::write);
+
+            if (href != null)
+                generator.write("href", href.toString());
+
+            boolean propertiesStarted = false;
+            for (int i = 0; i < propertyNames.length; i++) {
+                if (propertyValues[i] == null)
+                    continue;
+                if (!propertiesStarted) {
+                    generator.writeStartObject("properties");
+                    propertiesStarted = true;
+                }
+                SirenJson.writeProperty(generator, propertyNames[i], propertyValues[i]);
+            }
+            if (propertiesStarted)
+                generator.writeEnd();
+
+            if (links.length > 0) {
+                generator.writeStartArray("links");
+                for (int i = 0; i < links.length; i++) {
+                    if (links[i].constant != null)
+                        generator.write(links[i].constant);
+                    else if (linkHrefs[i] != null)
+                        generator.writeStartObject()
+                                .write("rel", links[i].rels)
+                                .write("href", linkHrefs[i].toString())
+                                .writeEnd();
+                }
+                generator.writeEnd();
+            }
+
+            if (actions.length > 0) {
+                generator.writeStartArray("actions");
+                for (int i = 0; i < actions.length; i++) {
+                    if (actionHrefs[i] == null)
+                        generator.write(actions[i]);
+                    else
+                        writeOverriddenHref(generator, actions[i], actionHrefs[i]);
+                }
+                generator.writeEnd();
+            }
+
+            generator.writeEnd();
+        }
+
+        private Map<String, Object> properties() {
+            final Map<String, Object> properties = new LinkedHashMap<>();
+            for (int i = 0; i < propertyNames.length; i++) {
+                if (propertyValues[i] != null)
+                    properties.put(propertyNames[i], propertyValues[i]);
+            }
+            return properties;
+        }
+
+        private JsonObject overrideHref(final JsonObject action, final URI href) {
+            final JsonObjectBuilder actionBuilder = builderFactory.createObjectBuilder();
+            action.forEach((k, v) -> {
+                if ("href".equals(k))
+                    actionBuilder.add(k, href.toString());
+                else
+                    actionBuilder.add(k, v);
+            });
+            if (!action.containsKey("href"))
+                actionBuilder.add("href", href.toString());
+            return actionBuilder.build();
+        }
+
+        private void writeOverriddenHref(final JsonGenerator generator, final JsonObject action, final URI href) {
+            generator.writeStartObject();
+            action.forEach((k, v) -> {
+                if ("href".equals(k))
+                    generator.write(k, href.toString());
+                else
+                    generator.write(k, v);
+            });
+            if (!action.containsKey("href"))
+                generator.write("href", href.toString());
+            generator.writeEnd();
+        }
+
+    }
+
+    /**
+     * Either a constant link or a link slot with constant rels.
+     */
+    static final class LinkPart {
+
+        final JsonObject constant;
+        final String slotRel;
+        final JsonArray rels;
+
+        private LinkPart(final JsonObject constant, final String slotRel, final JsonArray rels) {
+            this.constant = constant;
+            this.slotRel = slotRel;
+            this.rels = rels;
+        }
+
+        static LinkPart constant(final JsonObject link) {
+            return new LinkPart(link, null, null);
+        }
+
+        static LinkPart slot(final String rel, final JsonArray rels) {
+            return new LinkPart(null, rel, rels);
+        }
+
+    }
+
+}
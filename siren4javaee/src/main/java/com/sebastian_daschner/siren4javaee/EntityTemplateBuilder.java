@@ -0,0 +1,160 @@
+/*
+ * Copyright (C) 2016 Sebastian Daschner, sebastian-daschner.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sebastian_daschner.siren4javaee;
+
+import javax.json.JsonObject;
+import javax.json.JsonObjectBuilder;
+import javax.ws.rs.core.MediaType;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Builder pattern functionality to describe the constant shape of Siren entities which is compiled into an {@link EntityTemplate}.
+ * The {@link EntityTemplateBuilder} is created by calling {@link Siren#createEntityTemplateBuilder()}.
+ * <p>
+ * Classes, titles, sub entity rels and types, links and actions are constant.
+ * Properties and link hrefs are declared as slots by their name or rel, respectively, and filled for every rendered entity.
+ * The hrefs of the constant actions can be overridden for every rendered entity as well.
+ *
+ * @author Sebastian Daschner
+ */
+public class EntityTemplateBuilder {
+
+    private final List<String> classes = new ArrayList<>();
+    private final List<String> rels = new ArrayList<>();
+    private final Set<String> properties = new LinkedHashSet<>();
+    private final List<EntityTemplate.LinkPart> links = new ArrayList<>();
+    private final List<JsonObject> actions = new ArrayList<>();
+
+    private String title;
+    private String type;
+
+    private final SirenFactory factory;
+
+    EntityTemplateBuilder(final SirenFactory factory) {
+        // prevent other instances than Siren factory methods
+        this.factory = factory;
+    }
+
+    public EntityTemplateBuilder addClass(final String entityClass) {
+        classes.add(entityClass);
+        return this;
+    }
+
+    public EntityTemplateBuilder setTitle(final String title) {
+        this.title = title;
+        return this;
+    }
+
+    public EntityTemplateBuilder addSubEntityRel(final String rel) {
+        rels.add(rel);
+        return this;
+    }
+
+    public EntityTemplateBuilder setSubEntityType(final String type) {
+        this.type = type;
+        return this;
+    }
+
+    public EntityTemplateBuilder setSubEntityType(final MediaType type) {
+        this.type = type.toString();
+        return this;
+    }
+
+    /**
+     * Declares a property slot with the given {@code name} which is filled by {@link EntityTemplate.Renderer#setProperty}.
+     */
+    public EntityTemplateBuilder addProperty(final String name) {
+        if (!properties.add(name))
+            throw new IllegalArgumentException("Property " + name + " has already been declared");
+        return this;
+    }
+
+    /**
+     * Declares a link with the given {@code rel} which href is filled by {@link EntityTemplate.Renderer#setLink(String, URI)}.
+     */
+    public EntityTemplateBuilder addLink(final String rel) {
+        if (links.stream().anyMatch(l -> rel.equals(l.slotRel)))
+            throw new IllegalArgumentException("Link with rel " + rel + " has already been declared");
+        links.add(EntityTemplate.LinkPart.slot(rel, SirenJson.buildStrings(factory.builderFactory(), Collections.singletonList(rel))));
+        return this;
+    }
+
+    public EntityTemplateBuilder addLink(final LinkBuilder builder) {
+        links.add(EntityTemplate.LinkPart.constant(builder.build()));
+        return this;
+    }
+
+    public EntityTemplateBuilder addLink(final SirenFragment link) {
+        return addLink(link.build());
+    }
+
+    public EntityTemplateBuilder addLink(final JsonObject link) {
+        links.add(EntityTemplate.LinkPart.constant(link));
+        return this;
+    }
+
+    public EntityTemplateBuilder addLink(final URI uri, final String... rel) {
+        final LinkBuilder linkBuilder = factory.createLinkBuilder().setHref(uri);
+        for (final String r : rel)
+            linkBuilder.addRel(r);
+        return addLink(linkBuilder);
+    }
+
+    /**
+     * Adds a constant action.
+     * The href of the action can be overridden by {@link EntityTemplate.Renderer#setActionHref(String, URI)}, using the action name.
+     */
+    public EntityTemplateBuilder addAction(final ActionBuilder builder) {
+        return addAction(builder.build());
+    }
+
+    public EntityTemplateBuilder addAction(final SirenFragment action) {
+        return addAction(action.build());
+    }
+
+    public EntityTemplateBuilder addAction(final JsonObject action) {
+        final String name = action.getString("name", null);
+        if (name != null && actions.stream().anyMatch(a -> name.equals(a.getString("name", null))))
+            throw new IllegalArgumentException("Action with name " + name + " has already been declared");
+        actions.add(action);
+        return this;
+    }
+
+    /**
+     * Compiles the immutable {@link EntityTemplate}.
+     * The builder can be modified further without affecting the template.
+     */
+    public EntityTemplate build() {
+        final JsonObjectBuilder constantsBuilder = factory.builderFactory().createObjectBuilder();
+        if (!classes.isEmpty())
+            constantsBuilder.add("class", SirenJson.buildStrings(factory.builderFactory(), classes));
+        if (title != null)
+            constantsBuilder.add("title", title);
+        if (!rels.isEmpty())
+            constantsBuilder.add("rel", SirenJson.buildStrings(factory.builderFactory(), rels));
+        if (type != null)
+            constantsBuilder.add("type", type);
+
+        return new EntityTemplate(factory.builderFactory(), constantsBuilder.build(), properties.toArray(new String[properties.size()]),
+                links.toArray(new EntityTemplate.LinkPart[links.size()]), actions.toArray(new JsonObject[actions.size()]));
+    }
+
+}
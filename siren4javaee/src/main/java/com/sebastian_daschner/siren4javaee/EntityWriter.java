@@ -0,0 +1,354 @@
+/*
+ * Copyright (C) 2016 Sebastian Daschner, sebastian-daschner.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sebastian_daschner.siren4javaee;
+
+import javax.json.JsonObject;
+import javax.json.stream.JsonGenerator;
+import javax.ws.rs.core.Link;
+import javax.ws.rs.core.MediaType;
+import java.io.Closeable;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.URI;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Streaming functionality to programmatically write Siren response entities.
+ * The {@link EntityWriter} is created by calling {@link Siren#createEntityWriter(JsonGenerator)} or
+ * {@link Siren#createEntityWriter(java.io.OutputStream)} and offers the same methods as the {@link EntityBuilder}.
+ * <p>
+ * In contrast to the {@link EntityBuilder} nothing is buffered: every class, property, sub entity, link and action
+ * is written to the underlying generator as soon as it is added.
+ * Therefore all values of one section (e.g. all properties) have to be added consecutively;
+ * adding to a section that has already been finished results in an {@link IllegalStateException}.
+ * The entity is finished by calling {@link #close()}.
+ * <b>Example:</b>
+ * <pre>
+ * try (EntityWriter writer = Siren.createEntityWriter(outputStream)) {
+ *     writer.addClass("books");
+ *     books.forEach(b -&gt; writer.addEntity(Siren.createEntityBuilder()...));
+ *     writer.addLink(uri, "self");
+ * }
+ * </pre>
+ *
+ * @author Sebastian Daschner
+ */
+public class EntityWriter implements Closeable {
+
+    private final SirenFactory factory;
+    private final JsonGenerator generator;
+    private final boolean ownsGenerator;
+
+    private final Set<Section> writtenSections = EnumSet.noneOf(Section.class);
+    private Section currentSection;
+    private boolean closed;
+
+    EntityWriter(final SirenFactory factory, final JsonGenerator generator, final boolean ownsGenerator) {
+        // prevent other instances than Siren factory methods
+        this.factory = factory;
+        this.generator = generator;
+        this.ownsGenerator = ownsGenerator;
+        generator.writeStartObject();
+    }
+
+    public EntityWriter addClass(final String entityClass) {
+        enterSection(Section.CLASS);
+        generator.write(entityClass);
+        return this;
+    }
+
+    public EntityWriter addProperty(final String name, BigDecimal value) {
+        enterSection(Section.PROPERTIES);
+        generator.write(name, value);
+        return this;
+    }
+
+    public EntityWriter addProperty(final String name, final BigInteger value) {
+        enterSection(Section.PROPERTIES);
+        generator.write(name, value);
+        return this;
+    }
+
+    public EntityWriter addProperty(final String name, final int value) {
+        enterSection(Section.PROPERTIES);
+        generator.write(name, value);
+        return this;
+    }
+
+    public EntityWriter addProperty(final String name, final long value) {
+        enterSection(Section.PROPERTIES);
+        generator.write(name, value);
+        return this;
+    }
+
+    public EntityWriter addProperty(final String name, final boolean value) {
+        enterSection(Section.PROPERTIES);
+        generator.write(name, value);
+        return this;
+    }
+
+    public EntityWriter addProperty(final String name, final double value) {
+        enterSection(Section.PROPERTIES);
+        SirenJson.writeProperty(generator, name, value);
+        return this;
+    }
+
+    public EntityWriter addProperty(final String name, final String value) {
+        enterSection(Section.PROPERTIES);
+        generator.write(name, value);
+        return this;
+    }
+
+    public EntityWriter addEntity(final EntityBuilder subBuilder) {
+        enterSection(Section.ENTITIES);
+        subBuilder.writeTo(generator);
+        return this;
+    }
+
+    /**
+     * Adds a sub entity rendered from an {@link EntityTemplate}.
+     */
+    public EntityWriter addEntity(final EntityTemplate.Renderer subEntity) {
+        enterSection(Section.ENTITIES);
+        subEntity.writeTo(generator);
+        return this;
+    }
+
+    public EntityWriter addEntity(final JsonObject subEntity) {
+        enterSection(Section.ENTITIES);
+        generator.write(subEntity);
+        return this;
+    }
+
+    /**
+     * Writes a sub entity for every item of the {@code items} stream, created by the {@code mapper}, in the order of the stream.
+     * The items are pulled and written one after another. The stream is closed afterwards.
+     */
+    public <T> EntityWriter addEntities(final Stream<T> items, final Function<T, EntityBuilder> mapper) {
+        return writeEntities(new LazySubEntities<>(items.iterator(), items, mapper));
+    }
+
+    /**
+     * Writes a sub entity for every item of the {@code items} iterator, created by the {@code mapper}, e.g. for database cursors.
+     * The items are pulled and written one after another. If the iterator is {@link AutoCloseable} it is closed afterwards.
+     */
+    public <T> EntityWriter addEntities(final Iterator<T> items, final Function<T, EntityBuilder> mapper) {
+        return writeEntities(new LazySubEntities<>(items, items instanceof AutoCloseable ? (AutoCloseable) items : null, mapper));
+    }
+
+    private EntityWriter writeEntities(final LazySubEntities<?> subEntities) {
+        enterSection(Section.ENTITIES);
+        subEntities.forEach(subEntity -> subEntity.writeTo(generator));
+        return this;
+    }
+
+    /**
+     * Writes a sub entity for every item of the {@code items} stream, created by the {@code mapper}, in the order of the stream.
+     * The sub entities are created and built in chunks on the {@code pool}, e.g. for large collections, and written in order.
+     * Only a few chunks per thread are built ahead, each chunk is written as soon as it and all previous chunks are built.
+     * The {@code mapper} therefore has to be thread-safe. The stream is closed afterwards.
+     */
+    public <T> EntityWriter addEntities(final Stream<T> items, final Function<T, EntityBuilder> mapper, final ForkJoinPool pool) {
+        return writeEntities(new LazySubEntities<>(items.iterator(), items, mapper, pool));
+    }
+
+    public EntityWriter addLink(final LinkBuilder builder) {
+        enterSection(Section.LINKS);
+        builder.writeTo(generator);
+        return this;
+    }
+
+    /**
+     * Adds a link that has been frozen by {@link LinkBuilder#freeze()}.
+     */
+    public EntityWriter addLink(final SirenFragment link) {
+        enterSection(Section.LINKS);
+        link.writeTo(generator);
+        return this;
+    }
+
+    public EntityWriter addLink(final JsonObject link) {
+        enterSection(Section.LINKS);
+        generator.write(link);
+        return this;
+    }
+
+    public EntityWriter addLink(final URI uri, final String rel) {
+        return addLink(factory.createLinkBuilder().addRel(rel).setHref(uri));
+    }
+
+    public EntityWriter addLink(final URI uri, final String... rel) {
+        final LinkBuilder linkBuilder = factory.createLinkBuilder().setHref(uri);
+        for (final String r : rel)
+            linkBuilder.addRel(r);
+        return addLink(linkBuilder);
+    }
+
+    /**
+     * Adds a link with the {@code template} expanded with the {@code values}, see {@link UriTemplate#expand(Object...)}.
+     */
+    public EntityWriter addLink(final UriTemplate template, final String rel, final Object... values) {
+        return addLink(factory.createLinkBuilder().addRel(rel).setHref(template, values));
+    }
+
+    public EntityWriter addLink(final Link link) {
+        final LinkBuilder linkBuilder = factory.createLinkBuilder().setHref(link.getUri());
+        link.getRels().forEach(linkBuilder::addRel);
+        return addLink(linkBuilder);
+    }
+
+    public EntityWriter addAction(final ActionBuilder builder) {
+        enterSection(Section.ACTIONS);
+        builder.writeTo(generator);
+        return this;
+    }
+
+    /**
+     * Adds an action that has been frozen by {@link ActionBuilder#freeze()}.
+     */
+    public EntityWriter addAction(final SirenFragment action) {
+        enterSection(Section.ACTIONS);
+        action.writeTo(generator);
+        return this;
+    }
+
+    public EntityWriter addAction(final JsonObject action) {
+        enterSection(Section.ACTIONS);
+        generator.write(action);
+        return this;
+    }
+
+    public EntityWriter setTitle(final String title) {
+        enterSection(Section.TITLE);
+        generator.write("title", title);
+        return this;
+    }
+
+    public EntityWriter addSubEntityRel(final String rel) {
+        enterSection(Section.REL);
+        generator.write(rel);
+        return this;
+    }
+
+    public EntityWriter setSubEntityType(final String type) {
+        enterSection(Section.TYPE);
+        generator.write("type", type);
+        return this;
+    }
+
+    public EntityWriter setSubEntityType(final MediaType type) {
+        return setSubEntityType(type.toString());
+    }
+
+    public EntityWriter setSubEntityHref(final URI href) {
+        return setSubEntityHref(href.toString());
+    }
+
+    /**
+     * Sets the sub entity href to the {@code template} expanded with the {@code values}, see {@link UriTemplate#expand(Object...)}.
+     */
+    public EntityWriter setSubEntityHref(final UriTemplate template, final Object... values) {
+        return setSubEntityHref(template.expand(values));
+    }
+
+    private EntityWriter setSubEntityHref(final String href) {
+        enterSection(Section.HREF);
+        generator.write("href", href);
+        return this;
+    }
+
+    /**
+     * Flushes the contents that have been written so far.
+     */
+    public EntityWriter flush() {
+        generator.flush();
+        return this;
+    }
+
+    /**
+     * Finishes the entity.
+     * If this writer was created for an {@link java.io.OutputStream}, the generator and the stream are closed,
+     * otherwise the given {@link JsonGenerator} is only flushed and can be used further.
+     */
+    @Override
+    public void close() {
+        if (closed)
+            return;
+        closed = true;
+
+        finishSection();
+        generator.writeEnd();
+
+        if (ownsGenerator)
+            generator.close();
+        else
+            generator.flush();
+    }
+
+    private void enterSection(final Section section) {
+        if (closed)
+            throw new IllegalStateException("Could not write to entity, entity has already been closed");
+        if (section == currentSection)
+            return;
+
+        finishSection();
+        if (!writtenSections.add(section))
+            throw new IllegalStateException("Could not write " + section.key + " of entity, section has already been written");
+
+        currentSection = section;
+        if (section == Section.PROPERTIES)
+            generator.writeStartObject(section.key);
+        else if (section.array)
+            generator.writeStartArray(section.key);
+    }
+
+    private void finishSection() {
+        if (currentSection != null && (currentSection.array || currentSection == Section.PROPERTIES))
+            generator.writeEnd();
+        currentSection = null;
+    }
+
+    /**
+     * The top-level JSON values of a Siren entity.
+     */
+    private enum Section {
+
+        CLASS("class", true),
+        TITLE("title", false),
+        REL("rel", true),
+        TYPE("type", false),
+        HREF("href", false),
+        PROPERTIES("properties", false),
+        ENTITIES("entities", true),
+        LINKS("links", true),
+        ACTIONS("actions", true);
+
+        private final String key;
+        private final boolean array;
+
+        Section(final String key, final boolean array) {
+            this.key = key;
+            this.array = array;
+        }
+
+    }
+
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright (C) 2016 Sebastian Daschner, sebastian-daschner.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sebastian_daschner.siren4javaee;
+
+import java.net.URI;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
+
+/**
+ * Retrieves a list of URIs asynchronously with a bounded number of concurrent requests, in total and per host.
+ * The results are collected in the order of the URIs; the first error completes the result exceptionally
+ * and stops dispatching further requests.
+ * Requests are dispatched in the order of the URIs, per host.
+ *
+ * @author Sebastian Daschner
+ */
+final class FanOut {
+
+    private final Function<URI, CompletionStage<Entity>> retrieval;
+    private final int concurrency;
+    private final int perHost;
+
+    private final Entity[] results;
+    private final CompletableFuture<List<Entity>> result = new CompletableFuture<>();
+
+    /**
+     * The indexes of the pending URIs per host, in the order of the URIs.
+     */
+    private final Map<String, Deque<Integer>> pending = new LinkedHashMap<>();
+    private final Map<String, Integer> running = new HashMap<>();
+    private final List<URI> uris;
+
+    private int runningTotal;
+    private int remaining;
+    private boolean dispatching;
+    private boolean redispatch;
+
+    FanOut(final List<URI> uris, final Function<URI, CompletionStage<Entity>> retrieval, final int concurrency, final int perHost) {
+        if (concurrency <= 0 || perHost <= 0)
+            throw new IllegalArgumentException("The concurrency limits must be positive");
+        this.uris = uris;
+        this.retrieval = retrieval;
+        this.concurrency = concurrency;
+        this.perHost = perHost;
+        results = new Entity[uris.size()];
+        remaining = uris.size();
+
+        for (int i = 0; i < uris.size(); i++)
+            pending.computeIfAbsent(host(uris.get(i)), h -> new ArrayDeque<>()).add(i);
+    }
+
+    CompletionStage<List<Entity>> start() {
+        if (remaining == 0)
+            result.complete(Collections.emptyList());
+        else
+            dispatch();
+        return result;
+    }
+
+    /**
+     * Starts as many requests as the limits allow.
+     * Requests are started outside of the lock and synchronously completed requests don't dispatch recursively.
+     */
+    private void dispatch() {
+        synchronized (this) {
+            if (dispatching) {
+                redispatch = true;
+                return;
+            }
+            dispatching = true;
+        }
+
+        while (true) {
+            final List<Integer> started;
+            synchronized (this) {
+                started = result.isDone() ? new ArrayList<>() : nextRequests();
+                if (started.isEmpty() && !redispatch) {
+                    dispatching = false;
+                    return;
+                }
+                redispatch = false;
+            }
+            started.forEach(this::request);
+        }
+    }
+
+    private List<Integer> nextRequests() {
+        final List<Integer> started = new ArrayList<>();
+        boolean progress = true;
+
+        // takes one request per host at a time, in order to distribute the concurrency among the hosts
+        while (progress && runningTotal < concurrency) {
+            progress = false;
+            final Iterator<Map.Entry<String, Deque<Integer>>> iterator = pending.entrySet().iterator();
+            while (iterator.hasNext() && runningTotal < concurrency) {
+                final Map.Entry<String, Deque<Integer>> entry = iterator.next();
+                final int hostRunning = running.getOrDefault(entry.getKey(), 0);
+                if (hostRunning >= perHost)
+                    continue;
+
+                started.add(entry.getValue().poll());
+                running.put(entry.getKey(), hostRunning + 1);
+                runningTotal++;
+                progress = true;
+                if (entry.getValue().isEmpty())
+                    iterator.remove();
+            }
+        }
+        return started;
+    }
+
+    private void request(final int index) {
+        final URI uri = uris.get(index);
+        final CompletionStage<Entity> stage;
+        try {
+            stage = retrieval.apply(uri);
+        } catch (RuntimeException e) {
+            result.completeExceptionally(e);
+            return;
+        }
+
+        stage.whenComplete((entity, throwable) -> {
+            if (throwable != null) {
+                result.completeExceptionally(throwable);
+                return;
+            }
+
+            final boolean done;
+            synchronized (this) {
+                results[index] = entity;
+                runningTotal--;
+                running.merge(host(uri), -1, Integer::sum);
+                done = --remaining == 0;
+            }
+
+            if (done)
+                result.complete(Collections.unmodifiableList(Arrays.asList(results)));
+            else
+                dispatch();
+        });
+    }
+
+    private static String host(final URI uri) {
+        final String authority = uri.getAuthority();
+        return authority == null ? "" : authority;
+    }
+
+}
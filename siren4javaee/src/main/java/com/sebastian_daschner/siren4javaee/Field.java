@@ -112,6 +112,7 @@ public class Field extends SirenObject {
         }
 
         protected Field build() {
+            field.compact();
             return field;
         }
 
@@ -15,10 +15,11 @@
  */
 package com.sebastian_daschner.siren4javaee;
 
-import javax.json.Json;
-import javax.json.JsonArrayBuilder;
 import javax.json.JsonObject;
 import javax.json.JsonObjectBuilder;
+import javax.json.stream.JsonGenerator;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Builder pattern functionality to programmatically create field objects in Siren response actions.
@@ -28,9 +29,9 @@ import javax.json.JsonObjectBuilder;
  *
  * @author Sebastian Daschner
  */
-public class FieldBuilder {
+public class FieldBuilder implements SirenWritable {
 
-    private JsonArrayBuilder classesBuilder;
+    private List<String> classes;
 
     private String name;
     private FieldType type;
@@ -38,14 +39,17 @@ public class FieldBuilder {
     private String title;
     private boolean required;
 
-    FieldBuilder() {
+    private final SirenFactory factory;
+
+    FieldBuilder(final SirenFactory factory) {
         // prevent other instances than Siren factory methods
+        this.factory = factory;
     }
 
     public FieldBuilder addClass(final String fieldClass) {
-        if (classesBuilder == null)
-            classesBuilder = Json.createArrayBuilder();
-        classesBuilder.add(fieldClass);
+        if (classes == null)
+            classes = new ArrayList<>();
+        classes.add(fieldClass);
         return this;
     }
 
@@ -74,11 +78,12 @@ public class FieldBuilder {
         return this;
     }
 
+    @Override
     public JsonObject build() {
-        final JsonObjectBuilder objectBuilder = Json.createObjectBuilder();
+        final JsonObjectBuilder objectBuilder = factory.builderFactory().createObjectBuilder();
 
-        if (classesBuilder != null)
-            objectBuilder.add("class", classesBuilder.build());
+        if (classes != null)
+            objectBuilder.add("class", SirenJson.buildStrings(factory.builderFactory(), classes));
 
         if (name != null)
             objectBuilder.add("name", name);
@@ -94,4 +99,24 @@ public class FieldBuilder {
                 .build();
     }
 
+    @Override
+    public void writeTo(final JsonGenerator generator) {
+        generator.writeStartObject();
+
+        if (classes != null)
+            SirenJson.writeStrings(generator, "class", classes);
+
+        if (name != null)
+            generator.write("name", name);
+        if (type != null)
+            generator.write("type", type.toString());
+        if (value != null)
+            generator.write("value", value);
+        if (title != null)
+            generator.write("title", title);
+
+        generator.write("required", required)
+                .writeEnd();
+    }
+
 }
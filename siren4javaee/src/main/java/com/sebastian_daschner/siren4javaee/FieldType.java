@@ -1,6 +1,8 @@
 package com.sebastian_daschner.siren4javaee;
 
-import java.util.stream.Stream;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
 
 /**
  * The available field types for Siren actions.
@@ -29,6 +31,13 @@ public enum FieldType {
     RADIO,
     FILE;
 
+    private static final Map<String, FieldType> BY_NAME = new HashMap<>();
+
+    static {
+        for (final FieldType type : values())
+            BY_NAME.put(type.name, type);
+    }
+
     private String name;
 
     FieldType() {
@@ -48,7 +57,8 @@ public enum FieldType {
         if (string == null)
             return null;
 
-        return Stream.of(values()).filter(f -> f.toString().equals(string.toLowerCase())).findAny().orElse(null);
+        final FieldType type = BY_NAME.get(string);
+        return type != null ? type : BY_NAME.get(string.toLowerCase(Locale.ENGLISH));
     }
 
 }
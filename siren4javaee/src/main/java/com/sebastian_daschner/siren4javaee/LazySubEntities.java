@@ -0,0 +1,82 @@
+/*
+ * Copyright (C) 2016 Sebastian Daschner, sebastian-daschner.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sebastian_daschner.siren4javaee;
+
+import java.util.Iterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Lazily evaluated sub entities of an {@link EntityBuilder}, e.g. from a {@link java.util.stream.Stream} or a database cursor.
+ * The items are only pulled and mapped while the entity is built or written, one after another.
+ * If a {@link ForkJoinPool} is given, the items are mapped and built in chunks on the pool, a few chunks ahead of the consumer,
+ * and passed on in order.
+ * The source is closed afterwards, if it is {@link AutoCloseable}, and can only be consumed once.
+ *
+ * @author Sebastian Daschner
+ */
+final class LazySubEntities<T> implements SirenWritableSource {
+
+    private final Iterator<T> items;
+    private final AutoCloseable source;
+    private final Function<T, EntityBuilder> mapper;
+    private final ForkJoinPool pool;
+    private boolean consumed;
+
+    LazySubEntities(final Iterator<T> items, final AutoCloseable source, final Function<T, EntityBuilder> mapper) {
+        this(items, source, mapper, null);
+    }
+
+    LazySubEntities(final Iterator<T> items, final AutoCloseable source, final Function<T, EntityBuilder> mapper, final ForkJoinPool pool) {
+        this.items = items;
+        this.source = source;
+        this.mapper = mapper;
+        this.pool = pool;
+    }
+
+    @Override
+    public void forEach(final Consumer<SirenWritable> consumer) {
+        if (consumed)
+            throw new IllegalStateException("Could not add sub entities, the source has already been consumed");
+        consumed = true;
+
+        try {
+            if (pool == null) {
+                while (items.hasNext())
+                    consumer.accept(mapper.apply(items.next()));
+            } else {
+                ParallelMapper.map(pool, items, item -> SirenWritable.of(mapper.apply(item).build()), consumer);
+            }
+        } finally {
+            close();
+        }
+    }
+
+    private void close() {
+        if (source == null)
+            return;
+
+        try {
+            source.close();
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException("Could not close the source of the sub entities", e);
+        }
+    }
+
+}
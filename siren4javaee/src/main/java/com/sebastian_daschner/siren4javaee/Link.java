@@ -2,10 +2,11 @@ package com.sebastian_daschner.siren4javaee;
 
 import javax.ws.rs.core.MediaType;
 import java.net.URI;
-import java.util.HashSet;
 import java.util.Set;
 
-import static java.util.Collections.unmodifiableSet;
+import static com.sebastian_daschner.siren4javaee.CompactCollections.add;
+import static com.sebastian_daschner.siren4javaee.CompactCollections.compactSet;
+import static java.util.Collections.emptySet;
 
 /**
  * Represents a Siren entity link.
@@ -17,7 +18,7 @@ import static java.util.Collections.unmodifiableSet;
  */
 public class Link extends SirenObject {
 
-    private final Set<String> rels = new HashSet<>();
+    private Set<String> rels = emptySet();
     private URI href;
     private MediaType type;
 
@@ -25,7 +26,7 @@ public class Link extends SirenObject {
     }
 
     public Set<String> getRels() {
-        return unmodifiableSet(rels);
+        return rels;
     }
 
     public URI getHref() {
@@ -36,6 +37,12 @@ public class Link extends SirenObject {
         return type;
     }
 
+    @Override
+    void compact() {
+        super.compact();
+        rels = compactSet(rels);
+    }
+
     @Override
     public boolean equals(final Object o) {
         if (this == o) return true;
@@ -91,7 +98,7 @@ public class Link extends SirenObject {
         }
 
         Builder addRel(final String rel) {
-            object().rels.add(rel);
+            object().rels = add(object().rels, rel);
             return this;
         }
 
@@ -106,6 +113,7 @@ public class Link extends SirenObject {
         }
 
         protected Link build() {
+            link.compact();
             return link;
         }
 
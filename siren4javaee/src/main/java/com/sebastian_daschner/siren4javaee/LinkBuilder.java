@@ -15,12 +15,13 @@
  */
 package com.sebastian_daschner.siren4javaee;
 
-import javax.json.Json;
-import javax.json.JsonArrayBuilder;
 import javax.json.JsonObject;
 import javax.json.JsonObjectBuilder;
+import javax.json.stream.JsonGenerator;
 import javax.ws.rs.core.MediaType;
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Builder pattern functionality to programmatically create link objects in Siren responses.
@@ -30,17 +31,20 @@ import java.net.URI;
  *
  * @author Sebastian Daschner
  */
-public class LinkBuilder {
+public class LinkBuilder implements SirenWritable {
 
-    private JsonArrayBuilder relsBuilder;
-    private JsonArrayBuilder classesBuilder;
+    private List<String> rels;
+    private List<String> classes;
 
     private String title;
-    private URI href;
+    private String href;
     private String type;
 
-    LinkBuilder() {
+    private final SirenFactory factory;
+
+    LinkBuilder(final SirenFactory factory) {
         // prevent other instances than Siren factory methods
+        this.factory = factory;
     }
 
     public LinkBuilder setTitle(final String title) {
@@ -49,7 +53,15 @@ public class LinkBuilder {
     }
 
     public LinkBuilder setHref(final URI href) {
-        this.href = href;
+        this.href = href == null ? null : href.toString();
+        return this;
+    }
+
+    /**
+     * Sets the href to the {@code template} expanded with the {@code values}, see {@link UriTemplate#expand(Object...)}.
+     */
+    public LinkBuilder setHref(final UriTemplate template, final Object... values) {
+        this.href = template.expand(values);
         return this;
     }
 
@@ -67,34 +79,61 @@ public class LinkBuilder {
     }
 
     public LinkBuilder addRel(final String rel) {
-        if (relsBuilder == null)
-            relsBuilder = Json.createArrayBuilder();
-        relsBuilder.add(rel);
+        if (rels == null)
+            rels = new ArrayList<>();
+        rels.add(rel);
         return this;
     }
 
     public LinkBuilder addClass(final String entityClass) {
-        if (classesBuilder == null)
-            classesBuilder = Json.createArrayBuilder();
-        classesBuilder.add(entityClass);
+        if (classes == null)
+            classes = new ArrayList<>();
+        classes.add(entityClass);
         return this;
     }
 
+    /**
+     * Builds the link into an immutable {@link SirenFragment} that can be added to many entities.
+     * Later modifications of this builder do not affect the fragment.
+     */
+    public SirenFragment freeze() {
+        return new SirenFragment(build());
+    }
+
+    @Override
     public JsonObject build() {
-        final JsonObjectBuilder objectBuilder = Json.createObjectBuilder();
+        final JsonObjectBuilder objectBuilder = factory.builderFactory().createObjectBuilder();
 
-        if (classesBuilder != null)
-            objectBuilder.add("class", classesBuilder.build());
+        if (classes != null)
+            objectBuilder.add("class", SirenJson.buildStrings(factory.builderFactory(), classes));
         if (title != null)
             objectBuilder.add("title", title);
-        if (relsBuilder != null)
-            objectBuilder.add("rel", relsBuilder.build());
+        if (rels != null)
+            objectBuilder.add("rel", SirenJson.buildStrings(factory.builderFactory(), rels));
         if (href != null)
-            objectBuilder.add("href", href.toString());
+            objectBuilder.add("href", href);
         if (type != null)
             objectBuilder.add("type", type);
 
         return objectBuilder.build();
     }
 
+    @Override
+    public void writeTo(final JsonGenerator generator) {
+        generator.writeStartObject();
+
+        if (classes != null)
+            SirenJson.writeStrings(generator, "class", classes);
+        if (title != null)
+            generator.write("title", title);
+        if (rels != null)
+            SirenJson.writeStrings(generator, "rel", rels);
+        if (href != null)
+            generator.write("href", href);
+        if (type != null)
+            generator.write("type", type);
+
+        generator.writeEnd();
+    }
+
 }
@@ -0,0 +1,163 @@
+/*
+ * Copyright (C) 2016 Sebastian Daschner, sebastian-daschner.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sebastian_daschner.siren4javaee;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Maps elements in parallel on a {@link ForkJoinPool}, keeping the original order.
+ * Used to decode sub entities in the {@link EntityReader} and to build sub entities in the {@link EntityBuilder} and {@link EntityWriter}.
+ *
+ * @author Sebastian Daschner
+ */
+final class ParallelMapper {
+
+    /**
+     * The minimum number of elements mapped by one task.
+     */
+    private static final int MIN_CHUNK_SIZE = 32;
+
+    private ParallelMapper() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Maps all {@code elements} with the {@code mapper} and returns the results in the same order.
+     * The first exception of the mapper is rethrown as is.
+     */
+    static <T, R> List<R> map(final ForkJoinPool pool, final List<T> elements, final Function<T, R> mapper) {
+        final Object[] results = new Object[elements.size()];
+        final AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        // a few chunks per thread balance uneven elements
+        final int chunkSize = Math.max(MIN_CHUNK_SIZE, elements.size() / (pool.getParallelism() * 4));
+
+        try {
+            pool.invoke(new MapAction<>(elements, mapper, results, failure, 0, elements.size(), chunkSize));
+        } catch (RuntimeException e) {
+            // the pool rethrows copies of exceptions which occurred in other threads
+            final RuntimeException original = failure.get();
+            throw original != null ? original : e;
+        }
+        // the array only contains results of the mapper
+        @SuppressWarnings("unchecked")
+        final List<R> list = (List<R>) Arrays.asList(results);
+        return list;
+    }
+
+    /**
+     * Maps the {@code elements} in chunks with the {@code mapper} and passes the results to the {@code consumer} in the same order.
+     * Only a few chunks per thread are pulled ahead, the results of a chunk are consumed as soon as the chunk and all previous chunks are mapped,
+     * while the following chunks are still being mapped.
+     * The first exception of the mapper is rethrown as is.
+     */
+    static <T, R> void map(final ForkJoinPool pool, final Iterator<T> elements, final Function<T, R> mapper, final Consumer<R> consumer) {
+        final AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        final int maxChunks = pool.getParallelism() * 4;
+        final Deque<ForkJoinTask<List<R>>> chunks = new ArrayDeque<>(maxChunks);
+
+        try {
+            while (true) {
+                while (chunks.size() < maxChunks && elements.hasNext())
+                    chunks.add(pool.submit(mapChunk(nextChunk(elements), mapper, failure)));
+                if (chunks.isEmpty())
+                    return;
+                chunks.poll().join().forEach(consumer);
+            }
+        } catch (RuntimeException e) {
+            chunks.forEach(chunk -> chunk.cancel(false));
+            // the pool rethrows copies of exceptions which occurred in other threads
+            final RuntimeException original = failure.get();
+            throw original != null ? original : e;
+        }
+    }
+
+    private static <T> List<T> nextChunk(final Iterator<T> elements) {
+        final List<T> chunk = new ArrayList<>(MIN_CHUNK_SIZE);
+        while (chunk.size() < MIN_CHUNK_SIZE && elements.hasNext())
+            chunk.add(elements.next());
+        return chunk;
+    }
+
+    private static <T, R> ForkJoinTask<List<R>> mapChunk(final List<T> chunk, final Function<T, R> mapper,
+                                                        final AtomicReference<RuntimeException> failure) {
+        return ForkJoinTask.adapt(() -> {
+            final List<R> results = new ArrayList<>(chunk.size());
+            try {
+                for (final T element : chunk)
+                    results.add(mapper.apply(element));
+            } catch (RuntimeException e) {
+                failure.compareAndSet(null, e);
+                throw e;
+            }
+            return results;
+        });
+    }
+
+    private static class MapAction<T, R> extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final List<T> elements;
+        private final Function<T, R> mapper;
+        private final Object[] results;
+        private final AtomicReference<RuntimeException> failure;
+        private final int from;
+        private final int to;
+        private final int chunkSize;
+
+        private MapAction(final List<T> elements, final Function<T, R> mapper, final Object[] results,
+                          final AtomicReference<RuntimeException> failure, final int from, final int to, final int chunkSize) {
+            this.elements = elements;
+            this.mapper = mapper;
+            this.results = results;
+            this.failure = failure;
+            this.from = from;
+            this.to = to;
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= chunkSize) {
+                try {
+                    for (int i = from; i < to; i++)
+                        results[i] = mapper.apply(elements.get(i));
+                } catch (RuntimeException e) {
+                    failure.compareAndSet(null, e);
+                    throw e;
+                }
+                return;
+            }
+
+            final int middle = (from + to) >>> 1;
+            invokeAll(new MapAction<>(elements, mapper, results, failure, from, middle, chunkSize),
+                    new MapAction<>(elements, mapper, results, failure, middle, to, chunkSize));
+        }
+
+    }
+
+}
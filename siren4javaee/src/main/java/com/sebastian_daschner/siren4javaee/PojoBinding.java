@@ -0,0 +1,281 @@
+/*
+ * Copyright (C) 2016 Sebastian Daschner, sebastian-daschner.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sebastian_daschner.siren4javaee;
+
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.ObjDoubleConsumer;
+import java.util.function.ObjIntConsumer;
+import java.util.function.ObjLongConsumer;
+import java.util.function.Supplier;
+
+import static com.sebastian_daschner.siren4javaee.PropertyStore.BOOLEAN;
+import static com.sebastian_daschner.siren4javaee.PropertyStore.DOUBLE;
+import static com.sebastian_daschner.siren4javaee.PropertyStore.LONG;
+import static com.sebastian_daschner.siren4javaee.PropertyStore.STRING;
+
+/**
+ * The binding of Siren entities to a POJO class, declared by {@link SirenProperty} and {@link SirenLink}.
+ * The binding is created once per class, with the constructor and all setters bound, and cached.
+ * Annotated fields are set directly, annotated getters via the corresponding setters.
+ * Properties are dispatched by name and set from the property store of the entity, without intermediate maps or boxing.
+ *
+ * @author Sebastian Daschner
+ */
+final class PojoBinding {
+
+    private static final ClassValue<PojoBinding> BINDINGS = new ClassValue<PojoBinding>() {
+        @Override
+        protected PojoBinding computeValue(final Class<?> type) {
+            return new PojoBinding(type);
+        }
+    };
+
+    private final Supplier<Object> constructor;
+    private final Map<String, PropertyBinder> properties = new HashMap<>();
+    private final LinkBinder[] links;
+
+    private PojoBinding(final Class<?> type) {
+        if (Modifier.isAbstract(type.getModifiers()) || type.isMemberClass() && !Modifier.isStatic(type.getModifiers()))
+            throw new IllegalArgumentException("Could not instantiate " + type);
+        try {
+            constructor = Accessors.constructor(type.getDeclaredConstructor());
+        } catch (NoSuchMethodException e) {
+            throw new IllegalArgumentException("Could not find no-arg constructor of " + type, e);
+        }
+
+        final List<LinkBinder> links = new ArrayList<>();
+        for (final Class<?> current : PojoMapping.hierarchy(type)) {
+            for (final Member member : PojoMapping.members(current)) {
+                final AccessibleObject element = (AccessibleObject) member;
+
+                final SirenProperty property = element.getAnnotation(SirenProperty.class);
+                if (property != null) {
+                    final String name = property.name().isEmpty() ? PojoMapping.propertyName(member) : property.name();
+                    if (properties.put(name, PropertyBinder.of(name, writable(type, member))) != null)
+                        throw new IllegalArgumentException("Property " + name + " is declared more than once in " + type);
+                }
+
+                final SirenLink link = element.getAnnotation(SirenLink.class);
+                if (link != null)
+                    links.add(new LinkBinder(link.rel(), writable(type, member)));
+            }
+        }
+        this.links = links.toArray(new LinkBinder[links.size()]);
+    }
+
+    static PojoBinding of(final Class<?> type) {
+        return BINDINGS.get(type);
+    }
+
+    /**
+     * Creates a new instance and sets the properties and links of the {@code entity}.
+     * Properties of unexpected types are ignored.
+     */
+    Object bind(final Entity entity) {
+        final Object pojo = constructor.get();
+
+        final PropertyStore store = entity.properties();
+        for (int i = 0; i < store.size(); i++) {
+            final PropertyBinder binder = properties.get(store.name(i));
+            if (binder != null)
+                binder.bind(pojo, store, i);
+        }
+
+        for (final LinkBinder link : links)
+            link.bind(pojo, entity);
+        return pojo;
+    }
+
+    /**
+     * Returns the member which writes the value of the annotated {@code member}, i.e. the field itself or the setter of the getter.
+     */
+    private static Member writable(final Class<?> type, final Member member) {
+        if (member instanceof Field) {
+            if (Modifier.isFinal(member.getModifiers()))
+                throw new IllegalArgumentException("Could not bind final field " + member);
+            return member;
+        }
+
+        final String name = member.getName();
+        final String property = name.startsWith("is") && name.length() > 2 && Character.isUpperCase(name.charAt(2))
+                ? name.substring(2) : name.startsWith("get") && name.length() > 3 && Character.isUpperCase(name.charAt(3))
+                ? name.substring(3) : Character.toUpperCase(name.charAt(0)) + name.substring(1);
+        final Class<?> valueType = Accessors.type(member);
+
+        for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+            try {
+                final Method setter = current.getDeclaredMethod("set" + property, valueType);
+                if (!Modifier.isStatic(setter.getModifiers()))
+                    return setter;
+            } catch (NoSuchMethodException e) {
+                // continue with super class
+            }
+        }
+        throw new IllegalArgumentException("Could not find setter for " + member);
+    }
+
+    /**
+     * Returns the type of the value which is written by the {@code member}.
+     */
+    private static Class<?> valueType(final Member member) {
+        return member instanceof Field ? ((Field) member).getType() : ((Method) member).getParameterTypes()[0];
+    }
+
+    /**
+     * A property with a setter bound to the type of its value.
+     */
+    @FunctionalInterface
+    private interface PropertyBinder {
+
+        void bind(Object pojo, PropertyStore store, int index);
+
+        static PropertyBinder of(final String name, final Member member) {
+            final Class<?> type = valueType(member);
+
+            if (type == int.class) {
+                final ObjIntConsumer<Object> setter = Accessors.intSetter(member);
+                return (pojo, store, index) -> {
+                    if (isInt(store, index))
+                        setter.accept(pojo, (int) store.longValue(index));
+                };
+            }
+            if (type == long.class) {
+                final ObjLongConsumer<Object> setter = Accessors.longSetter(member);
+                return (pojo, store, index) -> {
+                    if (store.kind(index) == LONG)
+                        setter.accept(pojo, store.longValue(index));
+                };
+            }
+            if (type == double.class) {
+                final ObjDoubleConsumer<Object> setter = Accessors.doubleSetter(member);
+                return (pojo, store, index) -> {
+                    if (isNumber(store.kind(index)))
+                        setter.accept(pojo, store.doubleValue(index));
+                };
+            }
+
+            final BiConsumer<Object, Object> setter = Accessors.objectSetter(member);
+            if (type == boolean.class || type == Boolean.class)
+                return (pojo, store, index) -> {
+                    if (store.kind(index) == BOOLEAN)
+                        setter.accept(pojo, store.booleanValue(index));
+                };
+            if (type == String.class)
+                return (pojo, store, index) -> {
+                    if (store.kind(index) == STRING)
+                        setter.accept(pojo, store.stringValue(index));
+                };
+            if (type.isEnum()) {
+                final Map<String, Object> constants = enumConstants(type);
+                return (pojo, store, index) -> {
+                    // unknown constants are not set, so that servers can add constants without breaking clients
+                    final Object constant = store.kind(index) == STRING ? constants.get(store.stringValue(index)) : null;
+                    if (constant != null)
+                        setter.accept(pojo, constant);
+                };
+            }
+            if (type == Integer.class)
+                return (pojo, store, index) -> {
+                    if (isInt(store, index))
+                        setter.accept(pojo, (int) store.longValue(index));
+                };
+            if (type == Long.class)
+                return (pojo, store, index) -> {
+                    if (store.kind(index) == LONG)
+                        setter.accept(pojo, store.longValue(index));
+                };
+            if (type == Double.class)
+                return (pojo, store, index) -> {
+                    if (isNumber(store.kind(index)))
+                        setter.accept(pojo, store.doubleValue(index));
+                };
+            if (type == BigDecimal.class)
+                return (pojo, store, index) -> {
+                    if (isNumber(store.kind(index)))
+                        setter.accept(pojo, decimalValue(store, index));
+                };
+            if (type == BigInteger.class)
+                return (pojo, store, index) -> {
+                    if (isNumber(store.kind(index)))
+                        setter.accept(pojo, decimalValue(store, index).toBigInteger());
+                };
+
+            throw new IllegalArgumentException("Unsupported property type " + type + " of property " + name);
+        }
+
+    }
+
+    private static boolean isNumber(final byte kind) {
+        return kind == LONG || kind == DOUBLE;
+    }
+
+    /**
+     * Returns whether the property is an integral number in the range of {@code int}.
+     */
+    private static boolean isInt(final PropertyStore store, final int index) {
+        return store.kind(index) == LONG && store.longValue(index) == (int) store.longValue(index);
+    }
+
+    /**
+     * Returns the exact value of integral numbers. Decimal numbers are stored as {@code double}s,
+     * therefore their value has at most 17 significant digits.
+     */
+    private static BigDecimal decimalValue(final PropertyStore store, final int index) {
+        return store.kind(index) == LONG ? BigDecimal.valueOf(store.longValue(index)) : BigDecimal.valueOf(store.doubleValue(index));
+    }
+
+    private static Map<String, Object> enumConstants(final Class<?> type) {
+        final Map<String, Object> constants = new HashMap<>();
+        for (final Object constant : type.getEnumConstants())
+            constants.put(((Enum<?>) constant).name(), constant);
+        return constants;
+    }
+
+    private static class LinkBinder {
+
+        private final String rel;
+        private final BiConsumer<Object, Object> setter;
+
+        private LinkBinder(final String[] rels, final Member member) {
+            if (valueType(member) != URI.class)
+                throw new IllegalArgumentException("Link " + member + " must be of type " + URI.class);
+            if (rels.length == 0)
+                throw new IllegalArgumentException("At least one rel must be declared for link " + member);
+            this.rel = rels[0];
+            this.setter = Accessors.objectSetter(member);
+        }
+
+        void bind(final Object pojo, final Entity entity) {
+            final URI uri = entity.getLink(rel);
+            if (uri != null)
+                setter.accept(pojo, uri);
+        }
+
+    }
+
+}
@@ -0,0 +1,272 @@
+/*
+ * Copyright (C) 2016 Sebastian Daschner, sebastian-daschner.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sebastian_daschner.siren4javaee;
+
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * The Siren mapping of a POJO class, declared by {@link SirenEntity}, {@link SirenProperty} and {@link SirenLink}.
+ * The mapping is created once per class, with all accessors bound, and cached.
+ * Properties and links are mapped in the order of their names, members of super classes first.
+ *
+ * @author Sebastian Daschner
+ */
+final class PojoMapping {
+
+    private static final ClassValue<PojoMapping> MAPPINGS = new ClassValue<PojoMapping>() {
+        @Override
+        protected PojoMapping computeValue(final Class<?> type) {
+            return new PojoMapping(type);
+        }
+    };
+
+    private final String[] classes;
+    private final String title;
+    private final PropertyMapping[] properties;
+    private final LinkMapping[] links;
+
+    private PojoMapping(final Class<?> type) {
+        final SirenEntity entity = type.getAnnotation(SirenEntity.class);
+        classes = entity == null ? new String[0] : entity.classes();
+        title = entity == null || entity.title().isEmpty() ? null : entity.title();
+
+        final List<PropertyMapping> properties = new ArrayList<>();
+        final List<LinkMapping> links = new ArrayList<>();
+        final Set<String> names = new HashSet<>();
+
+        for (final Class<?> current : hierarchy(type)) {
+            final List<PropertyMapping> classProperties = new ArrayList<>();
+            final List<LinkMapping> classLinks = new ArrayList<>();
+
+            for (final Member member : members(current)) {
+                final AccessibleObject element = (AccessibleObject) member;
+
+                final SirenProperty property = element.getAnnotation(SirenProperty.class);
+                if (property != null) {
+                    final String name = property.name().isEmpty() ? propertyName(member) : property.name();
+                    if (!names.add(name))
+                        throw new IllegalArgumentException("Property " + name + " is declared more than once in " + type);
+                    classProperties.add(PropertyMapping.of(name, member));
+                }
+
+                final SirenLink link = element.getAnnotation(SirenLink.class);
+                if (link != null)
+                    classLinks.add(new LinkMapping(link.rel(), member));
+            }
+
+            classProperties.sort(Comparator.comparing(p -> p.name));
+            classLinks.sort(Comparator.comparing(l -> String.join(",", l.rels)));
+            properties.addAll(classProperties);
+            links.addAll(classLinks);
+        }
+
+        this.properties = properties.toArray(new PropertyMapping[properties.size()]);
+        this.links = links.toArray(new LinkMapping[links.size()]);
+    }
+
+    static PojoMapping of(final Class<?> type) {
+        return MAPPINGS.get(type);
+    }
+
+    /**
+     * Adds the classes, title, properties and links of the {@code pojo} to the {@code builder}.
+     */
+    void writeTo(final Object pojo, final EntityBuilder builder) {
+        for (final String entityClass : classes)
+            builder.addClass(entityClass);
+        if (title != null)
+            builder.setTitle(title);
+        for (final PropertyMapping property : properties)
+            property.writeTo(pojo, builder);
+        for (final LinkMapping link : links)
+            link.writeTo(pojo, builder);
+    }
+
+    static List<Class<?>> hierarchy(final Class<?> type) {
+        final List<Class<?>> hierarchy = new ArrayList<>();
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass())
+            hierarchy.add(0, current);
+        return hierarchy;
+    }
+
+    static List<Member> members(final Class<?> type) {
+        final List<Member> members = new ArrayList<>();
+        for (final Field field : type.getDeclaredFields()) {
+            if (!Modifier.isStatic(field.getModifiers()))
+                members.add(field);
+        }
+        for (final Method method : type.getDeclaredMethods()) {
+            if (!Modifier.isStatic(method.getModifiers()) && !method.isBridge() && !method.isSynthetic()) {
+                members.add(method);
+                if (method.getParameterCount() != 0 && (method.isAnnotationPresent(SirenProperty.class) || method.isAnnotationPresent(SirenLink.class)))
+                    throw new IllegalArgumentException("Mapped method " + method + " must not have parameters");
+            }
+        }
+        return members;
+    }
+
+    static String propertyName(final Member member) {
+        final String name = member.getName();
+        if (member instanceof Method) {
+            if (name.startsWith("get") && name.length() > 3 && Character.isUpperCase(name.charAt(3)))
+                return decapitalize(name.substring(3));
+            if (name.startsWith("is") && name.length() > 2 && Character.isUpperCase(name.charAt(2)))
+                return decapitalize(name.substring(2));
+        }
+        return name;
+    }
+
+    private static String decapitalize(final String name) {
+        return Character.toLowerCase(name.charAt(0)) + name.substring(1);
+    }
+
+    /**
+     * A property with an accessor bound to the type of its value.
+     */
+    private abstract static class PropertyMapping {
+
+        final String name;
+
+        private PropertyMapping(final String name) {
+            this.name = name;
+        }
+
+        abstract void writeTo(Object pojo, EntityBuilder builder);
+
+        static PropertyMapping of(final String name, final Member member) {
+            final Class<?> type = Accessors.type(member);
+
+            if (type == int.class) {
+                final ToIntFunction<Object> getter = Accessors.intGetter(member);
+                return new PropertyMapping(name) {
+                    @Override
+                    void writeTo(final Object pojo, final EntityBuilder builder) {
+                        builder.addProperty(name, getter.applyAsInt(pojo));
+                    }
+                };
+            }
+            if (type == long.class) {
+                final ToLongFunction<Object> getter = Accessors.longGetter(member);
+                return new PropertyMapping(name) {
+                    @Override
+                    void writeTo(final Object pojo, final EntityBuilder builder) {
+                        builder.addProperty(name, getter.applyAsLong(pojo));
+                    }
+                };
+            }
+            if (type == double.class) {
+                final ToDoubleFunction<Object> getter = Accessors.doubleGetter(member);
+                return new PropertyMapping(name) {
+                    @Override
+                    void writeTo(final Object pojo, final EntityBuilder builder) {
+                        builder.addProperty(name, getter.applyAsDouble(pojo));
+                    }
+                };
+            }
+            if (type == boolean.class) {
+                final Predicate<Object> getter = Accessors.booleanGetter(member);
+                return new PropertyMapping(name) {
+                    @Override
+                    void writeTo(final Object pojo, final EntityBuilder builder) {
+                        builder.addProperty(name, getter.test(pojo));
+                    }
+                };
+            }
+
+            final ValueWriter writer = valueWriter(type);
+            if (writer == null)
+                throw new IllegalArgumentException("Unsupported property type " + type + " of property " + name);
+
+            final Function<Object, Object> getter = Accessors.objectGetter(member);
+            return new PropertyMapping(name) {
+                @Override
+                void writeTo(final Object pojo, final EntityBuilder builder) {
+                    final Object value = getter.apply(pojo);
+                    if (value != null)
+                        writer.write(builder, name, value);
+                }
+            };
+        }
+
+        private static ValueWriter valueWriter(final Class<?> type) {
+            if (type == String.class)
+                return (builder, name, value) -> builder.addProperty(name, (String) value);
+            if (type == Integer.class)
+                return (builder, name, value) -> builder.addProperty(name, (int) (Integer) value);
+            if (type == Long.class)
+                return (builder, name, value) -> builder.addProperty(name, (long) (Long) value);
+            if (type == Double.class)
+                return (builder, name, value) -> builder.addProperty(name, (double) (Double) value);
+            if (type == Boolean.class)
+                return (builder, name, value) -> builder.addProperty(name, (boolean) (Boolean) value);
+            if (type == BigDecimal.class)
+                return (builder, name, value) -> builder.addProperty(name, (BigDecimal) value);
+            if (type == BigInteger.class)
+                return (builder, name, value) -> builder.addProperty(name, (BigInteger) value);
+            if (type.isEnum())
+                return (builder, name, value) -> builder.addProperty(name, ((Enum<?>) value).name());
+            return null;
+        }
+
+    }
+
+    @FunctionalInterface
+    private interface ValueWriter {
+
+        void write(EntityBuilder builder, String name, Object value);
+
+    }
+
+    private static class LinkMapping {
+
+        private final String[] rels;
+        private final Function<Object, Object> getter;
+
+        private LinkMapping(final String[] rels, final Member member) {
+            if (Accessors.type(member) != URI.class)
+                throw new IllegalArgumentException("Link " + member + " must be of type " + URI.class);
+            if (rels.length == 0)
+                throw new IllegalArgumentException("At least one rel must be declared for link " + member);
+            this.rels = rels;
+            this.getter = Accessors.objectGetter(member);
+        }
+
+        void writeTo(final Object pojo, final EntityBuilder builder) {
+            final URI uri = (URI) getter.apply(pojo);
+            if (uri != null)
+                builder.addLink(uri, rels);
+        }
+
+    }
+
+}
@@ -0,0 +1,361 @@
+/*
+ * Copyright (C) 2016 Sebastian Daschner, sebastian-daschner.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sebastian_daschner.siren4javaee;
+
+import javax.json.JsonValue;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+import static com.sebastian_daschner.siren4javaee.CompactCollections.compactMap;
+
+/**
+ * Immutable, compact storage of the properties of an entity.
+ * Numbers and booleans are kept in a primitive array, the names in a compact table which is hashed for larger sizes.
+ * Nested objects and arrays are kept as the immutable {@link JsonValue}s of the source.
+ * Typed lookups don't allocate, the boxed map is only created if requested.
+ *
+ * @author Sebastian Daschner
+ */
+final class PropertyStore {
+
+    static final PropertyStore EMPTY = new Builder().build();
+
+    static final byte NULL = 0;
+    static final byte STRING = 1;
+    static final byte LONG = 2;
+    static final byte DOUBLE = 3;
+    static final byte BOOLEAN = 4;
+    static final byte JSON = 5;
+
+    /**
+     * Up to this size the names are searched linearly.
+     */
+    private static final int MAX_LINEAR_SIZE = 8;
+
+    private final String[] names;
+    private final byte[] kinds;
+    // long values, raw double bits or 1 for true, null if the store contains no primitives
+    private final long[] primitives;
+    // strings and nested JSON values, null if the store contains neither
+    private final Object[] references;
+    // open addressing table of name index + 1, null for small sizes
+    private final int[] table;
+
+    private volatile Map<String, Serializable> map;
+
+    private PropertyStore(final String[] names, final byte[] kinds, final long[] primitives, final Object[] references) {
+        this.names = names;
+        this.kinds = kinds;
+        this.primitives = primitives;
+        this.references = references;
+        this.table = names.length > MAX_LINEAR_SIZE ? createTable(names) : null;
+    }
+
+    private static int[] createTable(final String[] names) {
+        final int[] table = new int[Integer.highestOneBit(names.length * 2 - 1) << 1];
+        for (int i = 0; i < names.length; i++) {
+            int slot = slot(names[i], table.length);
+            while (table[slot] != 0)
+                slot = (slot + 1) & (table.length - 1);
+            table[slot] = i + 1;
+        }
+        return table;
+    }
+
+    private static int slot(final String name, final int length) {
+        final int hash = name.hashCode();
+        return (hash ^ (hash >>> 16)) & (length - 1);
+    }
+
+    int size() {
+        return names.length;
+    }
+
+    String name(final int index) {
+        return names[index];
+    }
+
+    /**
+     * Returns the index of the property or {@code -1}.
+     */
+    int indexOf(final String name) {
+        if (table == null) {
+            for (int i = 0; i < names.length; i++) {
+                if (names[i].equals(name))
+                    return i;
+            }
+            return -1;
+        }
+
+        int slot = slot(name, table.length);
+        int entry;
+        while ((entry = table[slot]) != 0) {
+            if (names[entry - 1].equals(name))
+                return entry - 1;
+            slot = (slot + 1) & (table.length - 1);
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the kind of the property or {@code -1} if it doesn't exist.
+     */
+    byte kind(final int index) {
+        return index < 0 ? -1 : kinds[index];
+    }
+
+    long longValue(final int index) {
+        return primitives[index];
+    }
+
+    double doubleValue(final int index) {
+        return kinds[index] == LONG ? primitives[index] : Double.longBitsToDouble(primitives[index]);
+    }
+
+    boolean booleanValue(final int index) {
+        return primitives[index] != 0;
+    }
+
+    String stringValue(final int index) {
+        return (String) references[index];
+    }
+
+    JsonValue jsonValue(final int index) {
+        return (JsonValue) references[index];
+    }
+
+    /**
+     * Passes all properties with their values, which are either {@link String}s, {@link Boolean}s, {@link Long}s, {@link Double}s,
+     * nested {@link JsonValue}s or {@code null}.
+     */
+    void forEach(final BiConsumer<String, Object> consumer) {
+        for (int i = 0; i < names.length; i++)
+            consumer.accept(names[i], kinds[i] == JSON ? references[i] : boxedValue(i));
+    }
+
+    /**
+     * Returns the properties as a map of {@link String}s, {@link Boolean}s, {@link Long}s or {@link Double}s, which is created once.
+     * Nested objects and arrays are contained as {@code null} values.
+     */
+    Map<String, Serializable> asMap() {
+        Map<String, Serializable> map = this.map;
+        if (map == null) {
+            final Map<String, Serializable> values = new HashMap<>();
+            for (int i = 0; i < names.length; i++)
+                values.put(names[i], boxedValue(i));
+            this.map = map = compactMap(values);
+        }
+        return map;
+    }
+
+    private Serializable boxedValue(final int index) {
+        switch (kinds[index]) {
+            case STRING:
+                return (String) references[index];
+            case LONG:
+                return primitives[index];
+            case DOUBLE:
+                return Double.longBitsToDouble(primitives[index]);
+            case BOOLEAN:
+                return primitives[index] != 0;
+            default:
+                return null;
+        }
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        final PropertyStore that = (PropertyStore) o;
+        if (names.length != that.names.length) return false;
+
+        for (int i = 0; i < names.length; i++) {
+            final int index = that.indexOf(names[i]);
+            if (index < 0 || kinds[i] != that.kinds[index])
+                return false;
+            if (!valueEquals(i, that, index))
+                return false;
+        }
+        return true;
+    }
+
+    private boolean valueEquals(final int index, final PropertyStore that, final int thatIndex) {
+        switch (kinds[index]) {
+            case STRING:
+            case JSON:
+                return references[index].equals(that.references[thatIndex]);
+            case LONG:
+            case BOOLEAN:
+            case DOUBLE:
+                return primitives[index] == that.primitives[thatIndex];
+            default:
+                return true;
+        }
+    }
+
+    @Override
+    public int hashCode() {
+        // independent of the order of the properties
+        int result = 0;
+        for (int i = 0; i < names.length; i++)
+            result += names[i].hashCode() ^ valueHashCode(i);
+        return result;
+    }
+
+    private int valueHashCode(final int index) {
+        switch (kinds[index]) {
+            case STRING:
+            case JSON:
+                return references[index].hashCode();
+            case LONG:
+            case BOOLEAN:
+            case DOUBLE:
+                return Long.hashCode(primitives[index]);
+            default:
+                return 0;
+        }
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder builder = new StringBuilder("{");
+        forEach((name, value) -> {
+            if (builder.length() > 1)
+                builder.append(", ");
+            builder.append(name).append('=').append(value);
+        });
+        return builder.append('}').toString();
+    }
+
+    /**
+     * Collects properties, later values replace earlier values with the same name.
+     */
+    static class Builder {
+
+        private String[] names = new String[4];
+        private byte[] kinds = new byte[4];
+        private long[] primitives;
+        private Object[] references;
+        private final Map<String, Integer> indexes = new HashMap<>();
+        private int size;
+
+        Builder addString(final String name, final String value) {
+            if (value == null)
+                return addNull(name);
+
+            addReference(name, STRING, value);
+            return this;
+        }
+
+        /**
+         * Adds the nested object or array, which is kept as is.
+         */
+        Builder addJson(final String name, final JsonValue value) {
+            if (value == null || value.getValueType() == JsonValue.ValueType.NULL)
+                return addNull(name);
+
+            addReference(name, JSON, value);
+            return this;
+        }
+
+        Builder addLong(final String name, final long value) {
+            addPrimitive(name, LONG, value);
+            return this;
+        }
+
+        Builder addDouble(final String name, final double value) {
+            addPrimitive(name, DOUBLE, Double.doubleToRawLongBits(value));
+            return this;
+        }
+
+        Builder addBoolean(final String name, final boolean value) {
+            addPrimitive(name, BOOLEAN, value ? 1L : 0L);
+            return this;
+        }
+
+        Builder addNull(final String name) {
+            add(name, NULL);
+            return this;
+        }
+
+        /**
+         * Adds the {@link String}, {@link Boolean}, {@link Long}, {@link Double} or {@code null} value.
+         */
+        Builder add(final String name, final Serializable value) {
+            if (value == null)
+                return addNull(name);
+            if (value instanceof String)
+                return addString(name, (String) value);
+            if (value instanceof Long || value instanceof Integer)
+                return addLong(name, ((Number) value).longValue());
+            if (value instanceof Double)
+                return addDouble(name, (Double) value);
+            if (value instanceof Boolean)
+                return addBoolean(name, (Boolean) value);
+            throw new IllegalArgumentException("Could not add property " + name + " of type " + value.getClass());
+        }
+
+        private void addReference(final String name, final byte kind, final Object reference) {
+            final int index = add(name, kind);
+            if (references == null)
+                references = new Object[names.length];
+            references[index] = reference;
+        }
+
+        private void addPrimitive(final String name, final byte kind, final long primitive) {
+            final int index = add(name, kind);
+            if (primitives == null)
+                primitives = new long[names.length];
+            primitives[index] = primitive;
+        }
+
+        private int add(final String name, final byte kind) {
+            final Integer existing = indexes.putIfAbsent(name, size);
+            final int index = existing != null ? existing : size++;
+
+            if (index == names.length) {
+                final int capacity = names.length * 2;
+                names = Arrays.copyOf(names, capacity);
+                kinds = Arrays.copyOf(kinds, capacity);
+                if (primitives != null)
+                    primitives = Arrays.copyOf(primitives, capacity);
+                if (references != null)
+                    references = Arrays.copyOf(references, capacity);
+            }
+
+            names[index] = name;
+            kinds[index] = kind;
+            if (references != null)
+                references[index] = null;
+            return index;
+        }
+
+        PropertyStore build() {
+            if (size == 0 && EMPTY != null)
+                return EMPTY;
+            return new PropertyStore(Arrays.copyOf(names, size), Arrays.copyOf(kinds, size),
+                    primitives == null ? null : Arrays.copyOf(primitives, size),
+                    references == null ? null : Arrays.copyOf(references, size));
+        }
+
+    }
+
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright (C) 2016 Sebastian Daschner, sebastian-daschner.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sebastian_daschner.siren4javaee;
+
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import static java.util.Collections.unmodifiableSet;
+
+/**
+ * Options which sections of an entity are read by {@link EntityReader}.
+ * Sections that are not included are skipped at the parser level, without creating any objects for them,
+ * e.g. for clients that only navigate via links and actions.
+ * The options apply to sub entities as well.
+ * Classes and titles of entities are always read.
+ * <p>
+ * Sub entities of {@link javax.json.JsonObject} sources can be decoded in parallel, see {@link #parallel(ForkJoinPool, int)}.
+ * Instances are immutable and can be shared across threads.
+ *
+ * @author Sebastian Daschner
+ */
+public final class ReadOptions {
+
+    /**
+     * The default minimum number of sub entities which are decoded in parallel.
+     */
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 1024;
+
+    private static final ReadOptions ALL = new ReadOptions(EnumSet.allOf(Section.class), null, 0);
+
+    private final Set<Section> sections;
+    private final ForkJoinPool pool;
+    private final int parallelThreshold;
+
+    private ReadOptions(final Set<Section> sections, final ForkJoinPool pool, final int parallelThreshold) {
+        this.sections = unmodifiableSet(sections);
+        this.pool = pool;
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    /**
+     * Returns options which read all sections.
+     */
+    public static ReadOptions all() {
+        return ALL;
+    }
+
+    /**
+     * Returns options which only read the given sections.
+     */
+    public static ReadOptions of(final Section... sections) {
+        final EnumSet<Section> set = EnumSet.noneOf(Section.class);
+        for (final Section section : sections)
+            set.add(section);
+        return new ReadOptions(set, null, 0);
+    }
+
+    /**
+     * Returns options with the same sections which decode arrays of at least {@link #DEFAULT_PARALLEL_THRESHOLD} sub entities in parallel.
+     *
+     * @see #parallel(ForkJoinPool, int)
+     */
+    public ReadOptions parallel(final ForkJoinPool pool) {
+        return parallel(pool, DEFAULT_PARALLEL_THRESHOLD);
+    }
+
+    /**
+     * Returns options with the same sections which decode arrays of at least {@code threshold} sub entities in parallel,
+     * split across the {@code pool}.
+     * The order of the sub entities is kept.
+     * Only applies to {@link javax.json.JsonObject} sources, streams are always read in a single pass.
+     */
+    public ReadOptions parallel(final ForkJoinPool pool, final int threshold) {
+        Objects.requireNonNull(pool);
+        if (threshold < 1)
+            throw new IllegalArgumentException("Parallel threshold must be positive");
+        return new ReadOptions(sections, pool, threshold);
+    }
+
+    public boolean includes(final Section section) {
+        return sections.contains(section);
+    }
+
+    public Set<Section> getSections() {
+        return sections;
+    }
+
+    /**
+     * Returns the pool used for parallel decoding or {@code null} if sub entities are decoded sequentially.
+     */
+    public ForkJoinPool getPool() {
+        return pool;
+    }
+
+    public int getParallelThreshold() {
+        return parallelThreshold;
+    }
+
+    boolean isParallel(final int size) {
+        return pool != null && size >= parallelThreshold;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        final ReadOptions that = (ReadOptions) o;
+
+        if (parallelThreshold != that.parallelThreshold) return false;
+        if (!sections.equals(that.sections)) return false;
+        return pool != null ? pool.equals(that.pool) : that.pool == null;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = sections.hashCode();
+        result = 31 * result + (pool != null ? pool.hashCode() : 0);
+        result = 31 * result + parallelThreshold;
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "ReadOptions{" +
+                "sections=" + sections +
+                ", pool=" + pool +
+                ", parallelThreshold=" + parallelThreshold +
+                '}';
+    }
+
+    /**
+     * The optional sections of a Siren entity.
+     */
+    public enum Section {
+
+        PROPERTIES,
+        ENTITIES,
+        LINKS,
+        ACTIONS
+
+    }
+
+}
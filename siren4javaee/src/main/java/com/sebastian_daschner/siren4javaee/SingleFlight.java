@@ -0,0 +1,99 @@
+/*
+ * Copyright (C) 2016 Sebastian Daschner, sebastian-daschner.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sebastian_daschner.siren4javaee;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent calls with equal keys into a single in-flight call, whose result or error is shared by all callers.
+ * Calls which start after the in-flight call has completed start a new call.
+ *
+ * @author Sebastian Daschner
+ */
+final class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> calls = new ConcurrentHashMap<>();
+
+    /**
+     * Executes the {@code call} on the calling thread or waits for the in-flight call with the same {@code key}.
+     */
+    V execute(final K key, final Supplier<V> call) {
+        final CompletableFuture<V> future = new CompletableFuture<>();
+        final CompletableFuture<V> inFlight = calls.putIfAbsent(key, future);
+        if (inFlight != null)
+            return join(inFlight);
+
+        try {
+            final V value = call.get();
+            calls.remove(key, future);
+            future.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            calls.remove(key, future);
+            future.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Starts the asynchronous {@code call} or returns a stage of the in-flight call with the same {@code key}.
+     * The returned stages are dependents, completing them doesn't affect other callers.
+     */
+    CompletionStage<V> executeAsync(final K key, final Supplier<? extends CompletionStage<V>> call) {
+        final CompletableFuture<V> future = new CompletableFuture<>();
+        final CompletableFuture<V> inFlight = calls.putIfAbsent(key, future);
+        if (inFlight != null)
+            return inFlight.thenApply(Function.identity());
+
+        try {
+            call.get().whenComplete((value, throwable) -> {
+                calls.remove(key, future);
+                if (throwable != null)
+                    future.completeExceptionally(throwable);
+                else
+                    future.complete(value);
+            });
+        } catch (RuntimeException | Error e) {
+            calls.remove(key, future);
+            future.completeExceptionally(e);
+        }
+        return future.thenApply(Function.identity());
+    }
+
+    int inFlight() {
+        return calls.size();
+    }
+
+    private static <V> V join(final CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException)
+                throw (RuntimeException) cause;
+            if (cause instanceof Error)
+                throw (Error) cause;
+            throw e;
+        }
+    }
+
+}
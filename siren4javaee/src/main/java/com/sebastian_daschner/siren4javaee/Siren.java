@@ -0,0 +1,217 @@
+/*
+ * Copyright (C) 2016 Sebastian Daschner, sebastian-daschner.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sebastian_daschner.siren4javaee;
+
+import javax.json.spi.JsonProvider;
+import javax.json.stream.JsonGenerator;
+import javax.ws.rs.client.Client;
+import javax.ws.rs.core.StreamingOutput;
+import java.io.OutputStream;
+import java.util.function.Consumer;
+
+/**
+ * Class to create Siren builders, clients and readers.
+ * <p>
+ * The builder construct JSONP {@link javax.json.JsonObject}s.
+ * <b>Example:</b>
+ * <pre>
+ * Siren.createEntityBuilder()
+ *     .addClass("book")
+ *     .addProperty("isbn", "1-2345-3456")
+ *     .addProperty("name", "Java")
+ *     .addEntity(
+ *         Siren.createEntityBuilder()
+ *             .addProperty("test", 1)
+ *             .addSubEntityRel("item")
+ *             .addLink(URI.create(...), "other")
+ *             .addAction(
+ *                 Siren.createActionBuilder()...)
+ *             .build())
+ *     .addLink(uri, "self")
+ *     .build();
+ * </pre>
+ * <p>
+ * The entity writer writes the same structures directly to a JSONP {@link JsonGenerator} or {@link OutputStream} without buffering.
+ * <b>Example:</b>
+ * <pre>
+ * try (EntityWriter writer = Siren.createEntityWriter(outputStream)) {
+ *     writer.addClass("books")
+ *         .addEntity(Siren.createEntityBuilder()...)
+ *         .addLink(uri, "self");
+ * }
+ * </pre>
+ * <p>
+ * The client is used to retrieve entities and follow actions.
+ * <b>Example:</b>
+ * <pre>
+ * SirenClient client = Siren.createClient(ClientBuilder.newClient());
+ * Entity entity = client.retrieveEntity(uri);
+ * JsonObject properties = ...
+ * client.performAction(entity, "action-name", properties);
+ * </pre>
+ * <p>
+ * The readers reads {@link javax.json.JsonObject}s into {@link Entity}s and is
+ * usually just used indirectly in the {@link SirenClient}, but can also be used standalone.
+ * <b>Example:</b>
+ * <pre>
+ * EntityReader reader = Siren.createEntityReader();
+ * Entity entity = sirenReader.read(jsonObject);
+ * </pre>
+ * <p>
+ * All static methods share the JSONP factories of the default {@link JsonProvider}, which is looked up only once.
+ * To use a specific provider, a {@link SirenFactory} is created by {@link #with(JsonProvider)}:
+ * <pre>
+ * SirenFactory siren = Siren.with(jsonProvider);
+ * siren.createEntityBuilder()...
+ * </pre>
+ *
+ * @author Sebastian Daschner
+ */
+public final class Siren {
+
+    /**
+     * The Siren media type {@code application/vnd.siren+json}.
+     */
+    public static final String MEDIA_TYPE = "application/vnd.siren+json";
+
+    private Siren() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Creates a {@link SirenFactory} of which all builders, writers, readers and clients use the given JSONP {@code provider}.
+     * The factory should be created once and reused.
+     */
+    public static SirenFactory with(final JsonProvider provider) {
+        return new SirenFactory(provider);
+    }
+
+    /**
+     * Builder pattern factory method to create an empty {@link EntityBuilder}.
+     * By calling {@link EntityBuilder#build()} the final JSONP object will be created.
+     */
+    public static EntityBuilder createEntityBuilder() {
+        return defaultFactory().createEntityBuilder();
+    }
+
+    /**
+     * Creates an {@link EntityWriter} that writes a Siren entity directly to the given {@code generator}.
+     * The entity is written as the next value in the current context of the generator.
+     * The generator is not closed by the writer.
+     */
+    public static EntityWriter createEntityWriter(final JsonGenerator generator) {
+        return defaultFactory().createEntityWriter(generator);
+    }
+
+    /**
+     * Creates an {@link EntityWriter} that writes a Siren entity directly to the given {@code outputStream} in UTF-8.
+     * The stream is closed when the writer is closed.
+     */
+    public static EntityWriter createEntityWriter(final OutputStream outputStream) {
+        return defaultFactory().createEntityWriter(outputStream);
+    }
+
+    /**
+     * Creates an {@link EntityMapper} which maps annotated POJOs to Siren entities.
+     */
+    public static EntityMapper createEntityMapper() {
+        return defaultFactory().createEntityMapper();
+    }
+
+    /**
+     * Creates a JAX-RS {@link StreamingOutput} which writes a Siren entity to the response via an {@link EntityWriter}.
+     * The {@code content} is only invoked while the response is written; the writer is closed afterwards.
+     */
+    public static StreamingOutput createStreamingOutput(final Consumer<EntityWriter> content) {
+        return defaultFactory().createStreamingOutput(content);
+    }
+
+    /**
+     * Builder pattern factory method to create an empty {@link EntityTemplateBuilder}.
+     * By calling {@link EntityTemplateBuilder#build()} the precompiled {@link EntityTemplate} will be created.
+     */
+    public static EntityTemplateBuilder createEntityTemplateBuilder() {
+        return defaultFactory().createEntityTemplateBuilder();
+    }
+
+    /**
+     * Builder pattern factory method to create an empty {@link LinkBuilder} which is used inside {@link EntityBuilder}s.
+     * By calling {@link LinkBuilder#build()} the final JSONP object will be created.
+     */
+    public static LinkBuilder createLinkBuilder() {
+        return defaultFactory().createLinkBuilder();
+    }
+
+    /**
+     * Builder pattern factory method to create an empty {@link ActionBuilder} which is used inside {@link EntityBuilder}s.
+     * By calling {@link ActionBuilder#build()} the final JSONP object will be created.
+     */
+    public static ActionBuilder createActionBuilder() {
+        return defaultFactory().createActionBuilder();
+    }
+
+    /**
+     * Builder pattern factory method to create an empty {@link FieldBuilder} which is used inside {@link ActionBuilder}s.
+     * By calling {@link FieldBuilder#build()} the final JSONP object will be created.
+     */
+    public static FieldBuilder createFieldBuilder() {
+        return defaultFactory().createFieldBuilder();
+    }
+
+    /**
+     * Creates a new Siren client that uses the given {@code client} to access the locations.
+     * Can retrieve {@link Entity}s and perform Siren actions.
+     */
+    public static SirenClient createClient(final Client client) {
+        return defaultFactory().createClient(client);
+    }
+
+    /**
+     * Creates a new Siren client that uses the given {@code client} to access the locations and caches the retrieved
+     * entities in the given {@code cache}.
+     */
+    public static SirenClient createClient(final Client client, final EntityCache cache) {
+        return defaultFactory().createClient(client, cache);
+    }
+
+    /**
+     * Creates a new asynchronous Siren client that uses the given {@code client} to access the locations.
+     * Can retrieve {@link Entity}s and perform Siren actions without blocking the calling threads.
+     */
+    public static AsyncSirenClient createAsyncClient(final Client client) {
+        return defaultFactory().createAsyncClient(client);
+    }
+
+    /**
+     * Creates a {@link EntityReader} that is used to read {@link javax.json.JsonObject}s into {@link Entity}s.
+     * This class is usually used indirectly by using the {@link SirenClient}, but can also be used standalone.
+     */
+    public static EntityReader createEntityReader() {
+        return defaultFactory().createEntityReader();
+    }
+
+    static SirenFactory defaultFactory() {
+        return DefaultFactoryHolder.FACTORY;
+    }
+
+    /**
+     * Looks up the default provider lazily, on first usage.
+     */
+    private static class DefaultFactoryHolder {
+        private static final SirenFactory FACTORY = new SirenFactory(JsonProvider.provider());
+    }
+
+}
@@ -0,0 +1,218 @@
+package com.sebastian_daschner.siren4javaee;
+
+import javax.json.JsonObject;
+import javax.json.JsonObjectBuilder;
+import javax.json.JsonValue;
+import javax.ws.rs.client.Client;
+import javax.ws.rs.client.Invocation;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import java.io.InputStream;
+import java.net.URI;
+
+/**
+ * Client that reads Siren entities and performs actions.
+ * The client is configured using a {@link Client}.
+ *
+ * @author Sebastian Daschner
+ */
+public class SirenClient {
+
+    private final SirenFactory factory;
+    private final Client client;
+    private final EntityReader entityReader;
+    private final EntityCache cache;
+    private final SingleFlight<String, Entity> retrievals = new SingleFlight<>();
+
+    SirenClient(final SirenFactory factory, final Client client) {
+        this(factory, client, null);
+    }
+
+    SirenClient(final SirenFactory factory, final Client client, final EntityCache cache) {
+        this.factory = factory;
+        this.client = client;
+        this.cache = cache;
+        entityReader = factory.createEntityReader();
+    }
+
+    /**
+     * Gets a Siren entity following the {@code uri}.
+     * If the client has been created with an {@link EntityCache}, fresh cached entities are returned without a request
+     * and stale ones are revalidated.
+     * Concurrent calls for the same {@code uri} share a single request and the read entity.
+     */
+    public Entity retrieveEntity(final URI uri) {
+        if (cache == null)
+            return retrievals.execute(requestKey(uri), () -> readEntity(entityReader,
+                    client.target(uri).request(MediaType.APPLICATION_JSON_TYPE).get()));
+
+        final String key = uri.toString();
+        final CacheEntry cached = cache.get(key);
+        if (cached != null && cached.isFresh(cache.now()))
+            return cached.getEntity();
+
+        return retrievals.execute(requestKey(uri), () -> retrieveCachedEntity(uri, key));
+    }
+
+    /**
+     * Reads the entity directly from the stream of the successful {@code response}, without an intermediate {@link JsonObject},
+     * and closes the response.
+     */
+    static Entity readEntity(final EntityReader entityReader, final Response response) {
+        try {
+            if (response.getStatusInfo().getFamily() != Response.Status.Family.SUCCESSFUL)
+                throw new RuntimeException("Could not retrieve entity, HTTP status not successful, status: " + response.getStatus());
+            return entityReader.read(response.readEntity(InputStream.class));
+        } finally {
+            response.close();
+        }
+    }
+
+    /**
+     * Returns the key of concurrent requests which can be coalesced, i.e. which have the same URI and {@code Accept} header.
+     */
+    static String requestKey(final URI uri) {
+        return MediaType.APPLICATION_JSON + ' ' + uri;
+    }
+
+    private Entity retrieveCachedEntity(final URI uri, final String key) {
+        final CacheEntry cached = cache.get(key);
+        if (cached != null && cached.isFresh(cache.now()))
+            return cached.getEntity();
+
+        final Invocation.Builder invocation = client.target(uri).request(MediaType.APPLICATION_JSON_TYPE);
+        if (cached != null) {
+            if (cached.getEtag() != null)
+                invocation.header(HttpHeaders.IF_NONE_MATCH, cached.getEtag());
+            if (cached.getLastModified() != null)
+                invocation.header(HttpHeaders.IF_MODIFIED_SINCE, cached.getLastModified());
+        }
+
+        final Response response = invocation.get();
+        try {
+            if (cached != null && response.getStatus() == Response.Status.NOT_MODIFIED.getStatusCode()) {
+                cache.put(key, cached.revalidated(response, cache.now()));
+                return cached.getEntity();
+            }
+
+            if (response.getStatusInfo().getFamily() != Response.Status.Family.SUCCESSFUL)
+                throw new RuntimeException("Could not retrieve entity, HTTP status not successful, status: " + response.getStatus());
+
+            final Entity entity = entityReader.read(response.readEntity(InputStream.class));
+            final CacheEntry entry = CacheEntry.of(entity, response, cache.now());
+            if (entry == null)
+                cache.remove(key);
+            else
+                cache.put(key, entry);
+            return entity;
+        } finally {
+            response.close();
+        }
+    }
+
+    /**
+     * Gets a Siren entity by following the link of the given {@code entity} that contains the given {@code rel}.
+     * This is a shortcut for calling
+     * <pre>
+     *     URI uri = entity.getLink("rel");
+     *     client.retrieveEntity(uri);
+     * </pre>
+     */
+    public Entity followLink(final Entity entity, final String rel) {
+        final URI uri = entity.getLink(rel);
+        if (uri == null)
+            throw new RuntimeException("Could not find link with rel " + rel + " in entity links");
+        return retrieveEntity(uri);
+    }
+
+    /**
+     * Performs the action contained in the {@code entity} with the given {@code action} name.
+     * No properties are provided.
+     *
+     * @see #performAction(Entity, String, JsonObject)
+     */
+    public Response performAction(final Entity entity, final String action) {
+        return performAction(entity, action, null);
+    }
+
+    /**
+     * Performs the action contained in the {@code entity} with the given {@code action} name and field information contained in {@code properties}.
+     */
+    public Response performAction(final Entity entity, final String action, final JsonObject properties) {
+        final Action entityAction = entity.getAction(action);
+        if (entityAction == null)
+            throw new RuntimeException("Could not find action with name " + action + " in entity");
+
+        return performAction(entityAction, properties);
+    }
+
+    /**
+     * Performs the given action.
+     * No properties are provided.
+     *
+     * @see #performAction(Action, JsonObject)
+     */
+    public Response performAction(final Action action) {
+        return performAction(action, null);
+    }
+
+    /**
+     * Performs the given action with field information contained in {@code properties}.
+     */
+    public Response performAction(final Action action, final JsonObject properties) {
+        final Invocation.Builder invocation = client.target(action.getHref()).request(MediaType.WILDCARD_TYPE);
+        final javax.ws.rs.client.Entity<JsonObject> entity = buildActionEntity(factory, action, properties);
+
+        return checkStatus(invoke(invocation, action.getMethod(), entity));
+    }
+
+    /**
+     * Builds the JSON request entity of the {@code action} from the {@code properties}, or {@code null} if the action has no fields.
+     */
+    static javax.ws.rs.client.Entity<JsonObject> buildActionEntity(final SirenFactory factory, final Action action, final JsonObject properties) {
+        final MediaType type = action.getType();
+        if (type != null && !MediaType.APPLICATION_JSON_TYPE.isCompatible(type))
+            throw new RuntimeException("Type " + type + " is not compatible with application/json");
+
+        if (action.getFields().isEmpty())
+            return null;
+
+        final JsonObject entity = action.getFields().stream().collect(factory.builderFactory()::createObjectBuilder, (b, f) -> {
+            final String name = f.getName();
+            addJsonValue(b, name, properties, f.isRequired());
+        }, (c1, c2) -> c2.build().forEach(c1::add)).build();
+
+        return javax.ws.rs.client.Entity.json(entity);
+    }
+
+    private static void addJsonValue(final JsonObjectBuilder builder, final String name, final JsonObject properties, final boolean required) {
+        final JsonValue value = properties == null ? null : properties.get(name);
+
+        if (value == null) {
+            if (required)
+                throw new RuntimeException("Required field " + name + " not provided");
+            return;
+        }
+
+        builder.add(name, value);
+    }
+
+    /**
+     * Returns the {@code response} if the status is successful, otherwise closes the response, to release the connection, and throws.
+     */
+    static Response checkStatus(final Response response) {
+        if (response.getStatusInfo().getFamily() != Response.Status.Family.SUCCESSFUL) {
+            response.close();
+            throw new RuntimeException("Could not successfully perform action, HTTP status not successful, status: " + response.getStatus());
+        }
+        return response;
+    }
+
+    private Response invoke(final Invocation.Builder invocation, final String method, final javax.ws.rs.client.Entity<JsonObject> entity) {
+        if (entity == null)
+            return invocation.method(method);
+        return invocation.method(method, entity);
+    }
+
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright (C) 2016 Sebastian Daschner, sebastian-daschner.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sebastian_daschner.siren4javaee;
+
+import javax.json.JsonBuilderFactory;
+import javax.json.spi.JsonProvider;
+import javax.json.stream.JsonGenerator;
+import javax.json.stream.JsonGeneratorFactory;
+import javax.json.stream.JsonParserFactory;
+import javax.ws.rs.client.Client;
+import javax.ws.rs.core.StreamingOutput;
+import java.io.OutputStream;
+import java.util.Collections;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Creates Siren builders, writers, clients and readers that all share the JSONP factories of one {@link JsonProvider}.
+ * The factories are created once, instead of looking up the provider for every created JSON structure.
+ * <p>
+ * A factory for a specific provider is created by calling {@link Siren#with(JsonProvider)};
+ * the static methods of {@link Siren} use a default factory of the provider found by {@link JsonProvider#provider()}.
+ * Instances are immutable and can be shared across threads.
+ *
+ * @author Sebastian Daschner
+ */
+public final class SirenFactory {
+
+    private final JsonBuilderFactory builderFactory;
+    private final JsonGeneratorFactory generatorFactory;
+    private final JsonParserFactory parserFactory;
+
+    SirenFactory(final JsonProvider provider) {
+        Objects.requireNonNull(provider);
+        builderFactory = provider.createBuilderFactory(Collections.emptyMap());
+        generatorFactory = provider.createGeneratorFactory(Collections.emptyMap());
+        parserFactory = provider.createParserFactory(Collections.emptyMap());
+    }
+
+    /**
+     * Builder pattern factory method to create an empty {@link EntityBuilder}.
+     * By calling {@link EntityBuilder#build()} the final JSONP object will be created.
+     */
+    public EntityBuilder createEntityBuilder() {
+        return new EntityBuilder(this);
+    }
+
+    /**
+     * Creates an {@link EntityWriter} that writes a Siren entity directly to the given {@code generator}.
+     * The entity is written as the next value in the current context of the generator.
+     * The generator is not closed by the writer.
+     */
+    public EntityWriter createEntityWriter(final JsonGenerator generator) {
+        return new EntityWriter(this, generator, false);
+    }
+
+    /**
+     * Creates an {@link EntityWriter} that writes a Siren entity directly to the given {@code outputStream} in UTF-8.
+     * The stream is closed when the writer is closed.
+     */
+    public EntityWriter createEntityWriter(final OutputStream outputStream) {
+        return new EntityWriter(this, generatorFactory.createGenerator(outputStream), true);
+    }
+
+    /**
+     * Creates an {@link EntityMapper} which maps annotated POJOs to Siren entities.
+     */
+    public EntityMapper createEntityMapper() {
+        return new EntityMapper(this);
+    }
+
+    /**
+     * Creates a JAX-RS {@link StreamingOutput} which writes a Siren entity to the response via an {@link EntityWriter}.
+     * The {@code content} is only invoked while the response is written; the writer is closed afterwards.
+     */
+    public StreamingOutput createStreamingOutput(final Consumer<EntityWriter> content) {
+        return output -> {
+            final EntityWriter writer = new EntityWriter(this, generatorFactory.createGenerator(output), false);
+            content.accept(writer);
+            // the output stream is closed by the JAX-RS runtime
+            writer.close();
+        };
+    }
+
+    /**
+     * Builder pattern factory method to create an empty {@link EntityTemplateBuilder}.
+     * By calling {@link EntityTemplateBuilder#build()} the precompiled {@link EntityTemplate} will be created.
+     */
+    public EntityTemplateBuilder createEntityTemplateBuilder() {
+        return new EntityTemplateBuilder(this);
+    }
+
+    /**
+     * Builder pattern factory method to create an empty {@link LinkBuilder} which is used inside {@link EntityBuilder}s.
+     * By calling {@link LinkBuilder#build()} the final JSONP object will be created.
+     */
+    public LinkBuilder createLinkBuilder() {
+        return new LinkBuilder(this);
+    }
+
+    /**
+     * Builder pattern factory method to create an empty {@link ActionBuilder} which is used inside {@link EntityBuilder}s.
+     * By calling {@link ActionBuilder#build()} the final JSONP object will be created.
+     */
+    public ActionBuilder createActionBuilder() {
+        return new ActionBuilder(this);
+    }
+
+    /**
+     * Builder pattern factory method to create an empty {@link FieldBuilder} which is used inside {@link ActionBuilder}s.
+     * By calling {@link FieldBuilder#build()} the final JSONP object will be created.
+     */
+    public FieldBuilder createFieldBuilder() {
+        return new FieldBuilder(this);
+    }
+
+    /**
+     * Creates a new Siren client that uses the given {@code client} to access the locations.
+     * Can retrieve {@link Entity}s and perform Siren actions.
+     */
+    public SirenClient createClient(final Client client) {
+        return new SirenClient(this, client);
+    }
+
+    /**
+     * Creates a new Siren client that uses the given {@code client} to access the locations and caches the retrieved
+     * entities in the given {@code cache}.
+     */
+    public SirenClient createClient(final Client client, final EntityCache cache) {
+        return new SirenClient(this, client, cache);
+    }
+
+    /**
+     * Creates a new asynchronous Siren client that uses the given {@code client} to access the locations.
+     * Can retrieve {@link Entity}s and perform Siren actions without blocking the calling threads.
+     */
+    public AsyncSirenClient createAsyncClient(final Client client) {
+        return new AsyncSirenClient(this, client);
+    }
+
+    /**
+     * Creates a {@link EntityReader} that is used to read {@link javax.json.JsonObject}s into {@link Entity}s.
+     * This class is usually used indirectly by using the {@link SirenClient}, but can also be used standalone.
+     */
+    public EntityReader createEntityReader() {
+        return new EntityReader(this);
+    }
+
+    JsonBuilderFactory builderFactory() {
+        return builderFactory;
+    }
+
+    JsonGeneratorFactory generatorFactory() {
+        return generatorFactory;
+    }
+
+    JsonParserFactory parserFactory() {
+        return parserFactory;
+    }
+
+}
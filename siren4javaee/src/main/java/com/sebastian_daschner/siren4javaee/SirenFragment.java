@@ -0,0 +1,55 @@
+/*
+ * Copyright (C) 2016 Sebastian Daschner, sebastian-daschner.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sebastian_daschner.siren4javaee;
+
+import javax.json.JsonObject;
+import javax.json.stream.JsonGenerator;
+
+/**
+ * Immutable, prebuilt Siren link or action that is created once by {@link LinkBuilder#freeze()} or {@link ActionBuilder#freeze()}
+ * and added to many entities, e.g. for actions that are identical in every response.
+ * The fragment is added without building the contained objects again.
+ * Instances can be shared across threads.
+ *
+ * @author Sebastian Daschner
+ */
+public final class SirenFragment implements SirenWritable {
+
+    private final JsonObject object;
+
+    SirenFragment(final JsonObject object) {
+        this.object = object;
+    }
+
+    /**
+     * Returns the prebuilt, immutable JSONP object.
+     */
+    @Override
+    public JsonObject build() {
+        return object;
+    }
+
+    @Override
+    public void writeTo(final JsonGenerator generator) {
+        generator.write(object);
+    }
+
+    @Override
+    public String toString() {
+        return object.toString();
+    }
+
+}
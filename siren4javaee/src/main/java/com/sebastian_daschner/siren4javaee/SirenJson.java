@@ -0,0 +1,126 @@
+/*
+ * Copyright (C) 2016 Sebastian Daschner, sebastian-daschner.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sebastian_daschner.siren4javaee;
+
+import javax.json.JsonArray;
+import javax.json.JsonArrayBuilder;
+import javax.json.JsonBuilderFactory;
+import javax.json.JsonObject;
+import javax.json.JsonObjectBuilder;
+import javax.json.JsonValue;
+import javax.json.stream.JsonGenerator;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Shared functionality to build or write the contents of the Siren builders.
+ *
+ * @author Sebastian Daschner
+ */
+final class SirenJson {
+
+    private SirenJson() {
+        throw new UnsupportedOperationException();
+    }
+
+    static JsonArray buildStrings(final JsonBuilderFactory factory, final Collection<String> strings) {
+        final JsonArrayBuilder arrayBuilder = factory.createArrayBuilder();
+        strings.forEach(arrayBuilder::add);
+        return arrayBuilder.build();
+    }
+
+    static JsonArray buildObjects(final JsonBuilderFactory factory, final Collection<? extends SirenWritableSource> objects) {
+        final JsonArrayBuilder arrayBuilder = factory.createArrayBuilder();
+        objects.forEach(o -> o.forEach(w -> arrayBuilder.add(w.build())));
+        return arrayBuilder.build();
+    }
+
+    static JsonObject buildProperties(final JsonBuilderFactory factory, final Map<String, Object> properties) {
+        final JsonObjectBuilder objectBuilder = factory.createObjectBuilder();
+        properties.forEach((name, value) -> addProperty(objectBuilder, name, value));
+        return objectBuilder.build();
+    }
+
+    static void writeStrings(final JsonGenerator generator, final String name, final Collection<String> strings) {
+        generator.writeStartArray(name);
+        strings.forEach(generator::write);
+        generator.writeEnd();
+    }
+
+    static void writeObjects(final JsonGenerator generator, final String name, final Collection<? extends SirenWritableSource> objects) {
+        generator.writeStartArray(name);
+        objects.forEach(o -> o.forEach(w -> w.writeTo(generator)));
+        generator.writeEnd();
+    }
+
+    static void writeProperties(final JsonGenerator generator, final Map<String, Object> properties) {
+        generator.writeStartObject("properties");
+        properties.forEach((name, value) -> writeProperty(generator, name, value));
+        generator.writeEnd();
+    }
+
+    /**
+     * Adds the property value which is one of the types supported by {@link EntityBuilder#addProperty}.
+     */
+    private static void addProperty(final JsonObjectBuilder builder, final String name, final Object value) {
+        if (value instanceof String)
+            builder.add(name, (String) value);
+        else if (value instanceof Integer)
+            builder.add(name, (int) value);
+        else if (value instanceof Long)
+            builder.add(name, (long) value);
+        else if (value instanceof Double)
+            builder.add(name, (double) value);
+        else if (value instanceof Boolean)
+            builder.add(name, (boolean) value);
+        else if (value instanceof BigDecimal)
+            builder.add(name, (BigDecimal) value);
+        else if (value instanceof BigInteger)
+            builder.add(name, (BigInteger) value);
+        else
+            throw new IllegalArgumentException("Unsupported property type " + value.getClass() + " of property " + name);
+    }
+
+    /**
+     * Writes the property value which is one of the types supported by {@link EntityBuilder#addProperty} or a nested {@link JsonValue}.
+     */
+    static void writeProperty(final JsonGenerator generator, final String name, final Object value) {
+        if (value == null)
+            generator.writeNull(name);
+        else if (value instanceof String)
+            generator.write(name, (String) value);
+        else if (value instanceof Integer)
+            generator.write(name, (int) value);
+        else if (value instanceof Long)
+            generator.write(name, (long) value);
+        else if (value instanceof Double)
+            // same representation as JsonObjectBuilder#add(String, double)
+            generator.write(name, BigDecimal.valueOf((double) value));
+        else if (value instanceof Boolean)
+            generator.write(name, (boolean) value);
+        else if (value instanceof BigDecimal)
+            generator.write(name, (BigDecimal) value);
+        else if (value instanceof BigInteger)
+            generator.write(name, (BigInteger) value);
+        else if (value instanceof JsonValue)
+            generator.write(name, (JsonValue) value);
+        else
+            throw new IllegalArgumentException("Unsupported property type " + value.getClass() + " of property " + name);
+    }
+
+}
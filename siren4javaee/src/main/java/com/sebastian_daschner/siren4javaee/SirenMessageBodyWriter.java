@@ -0,0 +1,81 @@
+/*
+ * Copyright (C) 2016 Sebastian Daschner, sebastian-daschner.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sebastian_daschner.siren4javaee;
+
+import javax.json.stream.JsonGenerator;
+import javax.json.stream.JsonGeneratorFactory;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.ext.MessageBodyWriter;
+import javax.ws.rs.ext.Provider;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+
+/**
+ * JAX-RS message body writer that writes {@link EntityBuilder}s, rendered {@link EntityTemplate}s and {@link Entity}s directly to the response stream,
+ * without building intermediate JSONP objects.
+ * <p>
+ * JAX-RS resources can return the {@link EntityBuilder} without calling {@link EntityBuilder#build()}.
+ * The provider is registered automatically in environments that scan for {@link Provider}s,
+ * otherwise it has to be registered in the JAX-RS application.
+ *
+ * @author Sebastian Daschner
+ */
+@Provider
+@Produces({Siren.MEDIA_TYPE, MediaType.APPLICATION_JSON})
+public class SirenMessageBodyWriter implements MessageBodyWriter<Object> {
+
+    private final JsonGeneratorFactory generatorFactory;
+
+    public SirenMessageBodyWriter() {
+        this(Siren.defaultFactory());
+    }
+
+    /**
+     * Creates a message body writer that uses the JSONP provider of the given {@code factory}.
+     */
+    public SirenMessageBodyWriter(final SirenFactory factory) {
+        generatorFactory = factory.generatorFactory();
+    }
+
+    @Override
+    public boolean isWriteable(final Class<?> type, final Type genericType, final Annotation[] annotations, final MediaType mediaType) {
+        return EntityBuilder.class.isAssignableFrom(type) || EntityTemplate.Renderer.class.isAssignableFrom(type)
+                || Entity.class.isAssignableFrom(type);
+    }
+
+    @Override
+    public long getSize(final Object object, final Class<?> type, final Type genericType, final Annotation[] annotations, final MediaType mediaType) {
+        return -1;
+    }
+
+    @Override
+    public void writeTo(final Object object, final Class<?> type, final Type genericType, final Annotation[] annotations,
+                        final MediaType mediaType, final MultivaluedMap<String, Object> httpHeaders, final OutputStream entityStream) {
+        final JsonGenerator generator = generatorFactory.createGenerator(entityStream);
+
+        if (object instanceof SirenWritable)
+            ((SirenWritable) object).writeTo(generator);
+        else
+            EntitySerializer.writeEntity(generator, (Entity) object);
+
+        // the entity stream is closed by the JAX-RS runtime
+        generator.flush();
+    }
+
+}
@@ -1,9 +1,10 @@
 package com.sebastian_daschner.siren4javaee;
 
-import java.util.HashSet;
 import java.util.Set;
 
-import static java.util.Collections.unmodifiableSet;
+import static com.sebastian_daschner.siren4javaee.CompactCollections.add;
+import static com.sebastian_daschner.siren4javaee.CompactCollections.compactSet;
+import static java.util.Collections.emptySet;
 
 /**
  * Base class for all Siren objects.
@@ -13,14 +14,21 @@ import static java.util.Collections.unmodifiableSet;
  */
 public abstract class SirenObject {
 
-    private final Set<String> classes = new HashSet<>();
+    private Set<String> classes = emptySet();
     private String title;
 
     protected SirenObject() {
     }
 
     public Set<String> getClasses() {
-        return unmodifiableSet(classes);
+        return classes;
+    }
+
+    /**
+     * Compacts the collections that have been filled while building.
+     */
+    void compact() {
+        classes = compactSet(classes);
     }
 
     public String getTitle() {
@@ -55,7 +63,7 @@ public abstract class SirenObject {
 
         V addClass(final String entityClass) {
             final SirenObject object = object();
-            object.classes.add(entityClass);
+            object.classes = add(object.classes, entityClass);
             return (V) this;
         }
 
@@ -0,0 +1,42 @@
+/*
+ * Copyright (C) 2016 Sebastian Daschner, sebastian-daschner.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sebastian_daschner.siren4javaee;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Maps a field or getter to a property of a Siren entity.
+ * Supported types are {@link String}s, numbers ({@code int}, {@code long}, {@code double}, {@link java.math.BigDecimal},
+ * {@link java.math.BigInteger} and their wrappers), {@code boolean}s and enums, which are mapped to their constant names.
+ * {@code null} values are omitted.
+ *
+ * @author Sebastian Daschner
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface SirenProperty {
+
+    /**
+     * The name of the property, defaults to the field name or the getter name without {@code get} or {@code is}.
+     */
+    String name() default "";
+
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright (C) 2016 Sebastian Daschner, sebastian-daschner.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sebastian_daschner.siren4javaee;
+
+import javax.json.JsonObject;
+import javax.json.stream.JsonGenerator;
+import java.util.function.Consumer;
+
+/**
+ * Siren structure that can either be built to a JSONP {@link JsonObject} or written directly to a {@link JsonGenerator}.
+ * Both representations have to contain the same information in the same order.
+ *
+ * @author Sebastian Daschner
+ */
+interface SirenWritable extends SirenWritableSource {
+
+    JsonObject build();
+
+    /**
+     * Writes the structure as JSON object to the {@code generator} without creating an intermediate {@link JsonObject}.
+     * The object is written as the next value in the current context of the generator.
+     */
+    void writeTo(JsonGenerator generator);
+
+    /**
+     * Passes only this structure itself to the {@code consumer}.
+     */
+    @Override
+    default void forEach(final Consumer<SirenWritable> consumer) {
+        consumer.accept(this);
+    }
+
+    /**
+     * Wraps an already built {@link JsonObject}.
+     */
+    static SirenWritable of(final JsonObject object) {
+        return new SirenWritable() {
+            @Override
+            public JsonObject build() {
+                return object;
+            }
+
+            @Override
+            public void writeTo(final JsonGenerator generator) {
+                generator.write(object);
+            }
+        };
+    }
+
+}
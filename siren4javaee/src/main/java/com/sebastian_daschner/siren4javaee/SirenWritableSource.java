@@ -0,0 +1,33 @@
+/*
+ * Copyright (C) 2016 Sebastian Daschner, sebastian-daschner.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sebastian_daschner.siren4javaee;
+
+import java.util.function.Consumer;
+
+/**
+ * Source of one or more Siren structures, e.g. the sub entities of an entity.
+ * Lazily evaluated sources pass their elements one after another, while they are built or written.
+ *
+ * @author Sebastian Daschner
+ */
+interface SirenWritableSource {
+
+    /**
+     * Passes the structures of this source to the {@code consumer}, in order.
+     */
+    void forEach(Consumer<SirenWritable> consumer);
+
+}
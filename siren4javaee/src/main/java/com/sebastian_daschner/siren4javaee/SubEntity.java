@@ -2,10 +2,11 @@ package com.sebastian_daschner.siren4javaee;
 
 import javax.ws.rs.core.MediaType;
 import java.net.URI;
-import java.util.HashSet;
 import java.util.Set;
 
-import static java.util.Collections.unmodifiableSet;
+import static com.sebastian_daschner.siren4javaee.CompactCollections.add;
+import static com.sebastian_daschner.siren4javaee.CompactCollections.compactSet;
+import static java.util.Collections.emptySet;
 
 /**
  * Represents a Siren sub-entity.
@@ -17,7 +18,7 @@ import static java.util.Collections.unmodifiableSet;
  */
 public class SubEntity extends Entity {
 
-    private final Set<String> rels = new HashSet<>();
+    private Set<String> rels = emptySet();
     private URI href;
     private MediaType type;
 
@@ -25,7 +26,7 @@ public class SubEntity extends Entity {
     }
 
     public Set<String> getRels() {
-        return unmodifiableSet(rels);
+        return rels;
     }
 
     public URI getHref() {
@@ -36,6 +37,12 @@ public class SubEntity extends Entity {
         return type;
     }
 
+    @Override
+    void compact() {
+        super.compact();
+        rels = compactSet(rels);
+    }
+
     @Override
     public boolean equals(final Object o) {
         if (this == o) return true;
@@ -67,7 +74,7 @@ public class SubEntity extends Entity {
                 ", entities=" + getEntities() +
                 ", actions=" + getActions() +
                 ", links=" + getLinks() +
-                ", properties=" + getProperties() +
+                ", properties=" + properties() +
                 ", classes=" + getClasses() +
                 ", title=" + getTitle() +
                 '}';
@@ -95,7 +102,7 @@ public class SubEntity extends Entity {
         }
 
         Builder addRel(final String rel) {
-            object().rels.add(rel);
+            object().rels = add(object().rels, rel);
             return this;
         }
 
@@ -110,7 +117,7 @@ public class SubEntity extends Entity {
         }
 
         protected SubEntity build() {
-            return entity;
+            return (SubEntity) super.build();
         }
 
     }
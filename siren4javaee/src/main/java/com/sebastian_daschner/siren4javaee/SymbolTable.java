@@ -0,0 +1,71 @@
+/*
+ * Copyright (C) 2016 Sebastian Daschner, sebastian-daschner.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sebastian_daschner.siren4javaee;
+
+import javax.ws.rs.core.MediaType;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Bounded, concurrent table of symbols which repeatedly occur in parsed entities, like class names, rels and media types.
+ * Equal values are parsed once and the same instances are shared between all entities read by an {@link EntityReader}.
+ * If a table is full, further values are not cached anymore.
+ *
+ * @author Sebastian Daschner
+ */
+final class SymbolTable {
+
+    static final int DEFAULT_CAPACITY = 1024;
+
+    private final int capacity;
+    private final Map<String, String> strings = new ConcurrentHashMap<>();
+    private final Map<String, MediaType> mediaTypes = new ConcurrentHashMap<>();
+
+    SymbolTable() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    SymbolTable(final int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * Returns the shared instance of the class name or rel {@code string}.
+     */
+    String string(final String string) {
+        return lookup(strings, string, Function.identity());
+    }
+
+    /**
+     * Returns the shared, parsed media type of the {@code type} string.
+     */
+    MediaType mediaType(final String type) {
+        return lookup(mediaTypes, type, MediaType::valueOf);
+    }
+
+    private <T> T lookup(final Map<String, T> table, final String key, final Function<String, T> parser) {
+        final T value = table.get(key);
+        if (value != null)
+            return value;
+
+        // concurrent additions may exceed the capacity slightly
+        if (table.size() >= capacity)
+            return parser.apply(key);
+        return table.computeIfAbsent(key, parser);
+    }
+
+}
@@ -0,0 +1,211 @@
+/*
+ * Copyright (C) 2016 Sebastian Daschner, sebastian-daschner.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sebastian_daschner.siren4javaee;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.Collections.unmodifiableList;
+
+/**
+ * A precompiled URI template with simple string expressions, e.g. {@code https://api.example.com/books/{isbn}}.
+ * Expanding the template percent-encodes the values (all characters except unreserved ones) and directly creates the
+ * href strings of links and actions, without creating {@link java.net.URI} objects.
+ * Templates are immutable and thread-safe, they are meant to be compiled once and shared, e.g. in constants.
+ * <b>Example:</b>
+ * <pre>
+ * private static final UriTemplate BOOK = UriTemplate.compile("https://api.example.com/books/{isbn}");
+ * ...
+ * entityBuilder.addLink(BOOK, "self", book.getIsbn());
+ * </pre>
+ *
+ * @author Sebastian Daschner
+ */
+public final class UriTemplate {
+
+    private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+
+    private final String template;
+
+    /**
+     * The literal parts of the template, one more than expressions.
+     */
+    private final String[] literals;
+
+    /**
+     * The index of the variable for each expression.
+     */
+    private final int[] expressions;
+
+    private final List<String> variables;
+    private final int literalLength;
+
+    private UriTemplate(final String template, final String[] literals, final int[] expressions, final List<String> variables) {
+        this.template = template;
+        this.literals = literals;
+        this.expressions = expressions;
+        this.variables = variables;
+        this.literalLength = Arrays.stream(literals).mapToInt(String::length).sum();
+    }
+
+    /**
+     * Compiles the {@code template}, which may contain simple expressions such as {@code {isbn}}.
+     *
+     * @throws IllegalArgumentException If the template is invalid or contains expressions with operators.
+     */
+    public static UriTemplate compile(final String template) {
+        final List<String> literals = new ArrayList<>();
+        final List<Integer> expressions = new ArrayList<>();
+        final List<String> variables = new ArrayList<>();
+
+        int start = 0;
+        int open;
+        while ((open = template.indexOf('{', start)) >= 0) {
+            final int close = template.indexOf('}', open);
+            if (close < 0)
+                throw new IllegalArgumentException("Could not compile URI template " + template + ", unclosed expression");
+
+            final String variable = template.substring(open + 1, close);
+            if (!isVariableName(variable))
+                throw new IllegalArgumentException("Could not compile URI template " + template + ", unsupported expression {" + variable + '}');
+
+            if (template.lastIndexOf('}', open) >= start)
+                throw new IllegalArgumentException("Could not compile URI template " + template + ", unopened expression");
+
+            literals.add(template.substring(start, open));
+            int index = variables.indexOf(variable);
+            if (index < 0) {
+                index = variables.size();
+                variables.add(variable);
+            }
+            expressions.add(index);
+            start = close + 1;
+        }
+
+        if (template.indexOf('}', start) >= 0)
+            throw new IllegalArgumentException("Could not compile URI template " + template + ", unopened expression");
+        literals.add(template.substring(start));
+
+        return new UriTemplate(template, literals.toArray(new String[literals.size()]),
+                expressions.stream().mapToInt(Integer::intValue).toArray(), unmodifiableList(variables));
+    }
+
+    private static boolean isVariableName(final String name) {
+        if (name.isEmpty())
+            return false;
+        for (int i = 0; i < name.length(); i++) {
+            final char c = name.charAt(i);
+            if (!isAlphaNumeric(c) && c != '_' && c != '.')
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Returns the distinct variable names in the order of their first occurrence.
+     */
+    public List<String> getVariables() {
+        return variables;
+    }
+
+    /**
+     * Expands the template with the {@code values} of the variables, in the order of {@link #getVariables()}.
+     *
+     * @throws IllegalArgumentException If the number of values doesn't match or a value is {@code null}.
+     */
+    public String expand(final Object... values) {
+        if (values.length != variables.size())
+            throw new IllegalArgumentException("Could not expand URI template " + template + ", expected " + variables.size() + " values but got " + values.length);
+
+        final StringBuilder builder = new StringBuilder(literalLength + 16 * expressions.length);
+        for (int i = 0; i < expressions.length; i++) {
+            builder.append(literals[i]);
+            appendValue(builder, values[expressions[i]], expressions[i]);
+        }
+        return builder.append(literals[expressions.length]).toString();
+    }
+
+    /**
+     * Expands the template with the values of the variables contained in the {@code values} map.
+     *
+     * @throws IllegalArgumentException If a value is missing.
+     */
+    public String expand(final Map<String, ?> values) {
+        final Object[] orderedValues = new Object[variables.size()];
+        for (int i = 0; i < orderedValues.length; i++)
+            orderedValues[i] = values.get(variables.get(i));
+        return expand(orderedValues);
+    }
+
+    private void appendValue(final StringBuilder builder, final Object value, final int variable) {
+        if (value == null)
+            throw new IllegalArgumentException("Could not expand URI template " + template + ", no value for variable " + variables.get(variable));
+
+        // integral numbers only consist of unreserved characters
+        if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+            builder.append(((Number) value).longValue());
+            return;
+        }
+
+        final String string = value.toString();
+        for (int i = 0; i < string.length(); i++) {
+            final char c = string.charAt(i);
+            if (isUnreserved(c)) {
+                builder.append(c);
+            } else if (c < 0x80) {
+                appendEncoded(builder, (byte) c);
+            } else {
+                final int end = Character.isHighSurrogate(c) && i + 1 < string.length() ? i + 2 : i + 1;
+                for (final byte b : string.substring(i, end).getBytes(StandardCharsets.UTF_8))
+                    appendEncoded(builder, b);
+                i = end - 1;
+            }
+        }
+    }
+
+    private static void appendEncoded(final StringBuilder builder, final byte b) {
+        builder.append('%').append(HEX[(b >> 4) & 0xF]).append(HEX[b & 0xF]);
+    }
+
+    private static boolean isUnreserved(final char c) {
+        return isAlphaNumeric(c) || c == '-' || c == '.' || c == '_' || c == '~';
+    }
+
+    private static boolean isAlphaNumeric(final char c) {
+        return c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || c >= '0' && c <= '9';
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        return template.equals(((UriTemplate) o).template);
+    }
+
+    @Override
+    public int hashCode() {
+        return template.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return template;
+    }
+
+}
@@ -0,0 +1,268 @@
+/*
+ * Copyright (C) 2016 Sebastian Daschner, sebastian-daschner.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sebastian_daschner.siren4javaee;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.invocation.InvocationOnMock;
+
+import javax.json.Json;
+import javax.json.JsonObject;
+import javax.ws.rs.HttpMethod;
+import javax.ws.rs.ProcessingException;
+import javax.ws.rs.client.AsyncInvoker;
+import javax.ws.rs.client.Client;
+import javax.ws.rs.client.Invocation;
+import javax.ws.rs.client.InvocationCallback;
+import javax.ws.rs.client.WebTarget;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.ext.RuntimeDelegate;
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static com.sebastian_daschner.siren4javaee.TestUtils.injectRuntimeDelegate;
+import static com.sebastian_daschner.siren4javaee.TestUtils.mockResponseEntity;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.*;
+
+public class AsyncSirenClientTest {
+
+    private Client clientMock;
+    private AsyncInvoker invokerMock;
+    private Response responseMock;
+    private Response entityResponseMock;
+    private JsonObject responseEntity;
+    private ExecutorService executor;
+
+    private AsyncSirenClient cut;
+
+    @Test
+    public void testRetrieveAndFollow() {
+        final URI uri = URI.create("http://example.com/resources/");
+
+        cut = Siren.createAsyncClient(clientMock);
+        final Entity entity = cut.retrieveEntityAsync(uri)
+                .thenCompose(e -> cut.followLinkAsync(e, "next"))
+                .toCompletableFuture().join();
+
+        assertThat(entity.getString("name"), is("Java"));
+
+        final ArgumentCaptor<URI> uriCaptor = ArgumentCaptor.forClass(URI.class);
+        verify(clientMock, times(2)).target(uriCaptor.capture());
+        assertThat(uriCaptor.getAllValues().get(0), is(uri));
+        assertThat(uriCaptor.getAllValues().get(1), is(URI.create("https://api.example.com/books/2")));
+    }
+
+    @Test
+    public void testPerformAction() {
+        cut = Siren.createAsyncClient(clientMock);
+        final Entity entity = cut.retrieveEntityAsync(URI.create("http://example.com/resources/")).toCompletableFuture().join();
+
+        assertThat(cut.performActionAsync(entity, "delete").toCompletableFuture().join(), is(sameInstance(responseMock)));
+        verify(invokerMock).method(eq(HttpMethod.DELETE), anyCallback());
+
+        final JsonObject properties = Json.createObjectBuilder().add("name", "Java").add("unknown", "foobar").build();
+        cut.performActionAsync(entity, "modify", properties).toCompletableFuture().join();
+
+        final ArgumentCaptor<javax.ws.rs.client.Entity<?>> entityCaptor = entityCaptor();
+        verify(invokerMock).method(eq(HttpMethod.PUT), entityCaptor.capture(), anyCallback());
+        assertThat(entityCaptor.getValue().getEntity(), is(Json.createObjectBuilder().add("name", "Java").build()));
+    }
+
+    @Test
+    public void testActionNotSuccessful() {
+        when(responseMock.getStatus()).thenReturn(400);
+        when(responseMock.getStatusInfo()).thenReturn(Response.Status.BAD_REQUEST);
+
+        cut = Siren.createAsyncClient(clientMock);
+        final Entity entity = cut.retrieveEntityAsync(URI.create("http://example.com/resources/")).toCompletableFuture().join();
+        try {
+            cut.performActionAsync(entity, "delete").toCompletableFuture().join();
+            fail("expected exception not occurred");
+        } catch (CompletionException e) {
+            assertThat(e.getCause().getMessage(), is("Could not successfully perform action, HTTP status not successful, status: 400"));
+        }
+        verify(responseMock).close();
+    }
+
+    @Test
+    public void testLinkAndActionNotFound() {
+        cut = Siren.createAsyncClient(clientMock);
+        final Entity entity = cut.retrieveEntityAsync(URI.create("http://example.com/resources/")).toCompletableFuture().join();
+
+        try {
+            cut.followLinkAsync(entity, "not-found").toCompletableFuture().join();
+            fail("expected exception not occurred");
+        } catch (CompletionException e) {
+            assertThat(e.getCause().getMessage(), is("Could not find link with rel not-found in entity links"));
+        }
+
+        try {
+            cut.performActionAsync(entity, "not-found").toCompletableFuture().join();
+            fail("expected exception not occurred");
+        } catch (CompletionException e) {
+            assertThat(e.getCause().getMessage(), is("Could not find action with name not-found in entity"));
+        }
+    }
+
+    @Test
+    public void testFollowAll() {
+        final Entity entity = Siren.createEntityReader().read(Siren.createEntityBuilder()
+                .addEntity(Siren.createEntityBuilder().addSubEntityRel("item").addClass("book")
+                        .addLink(URI.create("https://api.example.com/books/1"), "self"))
+                .addEntity(Siren.createEntityBuilder().addSubEntityRel("item").addClass("author")
+                        .addLink(URI.create("https://api.example.com/authors/1"), "self"))
+                .addEntity(Siren.createEntityBuilder().addSubEntityRel("self").addClass("book")
+                        .setSubEntityHref(URI.create("https://api.example.com/books/2")))
+                .build());
+
+        cut = Siren.createAsyncClient(clientMock);
+        final List<Entity> entities = cut.followAll(entity, s -> s.getClasses().contains("book"), "self", 2, 1);
+
+        assertThat(entities.size(), is(2));
+        assertThat(entities.get(0).getString("name"), is("Java"));
+
+        final ArgumentCaptor<URI> uriCaptor = ArgumentCaptor.forClass(URI.class);
+        verify(clientMock, times(2)).target(uriCaptor.capture());
+        assertThat(uriCaptor.getAllValues().get(0), is(URI.create("https://api.example.com/books/1")));
+        assertThat(uriCaptor.getAllValues().get(1), is(URI.create("https://api.example.com/books/2")));
+
+        try {
+            cut.followAll(entity, s -> true, "next");
+            fail("expected exception not occurred");
+        } catch (RuntimeException e) {
+            assertThat(e.getMessage(), is("Could not find link with rel next in sub entity links"));
+        }
+
+        // the embedded link has a different rel
+        try {
+            cut.followAll(entity, s -> s.getHref() != null, "details");
+            fail("expected exception not occurred");
+        } catch (RuntimeException e) {
+            assertThat(e.getMessage(), is("Could not find link with rel details in sub entity links"));
+        }
+    }
+
+    @Test
+    public void testRequestFailed() {
+        doAnswer(invocation -> {
+            final InvocationCallback<Response> callback = callback(invocation);
+            executor.execute(() -> callback.failed(new ProcessingException("Connection refused")));
+            return null;
+        }).when(invokerMock).get(anyCallback());
+
+        cut = Siren.createAsyncClient(clientMock);
+        try {
+            cut.retrieveEntityAsync(URI.create("http://example.com/resources/")).toCompletableFuture().join();
+            fail("expected exception not occurred");
+        } catch (CompletionException e) {
+            assertThat(e.getCause(), instanceOf(ProcessingException.class));
+        }
+    }
+
+    @Before
+    public void setUp() {
+        // MediaType#fromString calls RuntimeDelegate
+        final RuntimeDelegate delegateMock = mock(RuntimeDelegate.class);
+        @SuppressWarnings("unchecked")
+        final RuntimeDelegate.HeaderDelegate<MediaType> headerDelegateMock = mock(RuntimeDelegate.HeaderDelegate.class);
+        when(delegateMock.createHeaderDelegate(MediaType.class)).thenReturn(headerDelegateMock);
+        when(headerDelegateMock.fromString(any())).thenReturn(MediaType.APPLICATION_JSON_TYPE);
+        injectRuntimeDelegate(delegateMock);
+
+        executor = Executors.newSingleThreadExecutor();
+        clientMock = mock(Client.class);
+        final WebTarget targetMock = mock(WebTarget.class);
+        final Invocation.Builder invocationMock = mock(Invocation.Builder.class);
+        invokerMock = mock(AsyncInvoker.class);
+        responseMock = mock(Response.class);
+        entityResponseMock = mock(Response.class);
+
+        responseEntity = Siren.createEntityBuilder()
+                .addClass("book")
+                .addProperty("name", "Java")
+                .addLink(URI.create("https://api.example.com/books/2"), "next")
+                .addAction(Siren.createActionBuilder()
+                        .setName("modify")
+                        .setMethod(HttpMethod.PUT)
+                        .setHref(URI.create("https://api.example.com/books/1"))
+                        .addField("name", FieldType.TEXT))
+                .addAction(Siren.createActionBuilder()
+                        .setName("delete")
+                        .setMethod(HttpMethod.DELETE)
+                        .setHref(URI.create("https://api.example.com/books/1")))
+                .build();
+
+        when(clientMock.target(any(URI.class))).thenReturn(targetMock);
+        when(targetMock.request(any(MediaType.class))).thenReturn(invocationMock);
+        when(invocationMock.async()).thenReturn(invokerMock);
+        when(responseMock.getStatusInfo()).thenReturn(Response.Status.OK);
+        when(entityResponseMock.getStatusInfo()).thenReturn(Response.Status.OK);
+        mockResponseEntity(entityResponseMock, responseEntity);
+
+        // callbacks are completed by other threads, like in JAX-RS client implementations
+        doAnswer(invocation -> {
+            final InvocationCallback<Response> callback = callback(invocation);
+            executor.execute(() -> callback.completed(entityResponseMock));
+            return null;
+        }).when(invokerMock).get(anyCallback());
+        doAnswer(invocation -> {
+            final InvocationCallback<Response> callback = callback(invocation);
+            executor.execute(() -> callback.completed(responseMock));
+            return null;
+        }).when(invokerMock).method(anyString(), anyCallback());
+        doAnswer(invocation -> {
+            final InvocationCallback<Response> callback = callback(invocation);
+            executor.execute(() -> callback.completed(responseMock));
+            return null;
+        }).when(invokerMock).method(anyString(), any(javax.ws.rs.client.Entity.class), anyCallback());
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static InvocationCallback<Response> anyCallback() {
+        return any(InvocationCallback.class);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static InvocationCallback<Response> callback(final InvocationOnMock invocation) {
+        final Object[] arguments = invocation.getArguments();
+        return (InvocationCallback<Response>) arguments[arguments.length - 1];
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ArgumentCaptor<javax.ws.rs.client.Entity<?>> entityCaptor() {
+        return ArgumentCaptor.forClass((Class<javax.ws.rs.client.Entity<?>>) (Class<?>) javax.ws.rs.client.Entity.class);
+    }
+
+}
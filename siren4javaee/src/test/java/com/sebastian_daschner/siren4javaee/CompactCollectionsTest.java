@@ -0,0 +1,104 @@
+/*
+ * Copyright (C) 2016 Sebastian Daschner, sebastian-daschner.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sebastian_daschner.siren4javaee;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+public class CompactCollectionsTest {
+
+    @Test
+    public void testSets() {
+        for (int size = 0; size <= CompactCollections.MAX_ARRAY_SET_SIZE + 1; size++) {
+            final Set<String> set = new LinkedHashSet<>();
+            for (int i = 0; i < size; i++)
+                set.add("class" + i);
+
+            final Set<String> compact = CompactCollections.compactSet(set);
+            assertThat(compact, is(set));
+            assertThat(set.equals(compact), is(true));
+            assertThat(compact.hashCode(), is(set.hashCode()));
+            assertThat(compact.contains("class" + size), is(false));
+            assertImmutable(() -> compact.add("class"));
+        }
+    }
+
+    @Test
+    public void testArraySetOrder() {
+        final Set<String> compact = CompactCollections.compactSet(new LinkedHashSet<>(Arrays.asList("b", "c", "a")));
+        assertThat(compact.toString(), is("[b, c, a]"));
+        assertThat(compact, is(new HashSet<>(Arrays.asList("a", "b", "c"))));
+    }
+
+    @Test
+    public void testGrowAfterCompact() {
+        Set<String> set = CompactCollections.compactSet(new LinkedHashSet<>(Arrays.asList("a", "b")));
+        set = CompactCollections.add(set, "c");
+        assertThat(set, is(new HashSet<>(Arrays.asList("a", "b", "c"))));
+
+        List<String> list = CompactCollections.compactList(Arrays.asList("a"));
+        list = CompactCollections.add(list, "b");
+        assertThat(list, is(Arrays.asList("a", "b")));
+    }
+
+    @Test
+    public void testListsAndMaps() {
+        final List<String> list = CompactCollections.compactList(Arrays.asList("a", "b", "c"));
+        assertThat(list, is(Arrays.asList("a", "b", "c")));
+        assertImmutable(() -> list.add("d"));
+        assertImmutable(() -> list.set(0, "d"));
+
+        final Map<String, String> map = new HashMap<>();
+        map.put("a", "1");
+        map.put("b", null);
+        final Map<String, String> compact = CompactCollections.compactMap(map);
+        assertThat(compact, is(map));
+        assertImmutable(() -> compact.put("c", "3"));
+    }
+
+    @Test
+    public void testReadEntityIsImmutable() {
+        final Entity entity = Siren.createEntityReader().read(Siren.createEntityBuilder()
+                .addClass("book")
+                .addProperty("name", "Java")
+                .build());
+
+        assertImmutable(() -> entity.getClasses().add("author"));
+        assertImmutable(() -> entity.getProperties().put("pages", 512L));
+        assertImmutable(() -> entity.getLinks().add(null));
+    }
+
+    private static void assertImmutable(final Runnable modification) {
+        try {
+            modification.run();
+            fail("expected exception not occurred");
+        } catch (UnsupportedOperationException e) {
+            // expected
+        }
+    }
+
+}
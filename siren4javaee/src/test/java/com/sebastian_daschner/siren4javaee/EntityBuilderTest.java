@@ -17,20 +17,36 @@ package com.sebastian_daschner.siren4javaee;
 
 import org.junit.Test;
 
+import javax.json.Json;
+import javax.json.spi.JsonProvider;
+import javax.json.stream.JsonGenerator;
 import javax.ws.rs.HttpMethod;
 import javax.ws.rs.core.Link;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.ext.RuntimeDelegate;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.io.StringWriter;
 import java.net.URI;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.IntStream;
 
 import static com.sebastian_daschner.siren4javaee.TestUtils.injectRuntimeDelegate;
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class EntityBuilderTest {
@@ -245,4 +261,222 @@ public class EntityBuilderTest {
         assertThat(actual, is(expected));
     }
 
-}
\ No newline at end of file
+    @Test
+    public void testWriteTo() {
+        final EntityBuilder builder = Siren.createEntityBuilder()
+                .addClass("books")
+                .addProperty("count", 2)
+                .addEntity(Siren.createEntityBuilder()
+                        .addClass("book")
+                        .addSubEntityRel("item")
+                        .setSubEntityHref(URI.create("https://api.example.com/books/1")))
+                .addEntity(Siren.createEntityBuilder()
+                        .addClass("book")
+                        .addSubEntityRel("item")
+                        .addProperty("name", "Java"))
+                .addLink(Siren.createLinkBuilder()
+                        .addClass("link")
+                        .addRel("self")
+                        .setTitle("Books")
+                        .setHref(URI.create("https://api.example.com/books")))
+                .addAction(Siren.createActionBuilder()
+                        .setName("delete")
+                        .setMethod(HttpMethod.DELETE)
+                        .setHref(URI.create("https://api.example.com/books")));
+
+        final StringWriter writer = new StringWriter();
+        try (JsonGenerator generator = Json.createGenerator(writer)) {
+            builder.writeTo(generator);
+        }
+
+        assertThat(writer.toString(), is(builder.build().toString()));
+    }
+
+    @Test
+    public void testFrozenFragments() {
+        final SirenFragment addToCart = Siren.createActionBuilder()
+                .setName("add-to-cart")
+                .setMethod(HttpMethod.POST)
+                .setHref(URI.create("https://api.example.com/shopping_cart"))
+                .addField("isbn", FieldType.TEXT)
+                .freeze();
+        final LinkBuilder cartLinkBuilder = Siren.createLinkBuilder()
+                .addRel("cart")
+                .setHref(URI.create("https://api.example.com/shopping_cart"));
+        final SirenFragment cartLink = cartLinkBuilder.freeze();
+        cartLinkBuilder.addRel("other");
+
+        final EntityBuilder builder = Siren.createEntityBuilder()
+                .addLink(cartLink)
+                .addAction(addToCart);
+
+        final String expected = "{" +
+                "\"links\":[{\"rel\":[\"cart\"],\"href\":\"https://api.example.com/shopping_cart\"}]," +
+                "\"actions\":[{\"name\":\"add-to-cart\",\"method\":\"POST\",\"href\":\"https://api.example.com/shopping_cart\"," +
+                "\"fields\":[{\"name\":\"isbn\",\"type\":\"text\",\"required\":false}]}]" +
+                "}";
+        assertThat(builder.build().toString(), is(expected));
+
+        final StringWriter writer = new StringWriter();
+        try (JsonGenerator generator = Json.createGenerator(writer)) {
+            builder.writeTo(generator);
+        }
+        assertThat(writer.toString(), is(expected));
+    }
+
+    @Test
+    public void testCustomProvider() {
+        final JsonProvider provider = spy(JsonProvider.provider());
+        final SirenFactory siren = Siren.with(provider);
+
+        final String actual = siren.createEntityBuilder()
+                .addClass("books")
+                .addEntity(siren.createEntityBuilder()
+                        .addClass("book")
+                        .addProperty("name", "Java")
+                        .addLink(URI.create("https://api.example.com/books/1"), "self"))
+                .addAction(siren.createActionBuilder()
+                        .setName("add-book")
+                        .setHref(URI.create("https://api.example.com/books"))
+                        .addField("name", FieldType.TEXT))
+                .build().toString();
+
+        final String expected = "{\"class\":[\"books\"]," +
+                "\"entities\":[{\"class\":[\"book\"],\"properties\":{\"name\":\"Java\"}," +
+                "\"links\":[{\"rel\":[\"self\"],\"href\":\"https://api.example.com/books/1\"}]}]," +
+                "\"actions\":[{\"name\":\"add-book\",\"href\":\"https://api.example.com/books\"," +
+                "\"fields\":[{\"name\":\"name\",\"type\":\"text\",\"required\":false}]}]}";
+        assertThat(actual, is(expected));
+
+        verify(provider).createBuilderFactory(any());
+        verify(provider, never()).createObjectBuilder();
+        verify(provider, never()).createArrayBuilder();
+    }
+
+    @Test
+    public void testUriTemplates() {
+        final UriTemplate book = UriTemplate.compile("https://api.example.com/books/{isbn}");
+        final UriTemplate cart = UriTemplate.compile("https://api.example.com/carts/{cart}/items");
+
+        final String actual = Siren.createEntityBuilder()
+                .addEntity(Siren.createEntityBuilder()
+                        .addSubEntityRel("item")
+                        .setSubEntityHref(book, "1-234"))
+                .addLink(book, "self", "1-234")
+                .addLink(Siren.createLinkBuilder().addRel("next").setHref(book, "5 6"))
+                .addAction(Siren.createActionBuilder()
+                        .setName("add-to-cart")
+                        .setHref(cart, 42))
+                .build().toString();
+
+        final String expected = "{\"entities\":[{\"rel\":[\"item\"],\"href\":\"https://api.example.com/books/1-234\"}]," +
+                "\"links\":[{\"rel\":[\"self\"],\"href\":\"https://api.example.com/books/1-234\"}," +
+                "{\"rel\":[\"next\"],\"href\":\"https://api.example.com/books/5%206\"}]," +
+                "\"actions\":[{\"name\":\"add-to-cart\",\"href\":\"https://api.example.com/carts/42/items\"}]}";
+        assertThat(actual, is(expected));
+    }
+
+    @Test
+    public void testReuseBuilders() {
+        final LinkBuilder link = Siren.createLinkBuilder().addRel("item");
+        final FieldBuilder field = Siren.createFieldBuilder().setType(FieldType.TEXT);
+        final ActionBuilder action = Siren.createActionBuilder().setHref(URI.create("https://api.example.com/books"));
+        final EntityBuilder entity = Siren.createEntityBuilder().addClass("book");
+
+        entity.addLink(link.setHref(URI.create("https://api.example.com/books/1")))
+                .addLink(link.setHref(URI.create("https://api.example.com/books/2")))
+                .addAction(action.setName("add").addField(field.setName("isbn")).addField(field.setName("title")))
+                .addEntity(entity.addSubEntityRel("item"));
+        action.setName("delete");
+        link.setHref(URI.create("https://api.example.com/books/3"));
+
+        final String expected = "{\"class\":[\"book\"],\"rel\":[\"item\"],\"entities\":[{\"class\":[\"book\"],\"rel\":[\"item\"]," +
+                "\"links\":[{\"rel\":[\"item\"],\"href\":\"https://api.example.com/books/1\"}," +
+                "{\"rel\":[\"item\"],\"href\":\"https://api.example.com/books/2\"}]," +
+                "\"actions\":[{\"name\":\"add\",\"href\":\"https://api.example.com/books\"," +
+                "\"fields\":[{\"name\":\"isbn\",\"type\":\"text\",\"required\":false},{\"name\":\"title\",\"type\":\"text\",\"required\":false}]}]}]," +
+                "\"links\":[{\"rel\":[\"item\"],\"href\":\"https://api.example.com/books/1\"}," +
+                "{\"rel\":[\"item\"],\"href\":\"https://api.example.com/books/2\"}]," +
+                "\"actions\":[{\"name\":\"add\",\"href\":\"https://api.example.com/books\"," +
+                "\"fields\":[{\"name\":\"isbn\",\"type\":\"text\",\"required\":false},{\"name\":\"title\",\"type\":\"text\",\"required\":false}]}]}";
+        assertThat(entity.build().toString(), is(expected));
+    }
+
+    @Test
+    public void testAddEntities() {
+        final Function<Integer, EntityBuilder> mapper = i -> Siren.createEntityBuilder()
+                .addClass("book")
+                .addSubEntityRel("item")
+                .addProperty("index", i)
+                .addLink(URI.create("https://api.example.com/books/" + i), "self");
+
+        final EntityBuilder expected = Siren.createEntityBuilder().addClass("books");
+        for (int i = 0; i < 1000; i++)
+            expected.addEntity(mapper.apply(i));
+
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            final EntityBuilder sequential = Siren.createEntityBuilder().addClass("books")
+                    .addEntities(IntStream.range(0, 1000).boxed(), mapper);
+            final EntityBuilder parallel = Siren.createEntityBuilder().addClass("books")
+                    .addEntities(IntStream.range(0, 1000).boxed(), mapper, pool);
+
+            assertThat(sequential.build(), is(expected.build()));
+            assertThat(parallel.build(), is(expected.build()));
+
+            final StringWriter stringWriter = new StringWriter();
+            try (EntityWriter writer = Siren.createEntityWriter(Json.createGenerator(stringWriter))) {
+                writer.addClass("books").addEntities(IntStream.range(0, 500).boxed(), mapper, pool)
+                        .addEntities(IntStream.range(500, 1000).boxed(), mapper);
+            }
+            assertThat(stringWriter.toString(), is(expected.build().toString()));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testLazyEntities() throws IOException {
+        final AtomicInteger pulled = new AtomicInteger();
+        final AtomicBoolean closed = new AtomicBoolean();
+        final Function<Integer, EntityBuilder> mapper = i -> Siren.createEntityBuilder()
+                .addSubEntityRel("item")
+                .addProperty("index", i);
+
+        final EntityBuilder builder = Siren.createEntityBuilder()
+                .addClass("books")
+                .addEntities(IntStream.range(0, 3).boxed().peek(i -> pulled.incrementAndGet()).onClose(() -> closed.set(true)), mapper)
+                .addLink(URI.create("https://api.example.com/books"), "self");
+
+        assertThat(pulled.get(), is(0));
+
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        builder.toStreamingOutput().write(output);
+
+        assertThat(pulled.get(), is(3));
+        assertThat(closed.get(), is(true));
+
+        final EntityBuilder expected = Siren.createEntityBuilder()
+                .addClass("books")
+                .addEntity(mapper.apply(0))
+                .addEntity(mapper.apply(1))
+                .addEntity(mapper.apply(2))
+                .addLink(URI.create("https://api.example.com/books"), "self");
+        assertThat(new String(output.toByteArray(), StandardCharsets.UTF_8), is(expected.build().toString()));
+
+        try {
+            builder.build();
+            fail("expected exception not occurred");
+        } catch (IllegalStateException e) {
+            assertThat(e.getMessage(), is("Could not add sub entities, the source has already been consumed"));
+        }
+
+        final ByteArrayOutputStream writerOutput = new ByteArrayOutputStream();
+        Siren.createStreamingOutput(writer -> writer.addClass("books")
+                .addEntities(IntStream.range(0, 3).boxed().iterator(), mapper)
+                .addLink(URI.create("https://api.example.com/books"), "self"))
+                .write(writerOutput);
+        assertThat(new String(writerOutput.toByteArray(), StandardCharsets.UTF_8), is(expected.build().toString()));
+    }
+
+}
@@ -0,0 +1,334 @@
+/*
+ * Copyright (C) 2016 Sebastian Daschner, sebastian-daschner.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sebastian_daschner.siren4javaee;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.json.JsonObject;
+import javax.ws.rs.client.Client;
+import javax.ws.rs.client.Invocation;
+import javax.ws.rs.client.WebTarget;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.sebastian_daschner.siren4javaee.TestUtils.mockResponseEntity;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.*;
+
+public class EntityCacheTest {
+
+    private static final URI URI_1 = URI.create("https://api.example.com/books/1");
+    private static final URI URI_2 = URI.create("https://api.example.com/books/2");
+
+    private final AtomicLong clock = new AtomicLong(1_000_000);
+
+    private Client clientMock;
+    private Invocation.Builder invocationMock;
+    private Response responseMock;
+    private EntityCache cache;
+    private SirenClient cut;
+
+    @Test
+    public void testFresh() {
+        when(responseMock.getHeaderString(HttpHeaders.CACHE_CONTROL)).thenReturn("public, max-age=60");
+
+        final Entity entity = cut.retrieveEntity(URI_1);
+        assertThat(entity.getString("name"), is("Java"));
+
+        clock.addAndGet(59_000);
+        assertThat(cut.retrieveEntity(URI_1), is(sameInstance(entity)));
+        verify(invocationMock, times(1)).get();
+        verify(invocationMock, never()).header(anyString(), any());
+        assertThat(cache.size(), is(1));
+    }
+
+    @Test
+    public void testExpires() {
+        when(responseMock.getHeaderString(HttpHeaders.EXPIRES)).thenReturn("Thu, 01 Jan 1970 00:17:00 GMT");
+
+        final Entity entity = cut.retrieveEntity(URI_1);
+        assertThat(cut.retrieveEntity(URI_1), is(sameInstance(entity)));
+
+        clock.set(1_020_000);
+        cut.retrieveEntity(URI_1);
+        verify(invocationMock, times(2)).get();
+    }
+
+    @Test
+    public void testExpiresRelativeToDate() {
+        // the clock of the server differs from the local clock
+        clock.set(3_600_000);
+        when(responseMock.getHeaderString(HttpHeaders.DATE)).thenReturn("Thu, 01 Jan 1970 00:00:00 GMT");
+        when(responseMock.getHeaderString(HttpHeaders.EXPIRES)).thenReturn("Thu, 01 Jan 1970 00:01:00 GMT");
+
+        final Entity entity = cut.retrieveEntity(URI_1);
+        clock.addAndGet(59_000);
+        assertThat(cut.retrieveEntity(URI_1), is(sameInstance(entity)));
+        verify(invocationMock, times(1)).get();
+
+        clock.addAndGet(1_000);
+        cut.retrieveEntity(URI_1);
+        verify(invocationMock, times(2)).get();
+    }
+
+    @Test
+    public void testRevalidateNotModified() {
+        when(responseMock.getHeaderString(HttpHeaders.CACHE_CONTROL)).thenReturn("max-age=10");
+        when(responseMock.getHeaderString(HttpHeaders.ETAG)).thenReturn("\"v1\"");
+        when(responseMock.getHeaderString(HttpHeaders.LAST_MODIFIED)).thenReturn("Thu, 01 Jan 1970 00:00:00 GMT");
+
+        final Entity entity = cut.retrieveEntity(URI_1);
+        clock.addAndGet(10_000);
+
+        when(responseMock.getStatus()).thenReturn(304);
+        when(responseMock.getStatusInfo()).thenReturn(Response.Status.NOT_MODIFIED);
+
+        assertThat(cut.retrieveEntity(URI_1), is(sameInstance(entity)));
+        verify(invocationMock).header(HttpHeaders.IF_NONE_MATCH, "\"v1\"");
+        verify(invocationMock).header(HttpHeaders.IF_MODIFIED_SINCE, "Thu, 01 Jan 1970 00:00:00 GMT");
+        verify(responseMock, times(1)).readEntity(InputStream.class);
+
+        // freshness is renewed by the revalidation
+        assertThat(cut.retrieveEntity(URI_1), is(sameInstance(entity)));
+        verify(invocationMock, times(2)).get();
+    }
+
+    @Test
+    public void testRevalidateKeepsLifetime() {
+        when(responseMock.getHeaderString(HttpHeaders.CACHE_CONTROL)).thenReturn("max-age=10");
+        when(responseMock.getHeaderString(HttpHeaders.ETAG)).thenReturn("\"v1\"");
+
+        final Entity entity = cut.retrieveEntity(URI_1);
+        clock.addAndGet(10_000);
+
+        // the 304 response contains no freshness information
+        when(responseMock.getHeaderString(HttpHeaders.CACHE_CONTROL)).thenReturn(null);
+        when(responseMock.getStatus()).thenReturn(304);
+        when(responseMock.getStatusInfo()).thenReturn(Response.Status.NOT_MODIFIED);
+
+        assertThat(cut.retrieveEntity(URI_1), is(sameInstance(entity)));
+        clock.addAndGet(9_000);
+        assertThat(cut.retrieveEntity(URI_1), is(sameInstance(entity)));
+        verify(invocationMock, times(2)).get();
+
+        clock.addAndGet(1_000);
+        cut.retrieveEntity(URI_1);
+        verify(invocationMock, times(3)).get();
+    }
+
+    @Test
+    public void testRevalidateModified() {
+        when(responseMock.getHeaderString(HttpHeaders.CACHE_CONTROL)).thenReturn("no-cache");
+        when(responseMock.getHeaderString(HttpHeaders.ETAG)).thenReturn("\"v1\"");
+
+        final Entity entity = cut.retrieveEntity(URI_1);
+        final Entity modified = cut.retrieveEntity(URI_1);
+
+        assertThat(modified == entity, is(false));
+        assertThat(modified, is(entity));
+        verify(invocationMock).header(HttpHeaders.IF_NONE_MATCH, "\"v1\"");
+        verify(responseMock, times(2)).readEntity(InputStream.class);
+    }
+
+    @Test
+    public void testNotCacheable() {
+        when(responseMock.getHeaderString(HttpHeaders.CACHE_CONTROL)).thenReturn("no-store, max-age=60");
+        when(responseMock.getHeaderString(HttpHeaders.ETAG)).thenReturn("\"v1\"");
+        cut.retrieveEntity(URI_1);
+
+        when(responseMock.getHeaderString(HttpHeaders.CACHE_CONTROL)).thenReturn(null);
+        when(responseMock.getHeaderString(HttpHeaders.ETAG)).thenReturn(null);
+        cut.retrieveEntity(URI_2);
+
+        assertThat(cache.size(), is(0));
+    }
+
+    @Test
+    public void testEviction() {
+        cache = new EntityCache(1, clock::get);
+        cut = Siren.createClient(clientMock, cache);
+        when(responseMock.getHeaderString(HttpHeaders.CACHE_CONTROL)).thenReturn("max-age=60");
+
+        cut.retrieveEntity(URI_1);
+        cut.retrieveEntity(URI_2);
+        cut.retrieveEntity(URI_1);
+
+        verify(invocationMock, times(3)).get();
+        assertThat(cache.size(), is(1));
+
+        cache.invalidate(URI_1);
+        assertThat(cache.size(), is(0));
+    }
+
+    @Test
+    public void testNotSuccessful() {
+        when(responseMock.getStatus()).thenReturn(404);
+        when(responseMock.getStatusInfo()).thenReturn(Response.Status.NOT_FOUND);
+
+        try {
+            cut.retrieveEntity(URI_1);
+            fail("expected exception not occurred");
+        } catch (RuntimeException e) {
+            assertThat(e.getMessage(), is("Could not retrieve entity, HTTP status not successful, status: 404"));
+        }
+        verify(responseMock).close();
+    }
+
+    @Test
+    public void testPersistent() throws IOException {
+        final Path path = Files.createTempFile("entity-cache", ".bin");
+        when(responseMock.getHeaderString(HttpHeaders.CACHE_CONTROL)).thenReturn("max-age=60");
+        when(responseMock.getHeaderString(HttpHeaders.ETAG)).thenReturn("\"v1\"");
+
+        try {
+            cache = persistentCache(path);
+            final Entity entity = Siren.createClient(clientMock, cache).retrieveEntity(URI_1);
+            cache.close();
+
+            // incomplete record of a crashed process
+            Files.write(path, new byte[]{0, 0, 1, 0, 42}, StandardOpenOption.APPEND);
+
+            cache = persistentCache(path);
+            assertThat(cache.size(), is(1));
+
+            when(responseMock.getStatus()).thenReturn(304);
+            when(responseMock.getStatusInfo()).thenReturn(Response.Status.NOT_MODIFIED);
+
+            // reloaded entities are stale and revalidated
+            final Entity reloaded = Siren.createClient(clientMock, cache).retrieveEntity(URI_1);
+            assertThat(reloaded, is(entity));
+            verify(invocationMock).header(HttpHeaders.IF_NONE_MATCH, "\"v1\"");
+            verify(responseMock, times(1)).readEntity(InputStream.class);
+
+            cache.invalidate(URI_1);
+            cache.close();
+            cache = persistentCache(path);
+            assertThat(cache.size(), is(0));
+            cache.close();
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    @Test
+    public void testCompaction() throws IOException {
+        final Path path = Files.createTempFile("entity-cache", ".bin");
+        when(responseMock.getHeaderString(HttpHeaders.CACHE_CONTROL)).thenReturn("no-cache");
+
+        try {
+            cache = persistentCache(path);
+            cut = Siren.createClient(clientMock, cache);
+            for (int i = 0; i < 1000; i++) {
+                when(responseMock.getHeaderString(HttpHeaders.ETAG)).thenReturn("\"v" + i + "\"");
+                cut.retrieveEntity(i % 2 == 0 ? URI_1 : URI_2);
+            }
+            final long size = Files.size(path);
+            cache.close();
+
+            assertThat(size < 100 * 1024, is(true));
+            assertThat(Files.size(path) < size, is(true));
+
+            cache = persistentCache(path);
+            assertThat(cache.size(), is(2));
+            assertThat(cache.get(URI_1.toString()).getEtag(), is("\"v998\""));
+            assertThat(cache.get(URI_2.toString()).getEtag(), is("\"v999\""));
+            cache.close();
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    @Test
+    public void testLargeValidators() throws IOException {
+        final Path path = Files.createTempFile("entity-cache", ".bin");
+        final String etag = "\"" + String.join("", Collections.nCopies(70_000, "\u00e4")) + "\"";
+        when(responseMock.getHeaderString(HttpHeaders.CACHE_CONTROL)).thenReturn("no-cache");
+        when(responseMock.getHeaderString(HttpHeaders.ETAG)).thenReturn(etag);
+
+        try {
+            cache = persistentCache(path);
+            Siren.createClient(clientMock, cache).retrieveEntity(URI_1);
+            cache.close();
+
+            cache = persistentCache(path);
+            assertThat(cache.get(URI_1.toString()).getEtag(), is(etag));
+            cache.close();
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    @Test
+    public void testForeignFile() throws IOException {
+        final Path path = Files.createTempFile("entity-cache", ".txt");
+        final byte[] content = "not a cache".getBytes(StandardCharsets.UTF_8);
+        Files.write(path, content);
+
+        try {
+            persistentCache(path);
+            fail("expected exception not occurred");
+        } catch (RuntimeException e) {
+            assertThat(e.getCause().getMessage(), is("Could not open " + path + ", not an entity cache file"));
+        } finally {
+            assertThat(Files.readAllBytes(path), is(content));
+            Files.deleteIfExists(path);
+        }
+    }
+
+    private EntityCache persistentCache(final Path path) {
+        return new EntityCache(10, clock::get, new EntityCacheFile(path, Siren.defaultFactory()));
+    }
+
+    @Before
+    public void setUp() {
+        clientMock = mock(Client.class);
+        final WebTarget targetMock = mock(WebTarget.class);
+        invocationMock = mock(Invocation.Builder.class);
+        responseMock = mock(Response.class);
+
+        final JsonObject responseEntity = Siren.createEntityBuilder()
+                .addClass("book")
+                .addProperty("name", "Java")
+                .build();
+
+        when(clientMock.target(any(URI.class))).thenReturn(targetMock);
+        when(targetMock.request(any(MediaType.class))).thenReturn(invocationMock);
+        when(invocationMock.get()).thenReturn(responseMock);
+        when(responseMock.getStatus()).thenReturn(200);
+        when(responseMock.getStatusInfo()).thenReturn(Response.Status.OK);
+        mockResponseEntity(responseMock, responseEntity);
+
+        cache = new EntityCache(10, clock::get);
+        cut = Siren.createClient(clientMock, cache);
+    }
+
+}
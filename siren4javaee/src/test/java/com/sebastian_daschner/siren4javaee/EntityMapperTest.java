@@ -0,0 +1,174 @@
+/*
+ * Copyright (C) 2016 Sebastian Daschner, sebastian-daschner.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sebastian_daschner.siren4javaee;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.net.URI;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+public class EntityMapperTest {
+
+    @Test
+    public void testGetters() {
+        final Book book = new Book("Java", 350, new BigDecimal("29.99"), Availability.IN_STOCK, true,
+                URI.create("https://api.example.com/books/1"));
+
+        final String actual = Siren.createEntityMapper().map(book).build().toString();
+
+        final String expected = "{\"class\":[\"book\"]," +
+                "\"title\":\"Book\"," +
+                "\"properties\":{" +
+                "\"availability\":\"IN_STOCK\"," +
+                "\"available\":true," +
+                "\"name\":\"Java\"," +
+                "\"pages\":350," +
+                "\"price\":29.99}," +
+                "\"links\":[{\"rel\":[\"self\"],\"href\":\"https://api.example.com/books/1\"}]}";
+        assertThat(actual, is(expected));
+    }
+
+    @Test
+    public void testFieldsAndSuperClass() {
+        final Author author = new Author();
+        author.id = 42L;
+        author.name = "Duke";
+        author.rating = 4.5;
+
+        final String actual = Siren.createEntityMapper().map(author)
+                .addLink(URI.create("https://api.example.com/authors"), "collection")
+                .build().toString();
+
+        final String expected = "{\"class\":[\"author\"]," +
+                "\"properties\":{" +
+                "\"id\":42," +
+                "\"full-name\":\"Duke\"," +
+                "\"rating\":4.5}," +
+                "\"links\":[{\"rel\":[\"collection\"],\"href\":\"https://api.example.com/authors\"}]}";
+        assertThat(actual, is(expected));
+    }
+
+    @Test
+    public void testNullValues() {
+        final Book book = new Book(null, 0, null, null, false, null);
+
+        final String actual = Siren.createEntityMapper().map(book).build().toString();
+
+        assertThat(actual, is("{\"class\":[\"book\"],\"title\":\"Book\",\"properties\":{\"available\":false,\"pages\":0}}"));
+    }
+
+    @Test
+    public void testUnsupportedType() {
+        try {
+            Siren.createEntityMapper().map(new Unsupported());
+            fail("expected exception not occurred");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    public enum Availability {
+        IN_STOCK, SOLD_OUT;
+
+        // properties are written by the constant names which are looked up when binding
+        @Override
+        public String toString() {
+            return name().toLowerCase().replace('_', ' ');
+        }
+    }
+
+    @SirenEntity(classes = "book", title = "Book")
+    public static class Book {
+
+        private final String name;
+        private final int pages;
+        private final BigDecimal price;
+        private final Availability availability;
+        private final boolean available;
+        private final URI uri;
+
+        public Book(final String name, final int pages, final BigDecimal price, final Availability availability,
+                    final boolean available, final URI uri) {
+            this.name = name;
+            this.pages = pages;
+            this.price = price;
+            this.availability = availability;
+            this.available = available;
+            this.uri = uri;
+        }
+
+        @SirenProperty
+        public String getName() {
+            return name;
+        }
+
+        @SirenProperty
+        public int getPages() {
+            return pages;
+        }
+
+        @SirenProperty
+        public BigDecimal getPrice() {
+            return price;
+        }
+
+        @SirenProperty
+        public Availability getAvailability() {
+            return availability;
+        }
+
+        @SirenProperty
+        public boolean isAvailable() {
+            return available;
+        }
+
+        @SirenLink(rel = "self")
+        public URI getUri() {
+            return uri;
+        }
+
+    }
+
+    private static class Identifiable {
+
+        @SirenProperty
+        long id;
+
+    }
+
+    @SirenEntity(classes = "author")
+    private static class Author extends Identifiable {
+
+        @SirenProperty(name = "full-name")
+        private String name;
+
+        @SirenProperty
+        private double rating;
+
+    }
+
+    private static class Unsupported {
+
+        @SirenProperty
+        private Object value = new Object();
+
+    }
+
+}
@@ -0,0 +1,662 @@
+package com.sebastian_daschner.siren4javaee;
+
+import org.junit.Test;
+
+import javax.json.Json;
+import javax.json.JsonArray;
+import javax.json.JsonArrayBuilder;
+import javax.json.JsonObject;
+import javax.ws.rs.HttpMethod;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.ext.RuntimeDelegate;
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ForkJoinPool;
+
+import static com.sebastian_daschner.siren4javaee.ReadOptions.Section.ACTIONS;
+import static com.sebastian_daschner.siren4javaee.ReadOptions.Section.ENTITIES;
+import static com.sebastian_daschner.siren4javaee.ReadOptions.Section.LINKS;
+import static com.sebastian_daschner.siren4javaee.TestUtils.injectRuntimeDelegate;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class EntityReaderTest {
+
+    @Test
+    public void testSimple() {
+        final URI bookUri = URI.create("https://api.example.com/books/1");
+        final URI booksUri = URI.create("https://api.example.com/books");
+        final JsonObject jsonObject = Siren.createEntityBuilder()
+                .addClass("books")
+                .addEntity(Siren.createEntityBuilder()
+                        .addClass("book")
+                        .addSubEntityRel("item")
+                        .addProperty("name", "Java")
+                        .addProperty("author", "Duke")
+                        .addLink(bookUri, "self"))
+                .addLink(booksUri, "self").build();
+
+        // builder only used for test, not meant for production code
+        final Entity expected = Entity.newBuilder()
+                .addClass("books")
+                .addEntity(SubEntity.newBuilder()
+                        .addClass("book")
+                        .addRel("item")
+                        .addProperty("name", "Java")
+                        .addProperty("author", "Duke")
+                        .addLink(Link.newBuilder().addRel("self").setHref(bookUri).build()).build())
+                .addLink(Link.newBuilder().addRel("self").setHref(booksUri).build())
+                .build();
+
+        final EntityReader entityReader = Siren.createEntityReader();
+        final Entity actual = entityReader.read(jsonObject);
+
+        assertThat(actual, is(expected));
+        assertThat(entityReader.read(new StringReader(jsonObject.toString())), is(expected));
+    }
+
+    @Test
+    public void testComplex() {
+        // MediaType#fromString calls RuntimeDelegate
+        final RuntimeDelegate delegateMock = mock(RuntimeDelegate.class);
+
+        final RuntimeDelegate.HeaderDelegate<MediaType> headerDelegateMock = mock(RuntimeDelegate.HeaderDelegate.class);
+        when(delegateMock.createHeaderDelegate(MediaType.class)).thenReturn(headerDelegateMock);
+        when(headerDelegateMock.fromString(any())).thenReturn(MediaType.APPLICATION_JSON_TYPE);
+
+        injectRuntimeDelegate(delegateMock);
+
+        final JsonObject jsonObject = Siren.createEntityBuilder()
+                .addClass("books")
+                .addEntity(Siren.createEntityBuilder()
+                        .addClass("book")
+                        .addSubEntityRel("item")
+                        .addProperty("name", "Java")
+                        .addProperty("author", "Duke")
+                        .addLink(URI.create("https://api.example.com/books/1"), "self"))
+                .addEntity(Siren.createEntityBuilder()
+                        .addClass("book")
+                        .addSubEntityRel("item")
+                        .setTitle("Book")
+                        .setSubEntityType("application/json")
+                        .addProperty("name", "Hello")
+                        .addProperty("author", "World")
+                        .addLink(URI.create("https://api.example.com/books/2"), "self", "foobar")
+                        .addLink(Siren.createLinkBuilder()
+                                .addClass("link")
+                                .addClass("class")
+                                .addRel("self")
+                                .addRel("foobar")
+                                .setHref(URI.create("https://api.example.com/books/2"))
+                                .setTitle("Link title")
+                                .setType(MediaType.APPLICATION_JSON))
+                        .addLink(Siren.createLinkBuilder()
+                                .addClass("link")
+                                .addRel("self")
+                                .addRel("foobar")
+                                .setHref(URI.create("https://api.example.com/books/2"))
+                                .setTitle("Link title")
+                                .setType(MediaType.APPLICATION_JSON).build())
+                        .build())
+                .addAction(Siren.createActionBuilder()
+                        .addClass("action")
+                        .addClass("class")
+                        .setName("add-to-cart")
+                        .setTitle("Add book to shopping cart")
+                        .setMethod(HttpMethod.POST)
+                        .setHref(URI.create("https://api.example.com/shopping_cart"))
+                        .setType(MediaType.APPLICATION_JSON)
+                        .addField("id", FieldType.TEXT)
+                        .addField("quantity", FieldType.NUMBER))
+                .addAction(Siren.createActionBuilder()
+                        .addClass("action")
+                        .setName("modify")
+                        .setTitle("Modify book")
+                        .setMethod(HttpMethod.PUT)
+                        .setHref(URI.create("https://api.example.com/books/1"))
+                        .setType(MediaType.APPLICATION_JSON)
+                        .addField(Siren.createFieldBuilder()
+                                .setName("name")
+                                .setType(FieldType.COLOR)
+                                .setValue("#ff0000")
+                                .addClass("name-color")
+                                .setTitle("Color"))
+                        .addField(Siren.createFieldBuilder()
+                                .addClass("foobar")
+                                .addClass("test")
+                                .setName("test")
+                                .setRequired(true)
+                                .setType(FieldType.DATETIME_LOCAL).build()))
+                .addAction(Siren.createActionBuilder()
+                        .setName("delete")
+                        .setTitle("Delete book")
+                        .setMethod(HttpMethod.DELETE)
+                        .setHref(URI.create("https://api.example.com/books/1"))
+                        .build())
+                .addLink(URI.create("https://api.example.com/books"), "self")
+                .build();
+
+        final Entity expected = Entity.newBuilder()
+                .addClass("books")
+                .addEntity(SubEntity.newBuilder()
+                        .addClass("book")
+                        .addRel("item")
+                        .addProperty("name", "Java")
+                        .addProperty("author", "Duke")
+                        .addLink(Link.newBuilder().addRel("self").setHref(URI.create("https://api.example.com/books/1")).build())
+                        .build())
+                .addEntity(SubEntity.newBuilder()
+                        .addClass("book")
+                        .addRel("item")
+                        .setTitle("Book")
+                        .setType(MediaType.APPLICATION_JSON_TYPE)
+                        .addProperty("name", "Hello")
+                        .addProperty("author", "World")
+                        .addLink(Link.newBuilder().addRel("self").addRel("foobar").setHref(URI.create("https://api.example.com/books/2")).build())
+                        .addLink(Link.newBuilder()
+                                .addClass("link")
+                                .addClass("class")
+                                .addRel("self")
+                                .addRel("foobar")
+                                .setHref(URI.create("https://api.example.com/books/2"))
+                                .setTitle("Link title")
+                                .setType(MediaType.APPLICATION_JSON_TYPE)
+                                .build())
+                        .addLink(Link.newBuilder()
+                                .addClass("link")
+                                .addRel("self")
+                                .addRel("foobar")
+                                .setHref(URI.create("https://api.example.com/books/2"))
+                                .setTitle("Link title")
+                                .setType(MediaType.APPLICATION_JSON_TYPE).build())
+                        .build())
+                .addAction(Action.newBuilder()
+                        .addClass("action")
+                        .addClass("class")
+                        .setName("add-to-cart")
+                        .setTitle("Add book to shopping cart")
+                        .setMethod(HttpMethod.POST)
+                        .setHref(URI.create("https://api.example.com/shopping_cart"))
+                        .setType(MediaType.APPLICATION_JSON_TYPE)
+                        .addField(Field.newBuilder().setName("id").setType(FieldType.TEXT).build())
+                        .addField(Field.newBuilder().setName("quantity").setType(FieldType.NUMBER).build())
+                        .build())
+                .addAction(Action.newBuilder()
+                        .addClass("action")
+                        .setName("modify")
+                        .setTitle("Modify book")
+                        .setMethod(HttpMethod.PUT)
+                        .setHref(URI.create("https://api.example.com/books/1"))
+                        .setType(MediaType.APPLICATION_JSON_TYPE)
+                        .addField(Field.newBuilder()
+                                .setName("name")
+                                .setType(FieldType.COLOR)
+                                .setValue("#ff0000")
+                                .addClass("name-color")
+                                .setTitle("Color")
+                                .build())
+                        .addField(Field.newBuilder()
+                                .addClass("foobar")
+                                .addClass("test")
+                                .setName("test")
+                                .setType(FieldType.DATETIME_LOCAL)
+                                .setRequired(true)
+                                .build())
+                        .build())
+                .addAction(Action.newBuilder()
+                        .setName("delete")
+                        .setTitle("Delete book")
+                        .setMethod(HttpMethod.DELETE)
+                        .setHref(URI.create("https://api.example.com/books/1"))
+                        .build())
+                .addLink(Link.newBuilder().addRel("self").setHref(URI.create("https://api.example.com/books")).build())
+                .build();
+
+        final Entity actual = Siren.createEntityReader().read(jsonObject);
+
+        assertThat(actual, is(expected));
+        assertThat(Siren.createEntityReader().read(new StringReader(jsonObject.toString())), is(expected));
+    }
+
+    @Test
+    public void testLazy() {
+        final JsonObject jsonObject = Siren.createEntityBuilder()
+                .addClass("books")
+                .addEntity(Siren.createEntityBuilder()
+                        .addClass("book")
+                        .addSubEntityRel("item")
+                        .addProperty("name", "Java")
+                        .addLink(URI.create("https://api.example.com/books/1"), "self"))
+                .addLink(URI.create("https://api.example.com/books"), "self")
+                .addAction(Siren.createActionBuilder()
+                        .setName("add-book")
+                        .setMethod(HttpMethod.POST)
+                        .setHref(URI.create("https://api.example.com/books"))
+                        .addField("name", FieldType.TEXT))
+                .build();
+
+        final EntityReader entityReader = Siren.createEntityReader();
+        final Entity actual = entityReader.readLazily(jsonObject);
+
+        assertThat(actual.getLink("self"), is(URI.create("https://api.example.com/books")));
+        assertThat(actual.getEntities().get(0).getLink("self"), is(URI.create("https://api.example.com/books/1")));
+        assertThat(actual, is(entityReader.read(jsonObject)));
+        assertThat(entityReader.read(jsonObject), is(actual));
+    }
+
+    @Test
+    public void testLazyInvalidSection() {
+        final JsonObject jsonObject = Json.createObjectBuilder()
+                .add("properties", Json.createObjectBuilder().add("name", "Java"))
+                .add("links", Json.createArrayBuilder()
+                        .add(Json.createObjectBuilder().add("rel", Json.createArrayBuilder().add("self")).add("href", "https://api.example.com/books/1"))
+                        .add(Json.createObjectBuilder().add("href", "https://api.example.com/books/2")))
+                .build();
+
+        final Entity actual = Siren.createEntityReader().readLazily(jsonObject);
+        assertThat(actual.getProperties().get("name"), is("Java"));
+
+        for (int i = 0; i < 2; i++) {
+            try {
+                actual.getLinks();
+                fail("expected exception not occurred");
+            } catch (RuntimeException e) {
+                assertThat(e.getMessage().startsWith("At least one rels must be set for link"), is(true));
+            }
+        }
+    }
+
+    @Test
+    public void testStream() {
+        final String json = "{\"class\":[\"book\"]," +
+                "\"unknown\":{\"nested\":[1,{\"a\":[]}]}," +
+                "\"properties\":{\"name\":\"Java\",\"pages\":512,\"price\":12.5,\"available\":true,\"nested\":{\"a\":[1,2]},\"empty\":null}," +
+                "\"entities\":[{\"rel\":[\"author\"],\"href\":\"https://api.example.com/authors/1\",\"title\":null}]," +
+                "\"links\":[{\"rel\":[\"self\"],\"href\":\"https://api.example.com/books/1\",\"unknown\":[true]}]," +
+                "\"actions\":[{\"name\":\"delete\",\"href\":\"https://api.example.com/books/1\",\"fields\":[{\"name\":\"reason\",\"type\":\"TEXT\"}," +
+                "{\"name\":\"note\",\"required\":{\"a\":[true]},\"title\":\"Note\"}]}]}";
+
+        final EntityReader entityReader = Siren.createEntityReader();
+        final Entity expected = entityReader.read(Json.createReader(new StringReader(json)).readObject());
+        final Entity actual = entityReader.read(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(actual, is(expected));
+        assertThat(actual.getProperties().get("pages"), is(512L));
+        assertThat(actual.getProperties().get("price"), is(12.5));
+        assertThat(actual.getEntities().get(0).getHref(), is(URI.create("https://api.example.com/authors/1")));
+        assertThat(actual.getAction("delete").getMethod(), is(HttpMethod.GET));
+        assertThat(actual.getAction("delete").getFields().get(0).getType(), is(FieldType.TEXT));
+        assertThat(actual.getAction("delete").getFields().get(1).isRequired(), is(false));
+        assertThat(actual.getAction("delete").getFields().get(1).getTitle(), is("Note"));
+    }
+
+    @Test
+    public void testStreamLinkWithoutRel() {
+        final String json = "{\"links\":[{\"href\":\"https://api.example.com/books/1\"}]}";
+        try {
+            Siren.createEntityReader().read(new StringReader(json));
+        } catch (RuntimeException e) {
+            assertThat(e.getMessage().startsWith("At least one rels must be set for link"), is(true));
+            return;
+        }
+        fail("expected exception not occurred");
+    }
+
+    @Test
+    public void testSelective() {
+        final String json = "{\"class\":[\"books\"]," +
+                "\"properties\":{\"size\":2}," +
+                "\"entities\":[{\"class\":[\"book\"],\"rel\":[\"item\"],\"properties\":{\"name\":\"Java\"}," +
+                "\"links\":[{\"rel\":[\"self\"],\"href\":\"https://api.example.com/books/1\"}]}]," +
+                "\"links\":[{\"rel\":[\"self\"],\"href\":\"https://api.example.com/books\"}]," +
+                "\"actions\":[{\"name\":\"add-book\",\"href\":\"https://api.example.com/books\",\"method\":\"POST\"}]}";
+
+        final EntityReader entityReader = Siren.createEntityReader();
+        final JsonObject jsonObject = Json.createReader(new StringReader(json)).readObject();
+
+        final Entity navigation = entityReader.read(new StringReader(json), ReadOptions.of(LINKS, ACTIONS));
+        assertThat(navigation.getClasses().contains("books"), is(true));
+        assertThat(navigation.getProperties().isEmpty(), is(true));
+        assertThat(navigation.getEntities().isEmpty(), is(true));
+        assertThat(navigation.getLink("self"), is(URI.create("https://api.example.com/books")));
+        assertThat(navigation.getAction("add-book").getMethod(), is(HttpMethod.POST));
+        assertThat(entityReader.read(jsonObject, ReadOptions.of(LINKS, ACTIONS)), is(navigation));
+
+        final Entity entities = entityReader.read(new StringReader(json), ReadOptions.of(ENTITIES, LINKS));
+        final SubEntity subEntity = entities.getEntities().get(0);
+        assertThat(subEntity.getProperties().isEmpty(), is(true));
+        assertThat(subEntity.getLink("self"), is(URI.create("https://api.example.com/books/1")));
+        assertThat(entities.getActions().isEmpty(), is(true));
+        assertThat(entityReader.read(jsonObject, ReadOptions.of(ENTITIES, LINKS)), is(entities));
+
+        assertThat(entityReader.read(new StringReader(json), ReadOptions.all()), is(entityReader.read(jsonObject)));
+    }
+
+    @Test
+    public void testLinkAndActionLookup() {
+        final String json = "{\"links\":[" +
+                "{\"rel\":[\"item\",\"first\"],\"href\":\"https://api.example.com/books/1\"}," +
+                "{\"rel\":[\"item\"],\"href\":\"https://api.example.com/books/2\"}]," +
+                "\"actions\":[{\"name\":\"add-book\",\"href\":\"https://api.example.com/books\",\"method\":\"POST\"}," +
+                "{\"name\":\"add-book\",\"href\":\"https://api.example.com/other-books\",\"method\":\"POST\"}]}";
+
+        final EntityReader entityReader = Siren.createEntityReader();
+        final JsonObject jsonObject = Json.createReader(new StringReader(json)).readObject();
+
+        for (final Entity entity : new Entity[]{entityReader.read(new StringReader(json)), entityReader.read(jsonObject), entityReader.readLazily(jsonObject)}) {
+            assertThat(entity.getLink("item"), is(URI.create("https://api.example.com/books/1")));
+            assertThat(entity.getLink("first"), is(URI.create("https://api.example.com/books/1")));
+            assertThat(entity.getLink("last"), is((URI) null));
+            assertThat(entity.getLinks("item").size(), is(2));
+            assertThat(entity.getLinks("item").get(1).getHref(), is(URI.create("https://api.example.com/books/2")));
+            assertThat(entity.getLinks("last").isEmpty(), is(true));
+            assertThat(entity.getAction("add-book").getHref(), is(URI.create("https://api.example.com/books")));
+            assertThat(entity.getAction("delete-book"), is((Action) null));
+        }
+    }
+
+    @Test
+    public void testSharedSymbols() {
+        final RuntimeDelegate delegateMock = mock(RuntimeDelegate.class);
+        @SuppressWarnings("unchecked")
+        final RuntimeDelegate.HeaderDelegate<MediaType> headerDelegateMock = mock(RuntimeDelegate.HeaderDelegate.class);
+        when(delegateMock.createHeaderDelegate(MediaType.class)).thenReturn(headerDelegateMock);
+        when(headerDelegateMock.fromString(any())).thenAnswer(i -> new MediaType("application", "json"));
+        injectRuntimeDelegate(delegateMock);
+
+        final String json = "{\"links\":[" +
+                "{\"class\":[\"book\"],\"rel\":[\"item\"],\"href\":\"https://api.example.com/books/1\",\"type\":\"application/json\"}," +
+                "{\"class\":[\"book\"],\"rel\":[\"item\"],\"href\":\"https://api.example.com/books/2\",\"type\":\"application/json\"}]," +
+                "\"actions\":[{\"name\":\"add-book\",\"href\":\"https://api.example.com/books\",\"type\":\"application/json\"," +
+                "\"fields\":[{\"name\":\"name\",\"type\":\"DATETIME-LOCAL\"}]}]}";
+
+        final EntityReader entityReader = Siren.createEntityReader();
+        final Entity first = entityReader.read(new StringReader(json));
+        final Entity second = entityReader.read(Json.createReader(new StringReader(json)).readObject());
+
+        final Link link = first.getLinks().get(0);
+        assertThat(first.getLinks().get(1).getType(), sameInstance(link.getType()));
+        assertThat(first.getAction("add-book").getType(), sameInstance(link.getType()));
+        assertThat(second.getLinks().get(1).getType(), sameInstance(link.getType()));
+        assertThat(second.getLinks().get(1).getRels().iterator().next(), sameInstance(link.getRels().iterator().next()));
+        assertThat(second.getLinks().get(1).getClasses().iterator().next(), sameInstance(link.getClasses().iterator().next()));
+        assertThat(first.getAction("add-book").getFields().get(0).getType(), is(FieldType.DATETIME_LOCAL));
+
+        verify(headerDelegateMock, times(1)).fromString("application/json");
+    }
+
+    @Test
+    public void testTypedProperties() {
+        final StringBuilder json = new StringBuilder("{\"properties\":{\"name\":\"Java\",\"pages\":512,\"price\":12.5," +
+                "\"available\":true,\"nested\":{\"a\":1},\"empty\":null,\"pages\":256");
+        for (int i = 0; i < 20; i++)
+            json.append(",\"p").append(i).append("\":").append(i);
+        json.append("}}");
+
+        final EntityReader entityReader = Siren.createEntityReader();
+        final JsonObject jsonObject = Json.createReader(new StringReader(json.toString())).readObject();
+
+        for (final Entity entity : new Entity[]{entityReader.read(new StringReader(json.toString())), entityReader.read(jsonObject), entityReader.readLazily(jsonObject)}) {
+            assertThat(entity.getString("name"), is("Java"));
+            assertThat(entity.getLong("pages"), is(256L));
+            assertThat(entity.getDouble("pages"), is(256.0));
+            assertThat(entity.getDouble("price"), is(12.5));
+            assertThat(entity.getBoolean("available"), is(true));
+            assertThat(entity.getLong("p19"), is(19L));
+            assertThat(entity.getLong("price", -1L), is(-1L));
+            assertThat(entity.getLong("unknown", -1L), is(-1L));
+            assertThat(entity.getDouble("name", -1.0), is(-1.0));
+            assertThat(entity.getBoolean("empty", false), is(false));
+            assertThat(entity.getString("pages"), is((String) null));
+            assertThat(entity.getProperties().get("pages"), is(256L));
+            assertThat(entity.getProperties().containsKey("empty"), is(true));
+            assertThat(entity.getProperties().size(), is(26));
+
+            try {
+                entity.getLong("name");
+                fail("expected exception not occurred");
+            } catch (RuntimeException e) {
+                assertThat(e.getMessage(), is("Could not find integral number property name in entity"));
+            }
+        }
+    }
+
+    @Test
+    public void testNestedProperties() {
+        final String json = "{\"properties\":{\"name\":\"Java\"," +
+                "\"author\":{\"name\":\"Duke\",\"age\":21,\"height\":1.5,\"active\":true,\"tags\":[\"a\",null,false,[1]],\"address\":null}," +
+                "\"ratings\":[5,4.5,{\"source\":\"web\"}]}}";
+
+        final EntityReader entityReader = Siren.createEntityReader();
+        final JsonObject jsonObject = Json.createReader(new StringReader(json)).readObject();
+        final JsonObject properties = jsonObject.getJsonObject("properties");
+
+        for (final Entity entity : new Entity[]{entityReader.read(new StringReader(json)), entityReader.read(jsonObject), entityReader.readLazily(jsonObject)}) {
+            assertThat(entity.getJsonObject("author"), is(properties.getJsonObject("author")));
+            assertThat(entity.getJsonObject("author").getString("name"), is("Duke"));
+            assertThat(entity.getJsonArray("ratings"), is(properties.getJsonArray("ratings")));
+            assertThat(entity.getJsonArray("ratings").getJsonObject(2).getString("source"), is("web"));
+            assertThat(entity.getJsonArray("author"), is((JsonArray) null));
+            assertThat(entity.getJsonObject("name"), is((JsonObject) null));
+            assertThat(entity.getProperties().containsKey("author"), is(true));
+            assertThat(entity.getProperties().get("author"), is((Object) null));
+        }
+
+        assertThat(entityReader.read(jsonObject).getJsonObject("author"), sameInstance(properties.getJsonObject("author")));
+        assertThat(entityReader.read(new StringReader(json)), is(entityReader.read(jsonObject)));
+        assertThat(entityReader.read(new StringReader(json)).equals(entityReader.read(new StringReader(json.replace("Duke", "Hello")))), is(false));
+    }
+
+    @Test
+    public void testParallel() {
+        final EntityBuilder builder = Siren.createEntityBuilder().addClass("books");
+        for (int i = 0; i < 500; i++)
+            builder.addEntity(Siren.createEntityBuilder()
+                    .addSubEntityRel("item")
+                    .addProperty("index", i)
+                    .addLink(URI.create("https://api.example.com/books/" + i), "self"));
+        final JsonObject jsonObject = builder.build();
+
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            final EntityReader entityReader = Siren.createEntityReader();
+            final Entity actual = entityReader.read(jsonObject, ReadOptions.all().parallel(pool, 10));
+
+            assertThat(actual, is(entityReader.read(jsonObject)));
+            for (int i = 0; i < 500; i++)
+                assertThat(actual.getEntities().get(i).getLong("index"), is((long) i));
+
+            final JsonArrayBuilder entities = Json.createArrayBuilder();
+            jsonObject.getJsonArray("entities").forEach(entities::add);
+            entities.add(Json.createObjectBuilder().add("links", Json.createArrayBuilder()
+                    .add(Json.createObjectBuilder().add("href", "https://api.example.com/books"))));
+            final JsonObject invalid = Json.createObjectBuilder().add("entities", entities).build();
+            try {
+                entityReader.read(invalid, ReadOptions.all().parallel(pool, 10));
+                fail("expected exception not occurred");
+            } catch (RuntimeException e) {
+                assertThat(e.getMessage().startsWith("At least one rels must be set for link"), is(true));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testBind() {
+        final JsonObject jsonObject = Siren.createEntityBuilder()
+                .addClass("book")
+                .addProperty("name", "Java")
+                .addProperty("pages", 350)
+                .addProperty("price", 29.99)
+                .addProperty("available", true)
+                .addProperty("availability", "SOLD_OUT")
+                .addProperty("unknown", "ignored")
+                .addLink(URI.create("https://api.example.com/books/1"), "self")
+                .addEntity(Siren.createEntityBuilder().addSubEntityRel("author").addProperty("name", "Duke"))
+                .build();
+
+        final EntityReader entityReader = Siren.createEntityReader();
+        final BookDto book = entityReader.read(new StringReader(jsonObject.toString()), BookDto.class);
+
+        assertThat(book.getName(), is("Java"));
+        assertThat(book.getPages(), is(350));
+        assertThat(book.getPrice(), is(new BigDecimal("29.99")));
+        assertThat(book.isAvailable(), is(true));
+        assertThat(book.getAvailability(), is(BookDto.Availability.SOLD_OUT));
+        assertThat(book.getUri(), is(URI.create("https://api.example.com/books/1")));
+
+        final BookDto bound = entityReader.read(jsonObject).bind(BookDto.class);
+        assertThat(bound.getName(), is("Java"));
+        assertThat(bound.getPages(), is(350));
+    }
+
+    @Test
+    public void testBindUnexpectedValues() {
+        final JsonObject jsonObject = Siren.createEntityBuilder()
+                .addProperty("name", "Java")
+                .addProperty("pages", 1L << 40)
+                .addProperty("availability", "OUT_OF_PRINT")
+                .build();
+
+        final BookDto book = Siren.createEntityReader().read(jsonObject, BookDto.class);
+
+        assertThat(book.getName(), is("Java"));
+        assertThat(book.getPages(), is(0));
+        assertThat(book.getAvailability(), is(nullValue()));
+    }
+
+    @Test
+    public void testBindFields() {
+        final JsonObject jsonObject = Siren.createEntityBuilder()
+                .addProperty("id", 42)
+                .addProperty("full-name", "Duke")
+                .addProperty("rating", 4)
+                .build();
+
+        final AuthorDto author = Siren.createEntityReader().read(jsonObject, AuthorDto.class);
+
+        assertThat(author.id, is(42L));
+        assertThat(author.name, is("Duke"));
+        assertThat(author.rating, is(4.0));
+        assertThat(author.books, is(nullValue()));
+    }
+
+    @Test
+    public void testBindInvalidType() {
+        try {
+            Siren.createEntityReader().read(Json.createObjectBuilder().build(), Invalid.class);
+            fail("expected exception not occurred");
+        } catch (IllegalArgumentException e) {
+            assertThat(e.getMessage().startsWith("Could not find no-arg constructor"), is(true));
+        }
+    }
+
+    public static class BookDto {
+
+        public enum Availability {
+            IN_STOCK, SOLD_OUT
+        }
+
+        private String name;
+        private int pages;
+        private BigDecimal price;
+        private boolean available;
+        private Availability availability;
+        private URI uri;
+
+        @SirenProperty
+        public String getName() {
+            return name;
+        }
+
+        public void setName(final String name) {
+            this.name = name;
+        }
+
+        @SirenProperty
+        public int getPages() {
+            return pages;
+        }
+
+        public void setPages(final int pages) {
+            this.pages = pages;
+        }
+
+        @SirenProperty
+        public BigDecimal getPrice() {
+            return price;
+        }
+
+        public void setPrice(final BigDecimal price) {
+            this.price = price;
+        }
+
+        @SirenProperty
+        public boolean isAvailable() {
+            return available;
+        }
+
+        public void setAvailable(final boolean available) {
+            this.available = available;
+        }
+
+        @SirenProperty
+        public Availability getAvailability() {
+            return availability;
+        }
+
+        public void setAvailability(final Availability availability) {
+            this.availability = availability;
+        }
+
+        @SirenLink(rel = "self")
+        public URI getUri() {
+            return uri;
+        }
+
+        public void setUri(final URI uri) {
+            this.uri = uri;
+        }
+
+    }
+
+    private static class AuthorDto {
+
+        @SirenProperty
+        private long id;
+
+        @SirenProperty(name = "full-name")
+        private String name;
+
+        @SirenProperty
+        private double rating;
+
+        @SirenProperty
+        private Integer books;
+
+    }
+
+    private static class Invalid {
+
+        @SirenProperty
+        private final String name;
+
+        private Invalid(final String name) {
+            this.name = name;
+        }
+
+    }
+
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright (C) 2016 Sebastian Daschner, sebastian-daschner.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sebastian_daschner.siren4javaee;
+
+import org.junit.Test;
+
+import javax.json.Json;
+import javax.json.stream.JsonGenerator;
+import javax.ws.rs.HttpMethod;
+import java.io.StringWriter;
+import java.net.URI;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class EntityTemplateTest {
+
+    private final EntityTemplate template = Siren.createEntityTemplateBuilder()
+            .addClass("book")
+            .addSubEntityRel("item")
+            .addProperty("isbn")
+            .addProperty("name")
+            .addProperty("price")
+            .addLink("self")
+            .addLink(URI.create("https://api.example.com/books"), "collection")
+            .addAction(Siren.createActionBuilder()
+                    .setName("add-to-cart")
+                    .setMethod(HttpMethod.POST)
+                    .setHref(URI.create("https://api.example.com/shopping_cart"))
+                    .addField("isbn", FieldType.TEXT))
+            .addAction(Siren.createActionBuilder()
+                    .setName("delete")
+                    .setMethod(HttpMethod.DELETE)
+                    .setHref(URI.create("https://api.example.com/books/0")))
+            .build();
+
+    @Test
+    public void testRender() {
+        final EntityTemplate.Renderer renderer = template.render()
+                .setProperty("isbn", "1-2345-3456")
+                .setProperty("name", "Java")
+                .setProperty("price", 12.5)
+                .setLink("self", URI.create("https://api.example.com/books/1"))
+                .setActionHref("delete", URI.create("https://api.example.com/books/1"));
+
+        final String expected = Siren.createEntityBuilder()
+                .addClass("book")
+                .addSubEntityRel("item")
+                .addProperty("isbn", "1-2345-3456")
+                .addProperty("name", "Java")
+                .addProperty("price", 12.5)
+                .addLink(URI.create("https://api.example.com/books/1"), "self")
+                .addLink(URI.create("https://api.example.com/books"), "collection")
+                .addAction(Siren.createActionBuilder()
+                        .setName("add-to-cart")
+                        .setMethod(HttpMethod.POST)
+                        .setHref(URI.create("https://api.example.com/shopping_cart"))
+                        .addField("isbn", FieldType.TEXT))
+                .addAction(Siren.createActionBuilder()
+                        .setName("delete")
+                        .setMethod(HttpMethod.DELETE)
+                        .setHref(URI.create("https://api.example.com/books/1")))
+                .build().toString();
+
+        assertThat(renderer.build().toString(), is(expected));
+        assertThat(write(renderer), is(expected));
+    }
+
+    @Test
+    public void testUnfilledSlots() {
+        final EntityTemplate.Renderer renderer = template.render()
+                .setProperty("name", "Java");
+
+        final String expected = "{\"class\":[\"book\"],\"rel\":[\"item\"]," +
+                "\"properties\":{\"name\":\"Java\"}," +
+                "\"links\":[{\"rel\":[\"collection\"],\"href\":\"https://api.example.com/books\"}]," +
+                "\"actions\":[" +
+                "{\"name\":\"add-to-cart\",\"method\":\"POST\",\"href\":\"https://api.example.com/shopping_cart\"," +
+                "\"fields\":[{\"name\":\"isbn\",\"type\":\"text\",\"required\":false}]}," +
+                "{\"name\":\"delete\",\"method\":\"DELETE\",\"href\":\"https://api.example.com/books/0\"}]}";
+
+        assertThat(renderer.build().toString(), is(expected));
+        assertThat(write(renderer), is(expected));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUndeclaredProperty() {
+        template.render().setProperty("author", "Duke");
+    }
+
+    @Test
+    public void testSubEntities() {
+        final EntityBuilder builder = Siren.createEntityBuilder()
+                .addClass("books")
+                .addEntity(template.render().setProperty("isbn", "1").setLink("self", URI.create("https://api.example.com/books/1")))
+                .addEntity(template.render().setProperty("isbn", "2").setLink("self", URI.create("https://api.example.com/books/2")));
+
+        final StringWriter writer = new StringWriter();
+        try (JsonGenerator generator = Json.createGenerator(writer)) {
+            builder.writeTo(generator);
+        }
+
+        assertThat(writer.toString(), is(builder.build().toString()));
+    }
+
+    private String write(final SirenWritable writable) {
+        final StringWriter writer = new StringWriter();
+        try (JsonGenerator generator = Json.createGenerator(writer)) {
+            writable.writeTo(generator);
+        }
+        return writer.toString();
+    }
+
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright (C) 2016 Sebastian Daschner, sebastian-daschner.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sebastian_daschner.siren4javaee;
+
+import org.junit.Test;
+
+import javax.json.Json;
+import javax.json.stream.JsonGenerator;
+import javax.ws.rs.HttpMethod;
+import java.io.ByteArrayOutputStream;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+public class EntityWriterTest {
+
+    @Test
+    public void testSimple() {
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        try (EntityWriter writer = Siren.createEntityWriter(outputStream)) {
+            writer.addClass("books")
+                    .addEntity(Siren.createEntityBuilder()
+                            .addClass("book")
+                            .addSubEntityRel("item")
+                            .addProperty("name", "Java")
+                            .addProperty("author", "Duke")
+                            .addLink(URI.create("https://api.example.com/books/1"), "self"))
+                    .addLink(URI.create("https://api.example.com/books"), "self");
+        }
+
+        final String expected = "{\"class\":[\"books\"]," +
+                "\"entities\":[" +
+                "{" +
+                "\"class\":[\"book\"]," +
+                "\"rel\":[\"item\"]," +
+                "\"properties\":{" +
+                "\"name\":\"Java\"," +
+                "\"author\":\"Duke\"}," +
+                "\"links\":[{\"rel\":[\"self\"],\"href\":\"https://api.example.com/books/1\"}]" +
+                "}]," +
+                "\"links\":[{\"rel\":[\"self\"],\"href\":\"https://api.example.com/books\"}]}";
+        assertThat(new String(outputStream.toByteArray(), StandardCharsets.UTF_8), is(expected));
+    }
+
+    @Test
+    public void testSameAsBuilder() {
+        final StringWriter stringWriter = new StringWriter();
+        final JsonGenerator generator = Json.createGenerator(stringWriter);
+
+        Siren.createEntityWriter(generator)
+                .addClass("book")
+                .addClass("item")
+                .setTitle("Book")
+                .addProperty("name", "Java")
+                .addProperty("price", new BigDecimal("12.50"))
+                .addProperty("rating", 0.00001d)
+                .addProperty("available", true)
+                .addLink(URI.create("https://api.example.com/books/1"), "self", "item")
+                .addAction(Siren.createActionBuilder()
+                        .setName("add-to-cart")
+                        .setMethod(HttpMethod.POST)
+                        .setHref(URI.create("https://api.example.com/shopping_cart"))
+                        .addField("isbn", FieldType.TEXT)
+                        .addField(Siren.createFieldBuilder().setName("quantity").setType(FieldType.NUMBER).setRequired(true)))
+                .close();
+        generator.close();
+
+        final String expected = Siren.createEntityBuilder()
+                .addClass("book")
+                .addClass("item")
+                .setTitle("Book")
+                .addProperty("name", "Java")
+                .addProperty("price", new BigDecimal("12.50"))
+                .addProperty("rating", 0.00001d)
+                .addProperty("available", true)
+                .addLink(URI.create("https://api.example.com/books/1"), "self", "item")
+                .addAction(Siren.createActionBuilder()
+                        .setName("add-to-cart")
+                        .setMethod(HttpMethod.POST)
+                        .setHref(URI.create("https://api.example.com/shopping_cart"))
+                        .addField("isbn", FieldType.TEXT)
+                        .addField(Siren.createFieldBuilder().setName("quantity").setType(FieldType.NUMBER).setRequired(true)))
+                .build().toString();
+
+        assertThat(stringWriter.toString(), is(expected));
+    }
+
+    @Test
+    public void testSectionAlreadyWritten() {
+        final EntityWriter writer = Siren.createEntityWriter(new ByteArrayOutputStream())
+                .addProperty("name", "Java")
+                .addLink(URI.create("https://api.example.com/books/1"), "self");
+        try {
+            writer.addProperty("author", "Duke");
+        } catch (IllegalStateException e) {
+            assertThat(e.getMessage(), is("Could not write properties of entity, section has already been written"));
+            return;
+        }
+        fail("expected exception not occurred");
+    }
+
+}
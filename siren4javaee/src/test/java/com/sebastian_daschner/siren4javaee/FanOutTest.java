@@ -0,0 +1,126 @@
+/*
+ * Copyright (C) 2016 Sebastian Daschner, sebastian-daschner.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sebastian_daschner.siren4javaee;
+
+import org.junit.Test;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+public class FanOutTest {
+
+    private final Map<URI, CompletableFuture<Entity>> requests = new LinkedHashMap<>();
+
+    @Test
+    public void testOrderAndLimits() {
+        final List<URI> uris = Arrays.asList(uri("a", 1), uri("a", 2), uri("a", 3), uri("b", 1), uri("b", 2), uri("c", 1));
+        final CompletableFuture<List<Entity>> result = new FanOut(uris, this::retrieve, 3, 2).start().toCompletableFuture();
+
+        // distributed among the hosts
+        assertThat(new ArrayList<>(requests.keySet()), is(Arrays.asList(uri("a", 1), uri("b", 1), uri("c", 1))));
+
+        complete(uri("c", 1));
+        assertThat(new ArrayList<>(requests.keySet()), is(Arrays.asList(uri("a", 1), uri("b", 1), uri("a", 2))));
+
+        complete(uri("a", 2));
+        complete(uri("a", 1));
+        assertThat(new ArrayList<>(requests.keySet()), is(Arrays.asList(uri("b", 1), uri("a", 3), uri("b", 2))));
+
+        complete(uri("a", 3));
+        complete(uri("b", 2));
+        assertThat(result.isDone(), is(false));
+        complete(uri("b", 1));
+
+        final List<String> names = new ArrayList<>();
+        result.join().forEach(e -> names.add(e.getString("uri")));
+        assertThat(names, is(Arrays.asList("http://a/1", "http://a/2", "http://a/3", "http://b/1", "http://b/2", "http://c/1")));
+    }
+
+    @Test
+    public void testSynchronousCompletion() {
+        final List<URI> uris = new ArrayList<>();
+        for (int i = 0; i < 1000; i++)
+            uris.add(uri("a", i));
+
+        final List<Entity> entities = new FanOut(uris, uri -> CompletableFuture.completedFuture(entity(uri)), 1, 1)
+                .start().toCompletableFuture().join();
+
+        assertThat(entities.size(), is(1000));
+        assertThat(entities.get(999).getString("uri"), is("http://a/999"));
+    }
+
+    @Test
+    public void testEmpty() {
+        assertThat(new FanOut(Collections.emptyList(), this::retrieve, 1, 1).start().toCompletableFuture().join(), is(Collections.emptyList()));
+    }
+
+    @Test
+    public void testFailure() {
+        final List<URI> uris = Arrays.asList(uri("a", 1), uri("a", 2), uri("a", 3));
+        final CompletableFuture<List<Entity>> result = new FanOut(uris, this::retrieve, 1, 1).start().toCompletableFuture();
+
+        requests.remove(uri("a", 1)).completeExceptionally(new RuntimeException("Could not retrieve"));
+        assertThat(requests.isEmpty(), is(true));
+
+        try {
+            result.join();
+            fail("expected exception not occurred");
+        } catch (CompletionException e) {
+            assertThat(e.getCause().getMessage(), is("Could not retrieve"));
+        }
+    }
+
+    @Test
+    public void testInvalidLimits() {
+        try {
+            new FanOut(Collections.emptyList(), this::retrieve, 0, 1);
+            fail("expected exception not occurred");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    private CompletionStage<Entity> retrieve(final URI uri) {
+        final CompletableFuture<Entity> future = new CompletableFuture<>();
+        requests.put(uri, future);
+        return future;
+    }
+
+    private void complete(final URI uri) {
+        requests.remove(uri).complete(entity(uri));
+    }
+
+    private static Entity entity(final URI uri) {
+        return Siren.createEntityReader().read(Siren.createEntityBuilder().addProperty("uri", uri.toString()).build());
+    }
+
+    private static URI uri(final String host, final int index) {
+        return URI.create("http://" + host + "/" + index);
+    }
+
+}
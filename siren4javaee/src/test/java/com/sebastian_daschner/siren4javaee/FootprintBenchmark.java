@@ -0,0 +1,78 @@
+/*
+ * Copyright (C) 2016 Sebastian Daschner, sebastian-daschner.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sebastian_daschner.siren4javaee;
+
+import javax.json.Json;
+import javax.json.JsonArrayBuilder;
+import javax.json.JsonObject;
+import java.net.URI;
+
+/**
+ * Measures the retained heap of parsed Siren entities which contain many small sub entities.
+ * Not executed as part of the tests, run via {@code main}, e.g. with the test classpath and a fixed heap size:
+ * <pre>
+ *     java -Xms1g -Xmx1g -cp target/classes:target/test-classes:... com.sebastian_daschner.siren4javaee.FootprintBenchmark [count]
+ * </pre>
+ *
+ * @author Sebastian Daschner
+ */
+public final class FootprintBenchmark {
+
+    private FootprintBenchmark() {
+        throw new UnsupportedOperationException();
+    }
+
+    public static void main(final String... args) {
+        final int count = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        final JsonObject json = createJson(count);
+        final EntityReader entityReader = Siren.createEntityReader();
+
+        // warm up
+        entityReader.read(json);
+
+        final long before = usedHeap();
+        final Entity entity = entityReader.read(json);
+        final long after = usedHeap();
+
+        System.out.printf("%d sub entities retain %d bytes, %d bytes per sub entity%n",
+                entity.getEntities().size(), after - before, (after - before) / count);
+    }
+
+    private static JsonObject createJson(final int count) {
+        final JsonArrayBuilder entities = Json.createArrayBuilder();
+        for (int i = 0; i < count; i++) {
+            final URI href = URI.create("https://api.example.com/books/" + i);
+            entities.add(Siren.createEntityBuilder()
+                    .addClass("book")
+                    .addSubEntityRel("item")
+                    .addProperty("name", "Book " + i)
+                    .addLink(href, "self")
+                    .build());
+        }
+        return Json.createObjectBuilder()
+                .add("class", Json.createArrayBuilder().add("books"))
+                .add("entities", entities)
+                .build();
+    }
+
+    private static long usedHeap() {
+        final Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 5; i++)
+            System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (C) 2016 Sebastian Daschner, sebastian-daschner.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sebastian_daschner.siren4javaee;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ParallelMapperTest {
+
+    private ForkJoinPool pool;
+
+    @Test
+    public void testMapInOrder() {
+        final List<Integer> elements = IntStream.range(0, 10_000).boxed().collect(Collectors.toList());
+        final List<String> results = new ArrayList<>();
+
+        ParallelMapper.map(pool, elements.iterator(), String::valueOf, results::add);
+
+        assertThat(results, is(elements.stream().map(String::valueOf).collect(Collectors.toList())));
+    }
+
+    @Test
+    public void testPullsOnlyFewChunksAhead() {
+        final AtomicInteger pulled = new AtomicInteger();
+        final Iterator<Integer> elements = IntStream.range(0, 10_000).boxed().peek(i -> pulled.incrementAndGet()).iterator();
+        final List<Integer> pulledAtFirstResult = new ArrayList<>();
+
+        ParallelMapper.map(pool, elements, i -> i, i -> {
+            if (pulledAtFirstResult.isEmpty())
+                pulledAtFirstResult.add(pulled.get());
+        });
+
+        assertThat(pulled.get(), is(10_000));
+        // at most four chunks per thread
+        assertTrue(pulledAtFirstResult.get(0) <= 4 * 4 * 32);
+    }
+
+    @Test
+    public void testRethrowsOriginalException() {
+        final IllegalStateException exception = new IllegalStateException("Could not map");
+        try {
+            ParallelMapper.map(pool, IntStream.range(0, 1000).boxed().iterator(), i -> {
+                if (i == 500)
+                    throw exception;
+                return i;
+            }, i -> {
+            });
+            fail("expected exception not occurred");
+        } catch (IllegalStateException e) {
+            assertThat(e, is(sameInstance(exception)));
+        }
+    }
+
+    @Before
+    public void setUp() {
+        pool = new ForkJoinPool(4);
+    }
+
+    @After
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright (C) 2016 Sebastian Daschner, sebastian-daschner.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sebastian_daschner.siren4javaee;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+public class SingleFlightTest {
+
+    private final SingleFlight<String, Object> cut = new SingleFlight<>();
+
+    @Test
+    public void testCoalesce() throws Exception {
+        final AtomicInteger calls = new AtomicInteger();
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final Object result = new Object();
+
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            final List<Future<Object>> futures = new ArrayList<>();
+            futures.add(executor.submit(() -> cut.execute("key", () -> {
+                calls.incrementAndGet();
+                started.countDown();
+                await(release);
+                return result;
+            })));
+            await(started);
+
+            final CountDownLatch joining = new CountDownLatch(7);
+            final Queue<Thread> callers = new ConcurrentLinkedQueue<>();
+            for (int i = 0; i < 7; i++)
+                futures.add(executor.submit(() -> {
+                    callers.add(Thread.currentThread());
+                    joining.countDown();
+                    return cut.execute("key", () -> {
+                        calls.incrementAndGet();
+                        return new Object();
+                    });
+                }));
+
+            // wait until all callers are blocked by joining the in-flight call
+            await(joining);
+            for (final Thread caller : callers)
+                awaitWaiting(caller);
+            release.countDown();
+
+            for (final Future<Object> future : futures)
+                assertThat(future.get(5, TimeUnit.SECONDS), is(sameInstance(result)));
+            assertThat(calls.get(), is(1));
+            assertThat(cut.inFlight(), is(0));
+
+            // completed calls are not shared
+            assertThat(cut.execute("key", () -> "new"), is("new"));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testError() {
+        try {
+            cut.execute("key", () -> {
+                throw new IllegalStateException("error");
+            });
+            fail("expected exception not occurred");
+        } catch (IllegalStateException e) {
+            assertThat(e.getMessage(), is("error"));
+        }
+        assertThat(cut.inFlight(), is(0));
+    }
+
+    @Test
+    public void testAsync() {
+        final CompletableFuture<Object> call = new CompletableFuture<>();
+        final AtomicInteger calls = new AtomicInteger();
+
+        final CompletionStage<Object> first = cut.executeAsync("key", () -> {
+            calls.incrementAndGet();
+            return call;
+        });
+        final CompletionStage<Object> second = cut.executeAsync("key", () -> {
+            calls.incrementAndGet();
+            return new CompletableFuture<>();
+        });
+        final CompletionStage<Object> other = cut.executeAsync("other", () -> CompletableFuture.completedFuture("other"));
+
+        // completing a returned stage doesn't affect other callers
+        second.toCompletableFuture().complete("ignored");
+
+        call.complete("result");
+        assertThat(first.toCompletableFuture().join(), is("result"));
+        assertThat(other.toCompletableFuture().join(), is("other"));
+        assertThat(calls.get(), is(1));
+        assertThat(cut.inFlight(), is(0));
+    }
+
+    @Test
+    public void testAsyncError() {
+        final CompletableFuture<Object> call = new CompletableFuture<>();
+        final CompletionStage<Object> first = cut.executeAsync("key", () -> call);
+        final CompletionStage<Object> second = cut.executeAsync("key", CompletableFuture::new);
+
+        call.completeExceptionally(new IllegalStateException("error"));
+        for (final CompletionStage<Object> stage : Arrays.asList(first, second)) {
+            try {
+                stage.toCompletableFuture().join();
+                fail("expected exception not occurred");
+            } catch (CompletionException e) {
+                assertThat(e.getCause().getMessage(), is("error"));
+            }
+        }
+        assertThat(cut.inFlight(), is(0));
+    }
+
+    private static void awaitWaiting(final Thread thread) {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (thread.getState() != Thread.State.WAITING && System.nanoTime() < deadline)
+            Thread.yield();
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+}
@@ -13,9 +13,11 @@ import javax.ws.rs.client.WebTarget;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.ext.RuntimeDelegate;
+import java.io.InputStream;
 import java.net.URI;
 
 import static com.sebastian_daschner.siren4javaee.TestUtils.injectRuntimeDelegate;
+import static com.sebastian_daschner.siren4javaee.TestUtils.mockResponseEntity;
 import static org.hamcrest.CoreMatchers.hasItems;
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertThat;
@@ -30,6 +32,7 @@ public class SirenClientTest {
     private WebTarget targetMock;
     private Invocation.Builder invocationMock;
     private Response responseMock;
+    private Response entityResponseMock;
     private Entity expectedEntity;
     private JsonObject responseEntity;
 
@@ -46,7 +49,8 @@ public class SirenClientTest {
         assertThat(entity, is(expectedEntity));
 
         cut.followLink(entity, "self");
-        verify(invocationMock, times(2)).get(JsonObject.class);
+        verify(invocationMock, times(2)).get();
+        verify(entityResponseMock, times(2)).readEntity(InputStream.class);
 
         cut.performAction(entity, "delete");
 
@@ -122,6 +126,7 @@ public class SirenClientTest {
             cut.performAction(entity.getAction("add-to-cart"));
         } catch (RuntimeException e) {
             assertThat(e.getMessage(), is("Could not successfully perform action, HTTP status not successful, status: 400"));
+            verify(responseMock).close();
             return;
         }
         fail("expected exception not occurred");
@@ -172,6 +177,7 @@ public class SirenClientTest {
         targetMock = mock(WebTarget.class);
         invocationMock = mock(Invocation.Builder.class);
         responseMock = mock(Response.class);
+        entityResponseMock = mock(Response.class);
 
         responseEntity = Siren.createEntityBuilder()
                 .addClass("books")
@@ -322,12 +328,14 @@ public class SirenClientTest {
         when(clientMock.target(any(URI.class))).thenReturn(targetMock);
         when(targetMock.request(any(MediaType.class))).thenReturn(invocationMock);
 
-        when(invocationMock.get(JsonObject.class)).thenReturn(responseEntity);
+        when(invocationMock.get()).thenReturn(entityResponseMock);
         when(invocationMock.method(anyString())).thenReturn(responseMock);
         when(invocationMock.method(anyString(), any(javax.ws.rs.client.Entity.class))).thenReturn(responseMock);
 
         when(responseMock.getStatus()).thenReturn(200);
         when(responseMock.getStatusInfo()).thenReturn(Response.Status.OK);
+        when(entityResponseMock.getStatusInfo()).thenReturn(Response.Status.OK);
+        mockResponseEntity(entityResponseMock, responseEntity);
     }
 
 }
@@ -0,0 +1,89 @@
+/*
+ * Copyright (C) 2016 Sebastian Daschner, sebastian-daschner.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sebastian_daschner.siren4javaee;
+
+import org.junit.Test;
+
+import javax.json.Json;
+import javax.json.JsonObject;
+import javax.ws.rs.HttpMethod;
+import javax.ws.rs.core.MediaType;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class SirenMessageBodyWriterTest {
+
+    private final SirenMessageBodyWriter cut = new SirenMessageBodyWriter();
+
+    @Test
+    public void testIsWriteable() {
+        final MediaType sirenType = new MediaType("application", "vnd.siren+json");
+        assertThat(cut.isWriteable(EntityBuilder.class, EntityBuilder.class, null, sirenType), is(true));
+        assertThat(cut.isWriteable(Entity.class, Entity.class, null, sirenType), is(true));
+        assertThat(cut.isWriteable(SubEntity.class, SubEntity.class, null, sirenType), is(true));
+        assertThat(cut.isWriteable(JsonObject.class, JsonObject.class, null, sirenType), is(false));
+    }
+
+    @Test
+    public void testWriteEntityBuilder() {
+        final EntityBuilder builder = createEntityBuilder();
+
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        cut.writeTo(builder, EntityBuilder.class, EntityBuilder.class, null, null, null, outputStream);
+
+        assertThat(new String(outputStream.toByteArray(), StandardCharsets.UTF_8), is(builder.build().toString()));
+    }
+
+    @Test
+    public void testWriteEntity() {
+        final EntityReader entityReader = Siren.createEntityReader();
+        final Entity entity = entityReader.read(createEntityBuilder().build());
+
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        cut.writeTo(entity, Entity.class, Entity.class, null, null, null, outputStream);
+
+        final JsonObject written = Json.createReader(new ByteArrayInputStream(outputStream.toByteArray())).readObject();
+        assertThat(entityReader.read(written), is(entity));
+    }
+
+    private EntityBuilder createEntityBuilder() {
+        return Siren.createEntityBuilder()
+                .addClass("books")
+                .addProperty("count", 1)
+                .addEntity(Siren.createEntityBuilder()
+                        .addClass("book")
+                        .addSubEntityRel("item")
+                        .addProperty("name", "Java")
+                        .addProperty("price", 12.5)
+                        .addProperty("available", true)
+                        .addLink(URI.create("https://api.example.com/books/1"), "self"))
+                .addLink(URI.create("https://api.example.com/books"), "self")
+                .addAction(Siren.createActionBuilder()
+                        .addClass("action")
+                        .setName("add-book")
+                        .setTitle("Add book")
+                        .setMethod(HttpMethod.POST)
+                        .setHref(URI.create("https://api.example.com/books"))
+                        .addField("name", FieldType.TEXT)
+                        .addField(Siren.createFieldBuilder().setName("isbn").setRequired(true)));
+    }
+
+}
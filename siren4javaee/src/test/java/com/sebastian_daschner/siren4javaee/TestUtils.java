@@ -1,7 +1,14 @@
 package com.sebastian_daschner.siren4javaee;
 
+import javax.json.JsonObject;
+import javax.ws.rs.core.Response;
 import javax.ws.rs.ext.RuntimeDelegate;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
 import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+
+import static org.mockito.Mockito.when;
 
 public final class TestUtils {
 
@@ -19,4 +26,9 @@ public final class TestUtils {
         }
     }
 
+    public static void mockResponseEntity(final Response responseMock, final JsonObject entity) {
+        when(responseMock.readEntity(InputStream.class))
+                .thenAnswer(invocation -> new ByteArrayInputStream(entity.toString().getBytes(StandardCharsets.UTF_8)));
+    }
+
 }
@@ -0,0 +1,100 @@
+/*
+ * Copyright (C) 2016 Sebastian Daschner, sebastian-daschner.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sebastian_daschner.siren4javaee;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+public class UriTemplateTest {
+
+    @Test
+    public void testExpand() {
+        final UriTemplate template = UriTemplate.compile("https://api.example.com/books/{isbn}/pages/{page}");
+
+        assertThat(template.getVariables(), is(Arrays.asList("isbn", "page")));
+        assertThat(template.expand("1-234", 42), is("https://api.example.com/books/1-234/pages/42"));
+        assertThat(template.expand(-1L, "a.b_c~d"), is("https://api.example.com/books/-1/pages/a.b_c~d"));
+    }
+
+    @Test
+    public void testExpandMap() {
+        final UriTemplate template = UriTemplate.compile("/authors/{author}/books/{isbn}?author={author}");
+        final Map<String, Object> values = new HashMap<>();
+        values.put("isbn", 1234);
+        values.put("author", "duke");
+
+        assertThat(template.getVariables(), is(Arrays.asList("author", "isbn")));
+        assertThat(template.expand(values), is("/authors/duke/books/1234?author=duke"));
+        assertThat(template.expand("duke", 1234), is("/authors/duke/books/1234?author=duke"));
+    }
+
+    @Test
+    public void testEncoding() {
+        final UriTemplate template = UriTemplate.compile("/search/{query}");
+
+        assertThat(template.expand("a b/c?d=e&f"), is("/search/a%20b%2Fc%3Fd%3De%26f"));
+        assertThat(template.expand("%"), is("/search/%25"));
+        assertThat(template.expand("Gr\u00fc\u00dfe"), is("/search/Gr%C3%BC%C3%9Fe"));
+        assertThat(template.expand("\ud83d\ude00"), is("/search/%F0%9F%98%80"));
+    }
+
+    @Test
+    public void testNoVariables() {
+        final UriTemplate template = UriTemplate.compile("/books");
+
+        assertThat(template.expand(), is("/books"));
+        assertThat(template.toString(), is("/books"));
+    }
+
+    @Test
+    public void testInvalidTemplates() {
+        for (final String template : Arrays.asList("/books/{isbn", "/books/isbn}", "/books/}{isbn}", "/books/{}", "/books/{+isbn}", "/books/{a,b}")) {
+            try {
+                UriTemplate.compile(template);
+                fail("expected exception not occurred for " + template);
+            } catch (IllegalArgumentException e) {
+                assertThat(e.getMessage().startsWith("Could not compile URI template " + template), is(true));
+            }
+        }
+    }
+
+    @Test
+    public void testInvalidValues() {
+        final UriTemplate template = UriTemplate.compile("/books/{isbn}");
+
+        try {
+            template.expand("1", "2");
+            fail("expected exception not occurred");
+        } catch (IllegalArgumentException e) {
+            assertThat(e.getMessage(), is("Could not expand URI template /books/{isbn}, expected 1 values but got 2"));
+        }
+
+        try {
+            template.expand(new HashMap<>());
+            fail("expected exception not occurred");
+        } catch (IllegalArgumentException e) {
+            assertThat(e.getMessage(), is("Could not expand URI template /books/{isbn}, no value for variable isbn"));
+        }
+    }
+
+}